@@ -0,0 +1,9 @@
+-- Trending snapshots are kept per instance so replicas no longer overwrite each other.
+-- Rows written before this change belong to no instance; they are a cache and are dropped.
+
+delete from t_trending_snapshot;
+
+alter table t_trending_snapshot add column if not exists instance_id varchar(255) not null;
+
+create index if not exists idx_trending_snapshot_instance_id_bucket_start
+    on t_trending_snapshot (instance_id, bucket_start);
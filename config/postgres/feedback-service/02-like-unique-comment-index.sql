@@ -0,0 +1,23 @@
+-- Like inserts rely on "on conflict do nothing" against the (publication_id, user_id) unique
+-- constraint, and comment pages walk (publication_id, id). Hibernate only creates both on new
+-- schemas, so existing databases drop duplicate likes and add them here. The next like counter
+-- reconcile corrects counters that included the dropped duplicates. Run it outside a transaction:
+-- the index is built concurrently.
+
+delete from t_like l
+using t_like dup
+where l.publication_id = dup.publication_id
+  and l.user_id = dup.user_id
+  and l.id > dup.id;
+
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conname = 'uk_like_publication_id_user_id') then
+        alter table t_like
+            add constraint uk_like_publication_id_user_id unique (publication_id, user_id);
+    end if;
+end
+$$;
+
+create index concurrently if not exists idx_comment_publication_id_id
+    on comment (publication_id, id);
@@ -0,0 +1,12 @@
+-- chat_message and group_message ids moved from IDENTITY columns to pooled sequences
+-- (allocationSize = 50). Run once before deploying on an existing database. Hibernate hands
+-- out ids below each fetched value, so the sequences start one block above max(id).
+
+create sequence if not exists chat_message_seq increment by 50;
+create sequence if not exists group_message_seq increment by 50;
+
+select setval('chat_message_seq', coalesce((select max(id) from chat_message), 0) + 50, false);
+select setval('group_message_seq', coalesce((select max(id) from group_message), 0) + 50, false);
+
+alter table chat_message alter column id drop identity if exists;
+alter table group_message alter column id drop identity if exists;
@@ -0,0 +1,9 @@
+-- GIN indexes behind the postgres search engine (vk.messages.search.engine=postgres).
+-- CONCURRENTLY keeps chat_message and group_message writable while the index builds;
+-- run outside a transaction block.
+
+create index concurrently if not exists idx_chat_message_text_fts
+    on chat_message using gin (to_tsvector('simple', text));
+
+create index concurrently if not exists idx_group_message_text_fts
+    on group_message using gin (to_tsvector('simple', text));
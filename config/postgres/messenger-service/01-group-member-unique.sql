@@ -0,0 +1,18 @@
+-- Group member inserts rely on "on conflict do nothing" against the (group_id, user_id) unique
+-- constraint. Hibernate only creates it on new schemas, so existing databases drop duplicate
+-- memberships and add it here.
+
+delete from t_group_member gm
+using t_group_member dup
+where gm.group_id = dup.group_id
+  and gm.user_id = dup.user_id
+  and gm.id > dup.id;
+
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conname = 'uk_group_member_group_id_user_id') then
+        alter table t_group_member
+            add constraint uk_group_member_group_id_user_id unique (group_id, user_id);
+    end if;
+end
+$$;
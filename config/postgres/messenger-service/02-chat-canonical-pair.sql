@@ -0,0 +1,24 @@
+-- Chats are keyed by the participant pair ordered by code point, the order createChat uses.
+-- least/greatest use the "C" collation so the backfill orders pairs the same way regardless of
+-- the database locale. Merge any duplicate pairs before running it.
+
+alter table chat add column if not exists user_low varchar(255);
+alter table chat add column if not exists user_high varchar(255);
+
+update chat
+set user_low = least(user_id_1 collate "C", user_id_2 collate "C"),
+    user_high = greatest(user_id_1 collate "C", user_id_2 collate "C")
+where user_low is null or user_high is null;
+
+alter table chat alter column user_low set not null;
+alter table chat alter column user_high set not null;
+
+do $$
+begin
+    if not exists (select 1 from pg_constraint where conname = 'uk_chat_user_low_user_high') then
+        alter table chat add constraint uk_chat_user_low_user_high unique (user_low, user_high);
+    end if;
+end
+$$;
+
+create index if not exists idx_chat_user_high on chat (user_high);
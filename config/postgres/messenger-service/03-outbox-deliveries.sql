@@ -0,0 +1,26 @@
+-- The outbox relay tracks pending work as one delivery row per event and subscriber instead of a
+-- per-subscriber offset, so events that commit after a higher id are still delivered. Events past
+-- each subscriber's old offset become pending deliveries, then the offset table is dropped.
+
+create table if not exists outbox_subscriber (
+    name varchar(255) not null primary key
+);
+
+create table if not exists outbox_delivery (
+    id bigint generated by default as identity primary key,
+    subscriber varchar(255) not null,
+    event_id bigint not null references outbox_event (id)
+);
+
+create index if not exists idx_outbox_delivery_subscriber_event_id on outbox_delivery (subscriber, event_id);
+
+insert into outbox_subscriber(name)
+select subscriber from outbox_offset
+on conflict do nothing;
+
+insert into outbox_delivery(subscriber, event_id)
+select o.subscriber, e.id
+from outbox_offset o
+join outbox_event e on e.id > o.last_event_id;
+
+drop table outbox_offset;
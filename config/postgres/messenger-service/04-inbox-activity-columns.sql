@@ -0,0 +1,25 @@
+-- Chats are read from per-row activity timestamps so each chat branch of the inbox query can walk an
+-- index in order. Groups keep a single conversation_activity row, which the inbox joins through
+-- t_group_member. Run it outside a transaction: the indexes are built concurrently.
+
+alter table chat add column if not exists last_activity_at timestamp(6) with time zone
+    default timestamp with time zone '1970-01-01 00:00:00+00' not null;
+
+update chat c
+set last_activity_at = a.last_activity_at
+from conversation_activity a
+where a.type = 'CHAT' and a.conversation_id = c.id and c.last_activity_at < a.last_activity_at;
+
+insert into conversation_activity(type, conversation_id, last_activity_at)
+select 'GROUP', g.id, timestamp with time zone '1970-01-01 00:00:00+00'
+from t_group g
+where not exists (select 1 from conversation_activity a where a.type = 'GROUP' and a.conversation_id = g.id);
+
+create index concurrently if not exists idx_chat_user_low_last_activity_at
+    on chat (user_low, last_activity_at, id);
+create index concurrently if not exists idx_chat_user_high_last_activity_at
+    on chat (user_high, last_activity_at, id);
+create index concurrently if not exists idx_group_member_user_id
+    on t_group_member (user_id);
+
+drop index concurrently if exists idx_chat_user_high;
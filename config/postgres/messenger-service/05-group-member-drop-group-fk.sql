@@ -0,0 +1,18 @@
+-- Group members are purged in the background after their group row is deleted, so t_group_member
+-- no longer references t_group. Hibernate never drops existing constraints, so remove it by hand.
+
+do $$
+declare
+    constraint_name text;
+begin
+    for constraint_name in
+        select c.conname
+        from pg_constraint c
+        where c.contype = 'f'
+          and c.conrelid = 't_group_member'::regclass
+          and c.confrelid = 't_group'::regclass
+    loop
+        execute format('alter table t_group_member drop constraint %I', constraint_name);
+    end loop;
+end
+$$;
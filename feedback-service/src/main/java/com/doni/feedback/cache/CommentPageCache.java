@@ -0,0 +1,72 @@
+package com.doni.feedback.cache;
+
+import com.doni.feedback.dto.CommentCursor;
+import com.doni.feedback.dto.CommentReadDto;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Supplier;
+
+public class CommentPageCache {
+    private static final int VERSION_STRIPES = 1024;
+    private static final int ENTRY_OVERHEAD = 64;
+    private static final int COMMENT_OVERHEAD = 48;
+
+    private final Cache<Key, List<CommentReadDto>> cache;
+    private final AtomicLongArray versions = new AtomicLongArray(VERSION_STRIPES);
+
+    public CommentPageCache(long maximumWeight, Duration ttl, MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(maximumWeight)
+                .weigher(CommentPageCache::weigh)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "feedback.comments.first-page");
+    }
+
+    public List<CommentReadDto> firstPage(Integer publicationId, CommentCursor.Order order,
+                                          Supplier<List<CommentReadDto>> loader) {
+        Key key = new Key(publicationId, order);
+        List<CommentReadDto> cached = cache.getIfPresent(key);
+        if (cached != null) {
+            return cached;
+        }
+        int stripe = stripe(publicationId);
+        long version = versions.get(stripe);
+        List<CommentReadDto> page = List.copyOf(loader.get());
+        cache.asMap().compute(key, (ignored, current) -> versions.get(stripe) == version ? page : current);
+        return page;
+    }
+
+    public void evict(Integer publicationId) {
+        versions.incrementAndGet(stripe(publicationId));
+        for (CommentCursor.Order order : CommentCursor.Order.values()) {
+            cache.invalidate(new Key(publicationId, order));
+        }
+    }
+
+    private static int stripe(Integer publicationId) {
+        return Math.floorMod(publicationId, VERSION_STRIPES);
+    }
+
+    private static int weigh(Key key, List<CommentReadDto> page) {
+        long weight = ENTRY_OVERHEAD;
+        for (CommentReadDto comment : page) {
+            weight += COMMENT_OVERHEAD + 2L * (length(comment.text()) + length(comment.userId()));
+        }
+        return (int) Math.min(weight, Integer.MAX_VALUE);
+    }
+
+    private static int length(String value) {
+        return value == null ? 0 : value.length();
+    }
+
+    private record Key(Integer publicationId, CommentCursor.Order order) {
+    }
+}
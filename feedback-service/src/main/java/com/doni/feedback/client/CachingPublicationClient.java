@@ -0,0 +1,57 @@
+package com.doni.feedback.client;
+
+import com.doni.feedback.entity.Publication;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.Optional;
+
+public class CachingPublicationClient implements PublicationClient {
+    private final PublicationClient delegate;
+    private final Cache<Integer, Optional<Publication>> cache;
+
+    public CachingPublicationClient(PublicationClient delegate, long maximumSize, Duration existingTtl,
+                                    Duration missingTtl, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new PublicationExpiry(existingTtl.toNanos(), missingTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "publication.existence");
+    }
+
+    @Override
+    public Optional<Publication> findPublication(Integer publicationId) {
+        return cache.get(publicationId, delegate::findPublication);
+    }
+
+    public void evictPublication(Integer publicationId) {
+        cache.invalidate(publicationId);
+    }
+
+    private record PublicationExpiry(long existingTtlNanos, long missingTtlNanos)
+            implements Expiry<Integer, Optional<Publication>> {
+
+        @Override
+        public long expireAfterCreate(Integer publicationId, Optional<Publication> publication, long currentTime) {
+            return publication.isPresent() ? existingTtlNanos : missingTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Integer publicationId, Optional<Publication> publication, long currentTime,
+                                      long currentDuration) {
+            return expireAfterCreate(publicationId, publication, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Integer publicationId, Optional<Publication> publication, long currentTime,
+                                    long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
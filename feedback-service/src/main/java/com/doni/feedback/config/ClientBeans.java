@@ -4,6 +4,8 @@ import com.doni.feedback.client.RestClientPublicationClient;
 import com.doni.feedback.security.OauthClientHttpRequestInterceptor;
 import de.codecentric.boot.admin.client.registration.BlockingRegistrationClient;
 import de.codecentric.boot.admin.client.registration.RegistrationClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -12,6 +14,8 @@ import org.springframework.cloud.client.loadbalancer.LoadBalancerInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
 import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
@@ -31,9 +35,11 @@ public class ClientBeans {
 
         @Bean
         public RestClientPublicationClient restClientPublicationClient(
-                @Value("${vk.services.publication.url}") String baseUrl) {
+                @Value("${vk.services.publication.url}") String baseUrl,
+                ClientHttpRequestFactory publicationClientHttpRequestFactory) {
             return new RestClientPublicationClient(RestClient.builder()
                     .baseUrl(baseUrl)
+                    .requestFactory(publicationClientHttpRequestFactory)
                     .requestInterceptor(
                             new OauthClientHttpRequestInterceptor()
                     )
@@ -49,9 +55,11 @@ public class ClientBeans {
         @Bean
         public RestClientPublicationClient restClientPublicationClient(
                 @Value("${vk.services.publication.url}") String baseUrl,
-                LoadBalancerClient loadBalancerClient) {
+                LoadBalancerClient loadBalancerClient,
+                ClientHttpRequestFactory publicationClientHttpRequestFactory) {
             return new RestClientPublicationClient(RestClient.builder()
                     .baseUrl(baseUrl)
+                    .requestFactory(publicationClientHttpRequestFactory)
                     .requestInterceptor(new LoadBalancerInterceptor(loadBalancerClient))
                     .requestInterceptor(
                             new OauthClientHttpRequestInterceptor()
@@ -61,6 +69,17 @@ public class ClientBeans {
         }
     }
 
+    @Bean
+    public ClientHttpRequestFactory publicationClientHttpRequestFactory(
+            @Value("${vk.services.publication.max-connections:200}") int maxConnections) {
+        return new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnections)
+                        .build())
+                .build());
+    }
+
     @Bean
     public RegistrationClient registrationClient(
             ClientRegistrationRepository clientRegistrationRepository,
@@ -0,0 +1,23 @@
+package com.doni.feedback.config;
+
+import com.doni.feedback.cache.CommentPageCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "vk.feedback.comment-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class CommentCacheBeans {
+
+    @Bean
+    public CommentPageCache commentPageCache(
+            MeterRegistry meterRegistry,
+            @Value("${vk.feedback.comment-cache.maximum-weight:67108864}") long maximumWeight,
+            @Value("${vk.feedback.comment-cache.ttl:PT1M}") Duration ttl) {
+        return new CommentPageCache(maximumWeight, ttl, meterRegistry);
+    }
+}
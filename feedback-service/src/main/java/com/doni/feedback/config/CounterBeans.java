@@ -0,0 +1,50 @@
+package com.doni.feedback.config;
+
+import com.doni.feedback.counter.LikeCounters;
+import com.doni.feedback.repository.LikeCounterDeltaRepository;
+import com.doni.feedback.repository.LikeCounterRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+public class CounterBeans {
+
+    @Bean
+    public LikeCounters likeCounters(LikeCounterRepository likeCounterRepository,
+                                     LikeCounterDeltaRepository likeCounterDeltaRepository,
+                                     TransactionTemplate transactionTemplate,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${vk.feedback.like-counter.batch-size:10000}") int batchSize) {
+        return new LikeCounters(likeCounterRepository, likeCounterDeltaRepository, transactionTemplate, batchSize,
+                meterRegistry);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "vk.feedback.like-counter.enabled", havingValue = "true", matchIfMissing = true)
+    public static class CounterSchedulingBeans {
+
+        private final LikeCounters likeCounters;
+
+        public CounterSchedulingBeans(LikeCounters likeCounters) {
+            this.likeCounters = likeCounters;
+        }
+
+        @Scheduled(fixedDelayString = "${vk.feedback.like-counter.flush-interval:PT1S}")
+        public void flush() {
+            likeCounters.flush();
+        }
+
+        @Scheduled(fixedDelayString = "${vk.feedback.like-counter.reconcile-interval:PT10M}",
+                initialDelayString = "${vk.feedback.like-counter.reconcile-interval:PT10M}")
+        public void reconcile() {
+            likeCounters.reconcile();
+        }
+    }
+}
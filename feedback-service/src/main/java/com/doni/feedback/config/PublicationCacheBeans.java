@@ -0,0 +1,29 @@
+package com.doni.feedback.config;
+
+import com.doni.feedback.client.CachingPublicationClient;
+import com.doni.feedback.client.RestClientPublicationClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "vk.services.publication.cache.enabled", havingValue = "true", matchIfMissing = true)
+public class PublicationCacheBeans {
+
+    @Bean
+    @Primary
+    public CachingPublicationClient cachingPublicationClient(
+            RestClientPublicationClient restClientPublicationClient,
+            MeterRegistry meterRegistry,
+            @Value("${vk.services.publication.cache.maximum-size:100000}") long maximumSize,
+            @Value("${vk.services.publication.cache.existing-ttl:PT1M}") Duration existingTtl,
+            @Value("${vk.services.publication.cache.missing-ttl:PT10S}") Duration missingTtl) {
+        return new CachingPublicationClient(restClientPublicationClient, maximumSize, existingTtl, missingTtl,
+                meterRegistry);
+    }
+}
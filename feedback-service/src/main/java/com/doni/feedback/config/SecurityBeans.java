@@ -27,6 +27,7 @@ public class SecurityBeans {
         return http
                 .authorizeHttpRequests(request -> request
                         .requestMatchers("/actuator/**").hasAuthority("SCOPE_metrics")
+                        .requestMatchers("/feedback-api/publication-cache/**").hasAuthority("SCOPE_publication_events")
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                         .anyRequest().authenticated())
                 .oauth2ResourceServer(oauth -> oauth.jwt(Customizer.withDefaults()))
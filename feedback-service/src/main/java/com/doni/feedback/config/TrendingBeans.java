@@ -0,0 +1,65 @@
+package com.doni.feedback.config;
+
+import com.doni.feedback.repository.TrendingSnapshotEntryRepository;
+import com.doni.feedback.trending.TrendingEngine;
+import com.doni.feedback.trending.TrendingWindow;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+
+@Configuration
+public class TrendingBeans {
+
+    @Bean
+    public TrendingEngine trendingEngine(
+            TrendingSnapshotEntryRepository trendingSnapshotEntryRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${vk.feedback.trending.instance-id:${spring.cloud.client.hostname:localhost}:${server.port:8080}}")
+            String instanceId,
+            @Value("${vk.feedback.trending.bucket-duration:PT5M}") Duration bucketDuration,
+            @Value("${vk.feedback.trending.buckets:12}") int buckets,
+            @Value("${vk.feedback.trending.capacity:1000}") int capacity,
+            @Value("${vk.feedback.trending.top-k:100}") int topK,
+            @Value("${vk.feedback.trending.like-weight:1}") long likeWeight,
+            @Value("${vk.feedback.trending.comment-weight:3}") long commentWeight) {
+        return new TrendingEngine(new TrendingWindow(bucketDuration, buckets, capacity),
+                new TrendingWindow(bucketDuration, buckets, capacity), trendingSnapshotEntryRepository, transactionTemplate, Clock.systemUTC(), instanceId,
+                bucketDuration.multipliedBy(buckets), topK, likeWeight, commentWeight, meterRegistry);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "vk.feedback.trending.enabled", havingValue = "true", matchIfMissing = true)
+    public static class TrendingSchedulingBeans {
+
+        private final TrendingEngine trendingEngine;
+
+        private final int snapshotSize;
+
+        public TrendingSchedulingBeans(TrendingEngine trendingEngine,
+                                       @Value("${vk.feedback.trending.snapshot-size:200}") int snapshotSize) {
+            this.trendingEngine = trendingEngine;
+            this.snapshotSize = snapshotSize;
+        }
+
+        @Scheduled(fixedDelayString = "${vk.feedback.trending.refresh-interval:PT1S}")
+        public void refresh() {
+            trendingEngine.refresh();
+        }
+
+        @Scheduled(fixedDelayString = "${vk.feedback.trending.snapshot-interval:PT1M}",
+                initialDelayString = "${vk.feedback.trending.snapshot-interval:PT1M}")
+        public void snapshot() {
+            trendingEngine.snapshot(snapshotSize);
+        }
+    }
+}
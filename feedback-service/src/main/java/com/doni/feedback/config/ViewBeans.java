@@ -0,0 +1,55 @@
+package com.doni.feedback.config;
+
+import com.doni.feedback.repository.PublicationViewSketchRepository;
+import com.doni.feedback.repository.PublicationViewTotalRepository;
+import com.doni.feedback.views.ViewSketches;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Period;
+
+@Configuration
+public class ViewBeans {
+
+    @Bean
+    public ViewSketches viewSketches(
+            PublicationViewSketchRepository publicationViewSketchRepository,
+            PublicationViewTotalRepository publicationViewTotalRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${vk.feedback.views.precision:12}") int precision,
+            @Value("${vk.feedback.views.daily-retention:P90D}") Period dailyRetention) {
+        return new ViewSketches(publicationViewSketchRepository, publicationViewTotalRepository,
+                transactionTemplate, Clock.systemUTC(), precision, dailyRetention, meterRegistry);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "vk.feedback.views.enabled", havingValue = "true", matchIfMissing = true)
+    public static class ViewSchedulingBeans {
+
+        private final ViewSketches viewSketches;
+
+        public ViewSchedulingBeans(ViewSketches viewSketches) {
+            this.viewSketches = viewSketches;
+        }
+
+        @Scheduled(fixedDelayString = "${vk.feedback.views.flush-interval:PT10S}")
+        public void flush() {
+            viewSketches.flush();
+        }
+
+        @Scheduled(fixedDelayString = "${vk.feedback.views.cleanup-interval:PT6H}",
+                initialDelayString = "${vk.feedback.views.cleanup-interval:PT6H}")
+        public void purgeExpiredDays() {
+            viewSketches.purgeExpiredDays();
+        }
+    }
+}
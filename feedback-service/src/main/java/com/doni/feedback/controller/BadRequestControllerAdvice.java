@@ -1,5 +1,6 @@
 package com.doni.feedback.controller;
 
+import com.doni.feedback.exception.InvalidCursorException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
 import org.springframework.http.HttpStatus;
@@ -29,4 +30,13 @@ public class BadRequestControllerAdvice {
         return ResponseEntity.badRequest()
                 .body(problemDetail);
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidCursorException(InvalidCursorException exception, Locale locale) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST,
+                Objects.requireNonNull(messageSource.getMessage(exception.getMessage(), new Object[0],
+                        exception.getMessage(), locale)));
+        return ResponseEntity.badRequest()
+                .body(problemDetail);
+    }
 }
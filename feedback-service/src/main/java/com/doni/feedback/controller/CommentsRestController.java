@@ -1,6 +1,8 @@
 package com.doni.feedback.controller;
 
 import com.doni.feedback.dto.CommentCreateDto;
+import com.doni.feedback.dto.CommentCursor;
+import com.doni.feedback.dto.CommentPageDto;
 import com.doni.feedback.dto.CommentReadDto;
 import com.doni.feedback.entity.Comment;
 import com.doni.feedback.service.CommentService;
@@ -62,6 +64,57 @@ public class CommentsRestController {
         return commentService.findCommentsByPublicationId(publicationId);
     }
 
+    @GetMapping(value = "/by-publication-id/{publicationId:\\d+}", params = "limit")
+    @Operation(
+            summary = "Постраничное получение комментариев публикаций",
+            description = "Курсорная пагинация по идентификатору комментария: order - NEWEST (сначала новые, " +
+                    "по умолчанию) или OLDEST, cursor - значение nextCursor из предыдущего ответа",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Страница комментариев публикаций",
+                            useReturnTypeSchema = true
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Некорректный курсор",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Некорректный курсор",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Некорректный курсор пагинации\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Публикация не найдена",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Публикация не найдена",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Публикация не найдена\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public CommentPageDto findCommentsPageByPublicationId(
+            @PathVariable("publicationId") Integer publicationId,
+            @RequestParam("limit") int limit,
+            @RequestParam(value = "order", defaultValue = "NEWEST") CommentCursor.Order order,
+            @RequestParam(value = "cursor", required = false) String cursor) {
+        return commentService.findCommentsByPublicationId(publicationId, order,
+                cursor != null ? CommentCursor.decode(cursor) : null, limit);
+    }
+
     @PostMapping
     @Operation(
             summary = "Создание комментария к публикаций",
@@ -0,0 +1,84 @@
+package com.doni.feedback.controller;
+
+import com.doni.feedback.dto.FeedbackSummaryReadDto;
+import com.doni.feedback.dto.FeedbackSummaryRequestDto;
+import com.doni.feedback.service.FeedbackSummaryService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/feedback-api/summaries")
+@SecurityRequirement(name = "keycloak")
+public class FeedbackSummariesRestController {
+    private final FeedbackSummaryService feedbackSummaryService;
+
+    @PostMapping
+    @Operation(
+            summary = "Сводка лайков и комментариев для списка публикаций",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Valid request body", summary = "Валидное тело запроса",
+                                    value = "{\n" +
+                                            "  \"publicationIds\": [1, 2, 3]\n" +
+                                            "}"
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Сводка по каждой публикации в порядке запроса",
+                            useReturnTypeSchema = true
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Плохой запрос",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Плохой запрос\",\n" +
+                                                    "  \"instance\": \"/feedback-api/summaries\",\n" +
+                                                    "  \"errors\": [\n" +
+                                                    "    \"Можно запросить не более 100 публикаций\"" +
+                                                    "  ]\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public List<FeedbackSummaryReadDto> getSummaries(@RequestBody @Valid FeedbackSummaryRequestDto payload,
+                                                     BindingResult bindingResult,
+                                                     JwtAuthenticationToken jwtAuthenticationToken) throws BindException {
+        if (bindingResult.hasErrors()) {
+            if (bindingResult instanceof BindException ex) {
+                throw ex;
+            } else {
+                throw new BindException(bindingResult);
+            }
+        } else {
+            return feedbackSummaryService.findSummaries(payload.publicationIds(),
+                    jwtAuthenticationToken.getToken().getSubject());
+        }
+    }
+}
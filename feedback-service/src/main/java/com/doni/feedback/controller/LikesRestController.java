@@ -1,7 +1,9 @@
 package com.doni.feedback.controller;
 
+import com.doni.feedback.dto.LikeCountReadDto;
 import com.doni.feedback.dto.LikeCreateDto;
 import com.doni.feedback.dto.LikeReadDto;
+import com.doni.feedback.dto.LikeStateReadDto;
 import com.doni.feedback.entity.Like;
 import com.doni.feedback.exception.LikeExistsException;
 import com.doni.feedback.service.LikeService;
@@ -62,6 +64,35 @@ public class LikesRestController {
         return likeService.findLikesByPublicationId(publicationId);
     }
 
+    @GetMapping("/by-publication-id/{publicationId:\\d+}/count")
+    @Operation(
+            summary = "Получение количества лайков публикаций",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Количество лайков",
+                            useReturnTypeSchema = true
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Публикация не найдена",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Публикация не найдена",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Публикация не найдена\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public LikeCountReadDto getLikeCountByPublicationId(@PathVariable("publicationId") Integer publicationId) {
+        return likeService.countLikesByPublicationId(publicationId);
+    }
+
     @PostMapping
     @Operation(
             summary = "Создание лайка",
@@ -153,6 +184,66 @@ public class LikesRestController {
         }
     }
 
+    @PutMapping("/by-publication-id/{publicationId:\\d+}/mine")
+    @Operation(
+            summary = "Поставить лайк публикаций, повторный запрос ничего не меняет",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Лайк поставлен, changed показывает изменилось ли состояние",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            value = "{\n" +
+                                                    "  \"publicationId\": 1,\n" +
+                                                    "  \"liked\": true,\n" +
+                                                    "  \"changed\": true\n" +
+                                                    "}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Публикация не найдена",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"При созданий лайка публикация не была найдена\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public LikeStateReadDto like(@PathVariable("publicationId") Integer publicationId,
+                                 JwtAuthenticationToken jwtAuthenticationToken) {
+        return likeService.like(publicationId, jwtAuthenticationToken.getToken().getSubject());
+    }
+
+    @DeleteMapping("/by-publication-id/{publicationId:\\d+}/mine")
+    @Operation(
+            summary = "Убрать лайк публикаций, повторный запрос ничего не меняет",
+            responses = @ApiResponse(
+                    responseCode = "200", description = "Лайк убран, changed показывает изменилось ли состояние",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    value = "{\n" +
+                                            "  \"publicationId\": 1,\n" +
+                                            "  \"liked\": false,\n" +
+                                            "  \"changed\": true\n" +
+                                            "}"
+                            )
+                    )
+            )
+    )
+    public LikeStateReadDto unlike(@PathVariable("publicationId") Integer publicationId,
+                                   JwtAuthenticationToken jwtAuthenticationToken) {
+        return likeService.unlike(publicationId, jwtAuthenticationToken.getToken().getSubject());
+    }
+
     @ExceptionHandler(LikeExistsException.class)
     public ResponseEntity<ProblemDetail> handleLikeExistsException(LikeExistsException exception, Locale locale) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST,
@@ -0,0 +1,34 @@
+package com.doni.feedback.controller;
+
+import com.doni.feedback.client.CachingPublicationClient;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/feedback-api/publication-cache/{publicationId:\\d+}")
+@SecurityRequirement(name = "keycloak")
+public class PublicationCacheRestController {
+    private final ObjectProvider<CachingPublicationClient> cachingPublicationClient;
+
+    @DeleteMapping
+    @Operation(
+            summary = "Сброс закэшированной публикаций после ее удаления в publication-service",
+            responses = @ApiResponse(
+                    responseCode = "204", description = "Публикация удалена из кэша"
+            )
+    )
+    public ResponseEntity<Void> evictPublication(@PathVariable("publicationId") Integer publicationId) {
+        cachingPublicationClient.ifAvailable(client -> client.evictPublication(publicationId));
+        return ResponseEntity.noContent()
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.doni.feedback.controller;
+
+import com.doni.feedback.dto.TrendingPublicationReadDto;
+import com.doni.feedback.service.TrendingService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/feedback-api/trending")
+@SecurityRequirement(name = "keycloak")
+public class TrendingRestController {
+    private final TrendingService trendingService;
+
+    @GetMapping
+    @Operation(
+            summary = "Публикации, набирающие лайки и комментарии за последнее время",
+            description = "Приблизительный рейтинг по скользящему окну, обновляется раз в секунду",
+            responses = @ApiResponse(
+                    responseCode = "200", description = "Список публикаций по убыванию рейтинга",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    value = "[\n" +
+                                            "  {\"publicationId\": 7, \"score\": 42},\n" +
+                                            "  {\"publicationId\": 3, \"score\": 17}\n" +
+                                            "]"
+                            )
+                    )
+            )
+    )
+    public List<TrendingPublicationReadDto> getTrendingPublications(
+            @RequestParam(value = "limit", defaultValue = "20") int limit) {
+        return trendingService.findTrendingPublications(limit);
+    }
+}
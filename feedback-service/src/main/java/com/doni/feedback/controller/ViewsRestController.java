@@ -0,0 +1,115 @@
+package com.doni.feedback.controller;
+
+import com.doni.feedback.dto.PublicationViewsReadDto;
+import com.doni.feedback.service.ViewService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Locale;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/feedback-api/views")
+@SecurityRequirement(name = "keycloak")
+public class ViewsRestController {
+    private final ViewService viewService;
+    private final MessageSource messageSource;
+
+    @PostMapping("/by-publication-id/{publicationId:\\d+}")
+    @Operation(
+            summary = "Отметить просмотр публикации текущим пользователем",
+            description = "Повторные просмотры одного пользователя не увеличивают число уникальных зрителей",
+            responses = {
+                    @ApiResponse(responseCode = "204", description = "Просмотр учтен"),
+                    @ApiResponse(
+                            responseCode = "404", description = "Публикация не найдена",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Публикация не найдена",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Публикация не найдена\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Void> recordView(@PathVariable("publicationId") Integer publicationId,
+                                           JwtAuthenticationToken jwtAuthenticationToken) {
+        viewService.recordView(publicationId, jwtAuthenticationToken.getToken().getSubject());
+        return ResponseEntity.noContent().build();
+    }
+
+    @GetMapping("/by-publication-id/{publicationId:\\d+}")
+    @Operation(
+            summary = "Приблизительное число уникальных зрителей публикации",
+            description = "Без параметра days считается за все время, иначе за последние days дней. " +
+                    "Погрешность оценки около 1.6%",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Оценка числа уникальных зрителей",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            value = "{\n" +
+                                                    "  \"publicationId\": 1,\n" +
+                                                    "  \"days\": 7,\n" +
+                                                    "  \"uniqueViewers\": 1024\n" +
+                                                    "}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Публикация не найдена",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Публикация не найдена",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Публикация не найдена\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public PublicationViewsReadDto getUniqueViewers(@PathVariable("publicationId") Integer publicationId,
+                                                    @RequestParam(value = "days", required = false) Integer days) {
+        return viewService.countUniqueViewers(publicationId, days);
+    }
+
+    @ExceptionHandler(NoSuchElementException.class)
+    public ResponseEntity<ProblemDetail> handleNoSuchElementException(NoSuchElementException exception, Locale locale) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND,
+                Objects.requireNonNull(messageSource.getMessage(exception.getMessage(), new Object[0],
+                        exception.getMessage(), locale)));
+        return ResponseEntity.status(HttpStatus.NOT_FOUND)
+                .body(problemDetail);
+    }
+}
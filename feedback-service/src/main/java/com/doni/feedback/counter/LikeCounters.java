@@ -0,0 +1,107 @@
+package com.doni.feedback.counter;
+
+import com.doni.feedback.entity.LikeCounter;
+import com.doni.feedback.entity.LikeCounterDelta;
+import com.doni.feedback.repository.LikeCounterDeltaRepository;
+import com.doni.feedback.repository.LikeCounterRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class LikeCounters {
+    private final LikeCounterRepository likeCounterRepository;
+    private final LikeCounterDeltaRepository likeCounterDeltaRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Counter flushed;
+    private final Counter reconciled;
+
+    public LikeCounters(LikeCounterRepository likeCounterRepository,
+                        LikeCounterDeltaRepository likeCounterDeltaRepository,
+                        TransactionTemplate transactionTemplate,
+                        int batchSize,
+                        MeterRegistry meterRegistry) {
+        this.likeCounterRepository = likeCounterRepository;
+        this.likeCounterDeltaRepository = likeCounterDeltaRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.flushed = meterRegistry.counter("feedback.likes.counter.flushed");
+        this.reconciled = meterRegistry.counter("feedback.likes.counter.reconciled");
+    }
+
+    public void liked(Integer publicationId) {
+        record(publicationId, 1);
+    }
+
+    public void unliked(Integer publicationId) {
+        record(publicationId, -1);
+    }
+
+    private void record(Integer publicationId, long delta) {
+        transactionTemplate.executeWithoutResult(status ->
+                likeCounterDeltaRepository.insertDelta(publicationId, delta));
+    }
+
+    public long count(Integer publicationId) {
+        long persisted = likeCounterRepository.findById(publicationId)
+                .map(LikeCounter::getLikeCount)
+                .orElse(0L);
+        return persisted + likeCounterDeltaRepository.sumByPublicationId(publicationId);
+    }
+
+    public Map<Integer, Long> countAll(Collection<Integer> publicationIds) {
+        Map<Integer, Long> counts = new HashMap<>();
+        publicationIds.forEach(publicationId -> counts.put(publicationId, 0L));
+        likeCounterRepository.findAllById(publicationIds)
+                .forEach(counter -> counts.merge(counter.getPublicationId(), counter.getLikeCount(), Long::sum));
+        likeCounterDeltaRepository.sumAllByPublicationIds(publicationIds)
+                .forEach(sum -> counts.merge(sum.publicationId(), sum.count(), Long::sum));
+        return counts;
+    }
+
+    public int flush() {
+        int total = 0;
+        while (true) {
+            FlushedBatch batch = transactionTemplate.execute(status -> flushBatch());
+            total += batch.publications();
+            if (batch.deltas() < batchSize) {
+                break;
+            }
+        }
+        flushed.increment(total);
+        return total;
+    }
+
+    private FlushedBatch flushBatch() {
+        List<LikeCounterDelta> deltas = likeCounterDeltaRepository.lockAvailable(Limit.of(batchSize));
+        if (deltas.isEmpty()) {
+            return new FlushedBatch(0, 0);
+        }
+        Map<Integer, Long> sums = deltas.stream()
+                .collect(Collectors.groupingBy(LikeCounterDelta::getPublicationId,
+                        Collectors.summingLong(LikeCounterDelta::getDelta)));
+        sums.values().removeIf(delta -> delta == 0);
+        sums.forEach((publicationId, delta) -> {
+            likeCounterRepository.insertIfAbsent(publicationId);
+            likeCounterRepository.increment(publicationId, delta);
+        });
+        likeCounterDeltaRepository.deleteAllByIdInBatch(deltas.stream().map(LikeCounterDelta::getId).toList());
+        return new FlushedBatch(deltas.size(), sums.size());
+    }
+
+    public int reconcile() {
+        Integer corrected = transactionTemplate.execute(status -> likeCounterDeltaRepository.insertCorrections());
+        reconciled.increment(corrected);
+        return corrected;
+    }
+
+    private record FlushedBatch(int deltas, int publications) {
+    }
+}
@@ -0,0 +1,36 @@
+package com.doni.feedback.dto;
+
+import com.doni.feedback.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record CommentCursor(
+        Order order,
+        Integer commentId) {
+
+    public enum Order {
+        NEWEST, OLDEST
+    }
+
+    public String encode() {
+        String raw = "%s:%d".formatted(order == Order.NEWEST ? "n" : "o", commentId);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static CommentCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            Integer commentId = Integer.valueOf(raw.substring(separator + 1));
+            return switch (raw.substring(0, separator)) {
+                case "n" -> new CommentCursor(Order.NEWEST, commentId);
+                case "o" -> new CommentCursor(Order.OLDEST, commentId);
+                default -> throw new InvalidCursorException("feedback-api.comments.read.errors.invalid_cursor");
+            };
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new InvalidCursorException("feedback-api.comments.read.errors.invalid_cursor", exception);
+        }
+    }
+}
@@ -0,0 +1,8 @@
+package com.doni.feedback.dto;
+
+import java.util.List;
+
+public record CommentPageDto(
+        List<CommentReadDto> comments,
+        String nextCursor) {
+}
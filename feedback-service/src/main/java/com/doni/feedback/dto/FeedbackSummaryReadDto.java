@@ -0,0 +1,8 @@
+package com.doni.feedback.dto;
+
+public record FeedbackSummaryReadDto(
+        Integer publicationId,
+        Long likeCount,
+        Long commentCount,
+        Boolean likedByCurrentUser) {
+}
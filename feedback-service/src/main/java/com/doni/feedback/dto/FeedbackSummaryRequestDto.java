@@ -0,0 +1,13 @@
+package com.doni.feedback.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record FeedbackSummaryRequestDto(
+        @NotEmpty(message = "{feedback-api.summaries.read.errors.publication_ids_are_empty}")
+        @Size(max = 100, message = "{feedback-api.summaries.read.errors.publication_ids_have_invalid_size}")
+        List<@NotNull(message = "{feedback-api.summaries.read.errors.publication_id_is_null}") Integer> publicationIds) {
+}
@@ -0,0 +1,7 @@
+package com.doni.feedback.dto;
+
+public record LikeStateReadDto(
+        Integer publicationId,
+        Boolean liked,
+        Boolean changed) {
+}
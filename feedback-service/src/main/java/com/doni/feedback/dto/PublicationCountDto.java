@@ -0,0 +1,6 @@
+package com.doni.feedback.dto;
+
+public record PublicationCountDto(
+        Integer publicationId,
+        Long count) {
+}
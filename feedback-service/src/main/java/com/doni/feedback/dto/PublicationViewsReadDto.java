@@ -0,0 +1,7 @@
+package com.doni.feedback.dto;
+
+public record PublicationViewsReadDto(
+        Integer publicationId,
+        Integer days,
+        Long uniqueViewers) {
+}
@@ -0,0 +1,6 @@
+package com.doni.feedback.dto;
+
+public record TrendingPublicationReadDto(
+        Integer publicationId,
+        Long score) {
+}
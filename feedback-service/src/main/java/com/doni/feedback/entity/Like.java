@@ -12,7 +12,9 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "t_like")
+@Table(name = "t_like", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_like_publication_id_user_id", columnNames = {"publication_id", "user_id"})
+})
 public class Like {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
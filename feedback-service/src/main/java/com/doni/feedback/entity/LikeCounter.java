@@ -0,0 +1,22 @@
+package com.doni.feedback.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "t_like_counter")
+public class LikeCounter {
+    @Id
+    @Column(name = "publication_id")
+    private Integer publicationId;
+
+    @Column(name = "like_count", nullable = false)
+    private Long likeCount;
+}
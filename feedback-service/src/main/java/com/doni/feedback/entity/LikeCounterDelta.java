@@ -0,0 +1,27 @@
+package com.doni.feedback.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "t_like_counter_delta", indexes = {
+        @Index(name = "idx_like_counter_delta_publication_id", columnList = "publication_id")
+})
+public class LikeCounterDelta {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "publication_id", nullable = false)
+    private Integer publicationId;
+
+    @Column(name = "delta", nullable = false)
+    private Long delta;
+}
@@ -0,0 +1,32 @@
+package com.doni.feedback.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "t_publication_view_sketch", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_publication_view_sketch_publication_id_view_day", columnNames = {"publication_id", "view_day"})
+})
+public class PublicationViewSketch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "publication_id", nullable = false)
+    private Integer publicationId;
+
+    @Column(name = "view_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "registers", nullable = false, length = 65536)
+    private byte[] registers;
+}
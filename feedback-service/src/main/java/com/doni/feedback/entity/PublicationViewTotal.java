@@ -0,0 +1,22 @@
+package com.doni.feedback.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "t_publication_view_total")
+public class PublicationViewTotal {
+    @Id
+    @Column(name = "publication_id")
+    private Integer publicationId;
+
+    @Column(name = "registers", nullable = false, length = 65536)
+    private byte[] registers;
+}
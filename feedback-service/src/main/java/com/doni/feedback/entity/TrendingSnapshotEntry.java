@@ -0,0 +1,35 @@
+package com.doni.feedback.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "t_trending_snapshot", indexes = {
+        @Index(name = "idx_trending_snapshot_instance_id_bucket_start", columnList = "instance_id, bucket_start")
+})
+public class TrendingSnapshotEntry {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "instance_id", nullable = false)
+    private String instanceId;
+
+    @Column(name = "bucket_start", nullable = false)
+    private Instant bucketStart;
+
+    @Column(name = "publication_id", nullable = false)
+    private Integer publicationId;
+
+    @Column(name = "score", nullable = false)
+    private Long score;
+}
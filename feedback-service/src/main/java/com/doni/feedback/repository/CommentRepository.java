@@ -1,12 +1,32 @@
 package com.doni.feedback.repository;
 
+import com.doni.feedback.dto.PublicationCountDto;
 import com.doni.feedback.entity.Comment;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
 public interface CommentRepository extends JpaRepository<Comment, Integer> {
     List<Comment> findAllByPublicationId(Integer publicationId);
+
+    List<Comment> findAllByPublicationIdOrderByIdDesc(Integer publicationId, Limit limit);
+
+    List<Comment> findAllByPublicationIdOrderByIdAsc(Integer publicationId, Limit limit);
+
+    List<Comment> findAllByPublicationIdAndIdLessThanOrderByIdDesc(Integer publicationId, Integer id, Limit limit);
+
+    List<Comment> findAllByPublicationIdAndIdGreaterThanOrderByIdAsc(Integer publicationId, Integer id, Limit limit);
+
+    @Query("""
+            select new com.doni.feedback.dto.PublicationCountDto(c.publicationId, count(c.id))
+            from Comment c
+            where c.publicationId in ?1
+            group by c.publicationId
+            """)
+    List<PublicationCountDto> countAllByPublicationIds(Collection<Integer> publicationIds);
 }
@@ -0,0 +1,54 @@
+package com.doni.feedback.repository;
+
+import com.doni.feedback.dto.PublicationCountDto;
+import com.doni.feedback.entity.LikeCounterDelta;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface LikeCounterDeltaRepository extends JpaRepository<LikeCounterDelta, Long> {
+
+    @Modifying
+    @Query(value = "insert into t_like_counter_delta(publication_id, delta) values (?1, ?2)", nativeQuery = true)
+    int insertDelta(Integer publicationId, long delta);
+
+    @Query("select coalesce(sum(d.delta), 0) from LikeCounterDelta d where d.publicationId = ?1")
+    long sumByPublicationId(Integer publicationId);
+
+    @Query("""
+            select new com.doni.feedback.dto.PublicationCountDto(d.publicationId, sum(d.delta))
+            from LikeCounterDelta d
+            where d.publicationId in ?1
+            group by d.publicationId
+            """)
+    List<PublicationCountDto> sumAllByPublicationIds(Collection<Integer> publicationIds);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select d from LikeCounterDelta d order by d.id")
+    List<LikeCounterDelta> lockAvailable(Limit limit);
+
+    @Modifying
+    @Query(value = """
+            insert into t_like_counter_delta(publication_id, delta)
+            select p.publication_id, sum(p.amount)
+            from (select l.publication_id as publication_id, count(*) as amount from t_like l group by l.publication_id
+                  union all
+                  select c.publication_id, -c.like_count from t_like_counter c
+                  union all
+                  select d.publication_id, -d.delta from t_like_counter_delta d) p
+            group by p.publication_id
+            having sum(p.amount) <> 0
+            """, nativeQuery = true)
+    int insertCorrections();
+}
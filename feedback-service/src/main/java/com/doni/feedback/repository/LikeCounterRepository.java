@@ -0,0 +1,24 @@
+package com.doni.feedback.repository;
+
+import com.doni.feedback.entity.LikeCounter;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface LikeCounterRepository extends JpaRepository<LikeCounter, Integer> {
+
+    @Modifying
+    @Query(value = """
+            insert into t_like_counter(publication_id, like_count)
+            select :publicationId, 0
+            where not exists (select 1 from t_like_counter where publication_id = :publicationId)
+            """, nativeQuery = true)
+    int insertIfAbsent(Integer publicationId);
+
+    @Modifying(clearAutomatically = true)
+    @Query(value = "update t_like_counter set like_count = like_count + :delta where publication_id = :publicationId",
+            nativeQuery = true)
+    int increment(Integer publicationId, long delta);
+}
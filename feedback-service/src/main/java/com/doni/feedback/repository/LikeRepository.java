@@ -2,8 +2,11 @@ package com.doni.feedback.repository;
 
 import com.doni.feedback.entity.Like;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +16,15 @@ public interface LikeRepository extends JpaRepository<Like, Integer> {
 
     Optional<Like> findByPublicationIdAndUserId(Integer publicationId, String userId);
 
-    void deleteByPublicationIdAndUserId(Integer publicationId, String userId);
+    @Modifying
+    @Query(value = "insert into t_like(publication_id, user_id) values (?1, ?2) on conflict do nothing",
+            nativeQuery = true)
+    int insertLikeIfAbsent(Integer publicationId, String userId);
+
+    @Modifying
+    @Query("delete from Like l where l.publicationId = ?1 and l.userId = ?2")
+    int deleteLikeIfPresent(Integer publicationId, String userId);
+
+    @Query("select l.publicationId from Like l where l.userId = ?1 and l.publicationId in ?2")
+    List<Integer> findLikedPublicationIds(String userId, Collection<Integer> publicationIds);
 }
@@ -0,0 +1,35 @@
+package com.doni.feedback.repository;
+
+import com.doni.feedback.entity.PublicationViewSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface PublicationViewSketchRepository extends JpaRepository<PublicationViewSketch, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert into t_publication_view_sketch(publication_id, view_day, registers)
+            select :publicationId, :day, :registers
+            where not exists (select 1 from t_publication_view_sketch where publication_id = :publicationId and view_day = :day)
+            """, nativeQuery = true)
+    int insertIfAbsent(Integer publicationId, LocalDate day, byte[] registers);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select s from PublicationViewSketch s where s.publicationId = ?1 and s.day = ?2")
+    Optional<PublicationViewSketch> findForUpdate(Integer publicationId, LocalDate day);
+
+    List<PublicationViewSketch> findAllByPublicationIdAndDayGreaterThanEqual(Integer publicationId, LocalDate day);
+
+    @Modifying
+    @Query("delete from PublicationViewSketch s where s.day < ?1")
+    int deleteAllByDayBefore(LocalDate day);
+}
@@ -0,0 +1,27 @@
+package com.doni.feedback.repository;
+
+import com.doni.feedback.entity.PublicationViewTotal;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PublicationViewTotalRepository extends JpaRepository<PublicationViewTotal, Integer> {
+
+    @Modifying
+    @Query(value = """
+            insert into t_publication_view_total(publication_id, registers)
+            select :publicationId, :registers
+            where not exists (select 1 from t_publication_view_total where publication_id = :publicationId)
+            """, nativeQuery = true)
+    int insertIfAbsent(Integer publicationId, byte[] registers);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select t from PublicationViewTotal t where t.publicationId = ?1")
+    Optional<PublicationViewTotal> findForUpdate(Integer publicationId);
+}
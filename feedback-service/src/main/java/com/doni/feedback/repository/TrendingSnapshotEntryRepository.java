@@ -0,0 +1,19 @@
+package com.doni.feedback.repository;
+
+import com.doni.feedback.entity.TrendingSnapshotEntry;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.Instant;
+import java.util.List;
+
+@Repository
+public interface TrendingSnapshotEntryRepository extends JpaRepository<TrendingSnapshotEntry, Long> {
+    List<TrendingSnapshotEntry> findAllByBucketStartGreaterThan(Instant bucketStart);
+
+    @Modifying
+    @Query("delete from TrendingSnapshotEntry e where e.instanceId = ?1 or e.bucketStart <= ?2")
+    int deleteByInstanceIdOrExpired(String instanceId, Instant expiredBefore);
+}
@@ -1,5 +1,7 @@
 package com.doni.feedback.service;
 
+import com.doni.feedback.dto.CommentCursor;
+import com.doni.feedback.dto.CommentPageDto;
 import com.doni.feedback.dto.CommentReadDto;
 import com.doni.feedback.entity.Comment;
 
@@ -9,6 +11,9 @@ import java.util.Optional;
 public interface CommentService {
     List<CommentReadDto> findCommentsByPublicationId(Integer publicationId);
 
+    CommentPageDto findCommentsByPublicationId(Integer publicationId, CommentCursor.Order order, CommentCursor cursor,
+                                               int limit);
+
     CommentReadDto createComment(String text, Integer publicationId, String userId);
 
     CommentReadDto findComment(Integer commentId);
@@ -1,14 +1,22 @@
 package com.doni.feedback.service;
 
+import com.doni.feedback.cache.CommentPageCache;
 import com.doni.feedback.client.PublicationClient;
+import com.doni.feedback.dto.CommentCursor;
+import com.doni.feedback.dto.CommentPageDto;
 import com.doni.feedback.dto.CommentReadDto;
 import com.doni.feedback.entity.Comment;
 import com.doni.feedback.exception.UserIsNotOwnerException;
 import com.doni.feedback.mapper.CommentMapper;
 import com.doni.feedback.repository.CommentRepository;
+import com.doni.feedback.trending.TrendingEngine;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -16,9 +24,13 @@ import java.util.NoSuchElementException;
 @Service
 @RequiredArgsConstructor
 public class DefaultCommentService implements CommentService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final CommentMapper commentMapper;
     private final CommentRepository commentRepository;
     private final PublicationClient publicationClient;
+    private final ObjectProvider<CommentPageCache> commentPageCache;
+    private final TrendingEngine trendingEngine;
 
     @Override
     public List<CommentReadDto> findCommentsByPublicationId(Integer publicationId) {
@@ -28,6 +40,59 @@ public class DefaultCommentService implements CommentService {
         return commentMapper.commentsToCommentReadDtos(comments);
     }
 
+    @Override
+    public CommentPageDto findCommentsByPublicationId(Integer publicationId, CommentCursor.Order order,
+                                                      CommentCursor cursor, int limit) {
+        publicationClient.findPublication(publicationId)
+                .orElseThrow(() -> new NoSuchElementException("feedback-api.comments.read.errors.publication_is_not_found"));
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        CommentCursor.Order pageOrder = cursor != null ? cursor.order() : order;
+        List<CommentReadDto> comments;
+        if (cursor == null) {
+            CommentPageCache cache = commentPageCache.getIfAvailable();
+            comments = cache != null
+                    ? cache.firstPage(publicationId, pageOrder, () -> findFirstPage(publicationId, pageOrder, MAX_PAGE_SIZE + 1))
+                    : findFirstPage(publicationId, pageOrder, pageSize + 1);
+        } else if (pageOrder == CommentCursor.Order.NEWEST) {
+            comments = commentMapper.commentsToCommentReadDtos(commentRepository
+                    .findAllByPublicationIdAndIdLessThanOrderByIdDesc(publicationId, cursor.commentId(), Limit.of(pageSize + 1)));
+        } else {
+            comments = commentMapper.commentsToCommentReadDtos(commentRepository
+                    .findAllByPublicationIdAndIdGreaterThanOrderByIdAsc(publicationId, cursor.commentId(), Limit.of(pageSize + 1)));
+        }
+
+        String nextCursor = null;
+        if (comments.size() > pageSize) {
+            comments = comments.subList(0, pageSize);
+            nextCursor = new CommentCursor(pageOrder, comments.get(pageSize - 1).id()).encode();
+        }
+        return new CommentPageDto(comments, nextCursor);
+    }
+
+    private List<CommentReadDto> findFirstPage(Integer publicationId, CommentCursor.Order order, int limit) {
+        List<Comment> comments = order == CommentCursor.Order.NEWEST
+                ? commentRepository.findAllByPublicationIdOrderByIdDesc(publicationId, Limit.of(limit))
+                : commentRepository.findAllByPublicationIdOrderByIdAsc(publicationId, Limit.of(limit));
+        return commentMapper.commentsToCommentReadDtos(comments);
+    }
+
+    private void evictFirstPages(Integer publicationId) {
+        CommentPageCache cache = commentPageCache.getIfAvailable();
+        if (cache == null) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    cache.evict(publicationId);
+                }
+            });
+        } else {
+            cache.evict(publicationId);
+        }
+    }
+
     @Override
     @Transactional
     public CommentReadDto createComment(String text, Integer publicationId, String userId) {
@@ -39,6 +104,8 @@ public class DefaultCommentService implements CommentService {
                 .userId(userId)
                 .build();
         Comment savedComment = commentRepository.save(comment);
+        evictFirstPages(publicationId);
+        trendingEngine.commented(publicationId);
         return commentMapper.commentToCommentReadDto(savedComment);
     }
 
@@ -61,6 +128,7 @@ public class DefaultCommentService implements CommentService {
             throw new UserIsNotOwnerException("feedback-api.comments.update.errors.user_is_not_owner");
         }
         comment.setText(text);
+        evictFirstPages(comment.getPublicationId());
     }
 
     @Override
@@ -70,5 +138,6 @@ public class DefaultCommentService implements CommentService {
             throw new UserIsNotOwnerException("feedback-api.comments.delete.errors.user_is_not_owner");
         }
         commentRepository.deleteById(commentId);
+        evictFirstPages(comment.getPublicationId());
     }
 }
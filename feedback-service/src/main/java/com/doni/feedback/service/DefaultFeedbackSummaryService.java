@@ -0,0 +1,36 @@
+package com.doni.feedback.service;
+
+import com.doni.feedback.counter.LikeCounters;
+import com.doni.feedback.dto.FeedbackSummaryReadDto;
+import com.doni.feedback.dto.PublicationCountDto;
+import com.doni.feedback.repository.CommentRepository;
+import com.doni.feedback.repository.LikeRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.*;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class DefaultFeedbackSummaryService implements FeedbackSummaryService {
+    private final LikeCounters likeCounters;
+    private final LikeRepository likeRepository;
+    private final CommentRepository commentRepository;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FeedbackSummaryReadDto> findSummaries(List<Integer> publicationIds, String userId) {
+        Set<Integer> ids = new LinkedHashSet<>(publicationIds);
+        Map<Integer, Long> likeCounts = likeCounters.countAll(ids);
+        Map<Integer, Long> commentCounts = commentRepository.countAllByPublicationIds(ids).stream()
+                .collect(Collectors.toMap(PublicationCountDto::publicationId, PublicationCountDto::count));
+        Set<Integer> liked = new HashSet<>(likeRepository.findLikedPublicationIds(userId, ids));
+
+        return ids.stream()
+                .map(id -> new FeedbackSummaryReadDto(id, likeCounts.getOrDefault(id, 0L),
+                        commentCounts.getOrDefault(id, 0L), liked.contains(id)))
+                .toList();
+    }
+}
@@ -1,13 +1,17 @@
 package com.doni.feedback.service;
 
 import com.doni.feedback.client.PublicationClient;
+import com.doni.feedback.counter.LikeCounters;
+import com.doni.feedback.dto.LikeCountReadDto;
 import com.doni.feedback.dto.LikeReadDto;
+import com.doni.feedback.dto.LikeStateReadDto;
 import com.doni.feedback.entity.Like;
 import com.doni.feedback.entity.Publication;
 import com.doni.feedback.exception.LikeExistsException;
 import com.doni.feedback.exception.UserIsNotOwnerException;
 import com.doni.feedback.mapper.LikeMapper;
 import com.doni.feedback.repository.LikeRepository;
+import com.doni.feedback.trending.TrendingEngine;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -22,6 +26,8 @@ public class DefaultLikeService implements LikeService {
     private final LikeMapper likeMapper;
     private final LikeRepository likeRepository;
     private final PublicationClient publicationClient;
+    private final LikeCounters likeCounters;
+    private final TrendingEngine trendingEngine;
 
     @Override
     public List<LikeReadDto> findLikesByPublicationId(Integer publicationId) {
@@ -31,22 +37,24 @@ public class DefaultLikeService implements LikeService {
         return likeMapper.likesToLikeReadDtos(likes);
     }
 
+    @Override
+    public LikeCountReadDto countLikesByPublicationId(Integer publicationId) {
+        publicationClient.findPublication(publicationId)
+                .orElseThrow(() -> new NoSuchElementException("feedback-api.likes.read.errors.publication_is_not_found"));
+        return new LikeCountReadDto(publicationId, likeCounters.count(publicationId));
+    }
+
     @Override
     @Transactional
     public LikeReadDto createLike(Integer publicationId, String userId) {
         publicationClient.findPublication(publicationId)
                 .orElseThrow(() -> new NoSuchElementException("feedback-api.likes.create.errors.publication_is_not_found"));
-        likeRepository.findByPublicationIdAndUserId(publicationId, userId)
-                .ifPresent(like -> {
-                    throw new LikeExistsException("feedback-api.likes.create.errors.user_has_already_like_publication");
-                });
-
-        Like like = Like.builder()
-                .publicationId(publicationId)
-                .userId(userId)
-                .build();
-        Like savedLike = likeRepository.save(like);
-        return likeMapper.likeToLikeReadDto(savedLike);
+        if (likeRepository.insertLikeIfAbsent(publicationId, userId) == 0) {
+            throw new LikeExistsException("feedback-api.likes.create.errors.user_has_already_like_publication");
+        }
+        likeCounters.liked(publicationId);
+        trendingEngine.liked(publicationId);
+        return likeMapper.likeToLikeReadDto(findLike(publicationId, userId));
     }
 
     @Override
@@ -65,9 +73,34 @@ public class DefaultLikeService implements LikeService {
     public void deleteLike(Integer publicationId, String userId, String currentUserId) {
         Like like = findLike(publicationId, userId);
         if (like.getUserId().equals(currentUserId)) {
-            likeRepository.deleteByPublicationIdAndUserId(publicationId, userId);
+            if (likeRepository.deleteLikeIfPresent(publicationId, userId) > 0) {
+                likeCounters.unliked(publicationId);
+            }
         } else {
             throw new UserIsNotOwnerException("feedback-api.likes.delete.errors.user_is_not_owner");
         }
     }
+
+    @Override
+    @Transactional
+    public LikeStateReadDto like(Integer publicationId, String userId) {
+        publicationClient.findPublication(publicationId)
+                .orElseThrow(() -> new NoSuchElementException("feedback-api.likes.create.errors.publication_is_not_found"));
+        int inserted = likeRepository.insertLikeIfAbsent(publicationId, userId);
+        if (inserted > 0) {
+            likeCounters.liked(publicationId);
+            trendingEngine.liked(publicationId);
+        }
+        return new LikeStateReadDto(publicationId, true, inserted > 0);
+    }
+
+    @Override
+    @Transactional
+    public LikeStateReadDto unlike(Integer publicationId, String userId) {
+        int deleted = likeRepository.deleteLikeIfPresent(publicationId, userId);
+        if (deleted > 0) {
+            likeCounters.unliked(publicationId);
+        }
+        return new LikeStateReadDto(publicationId, false, deleted > 0);
+    }
 }
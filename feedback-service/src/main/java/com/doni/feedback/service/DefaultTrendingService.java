@@ -0,0 +1,19 @@
+package com.doni.feedback.service;
+
+import com.doni.feedback.dto.TrendingPublicationReadDto;
+import com.doni.feedback.trending.TrendingEngine;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DefaultTrendingService implements TrendingService {
+    private final TrendingEngine trendingEngine;
+
+    @Override
+    public List<TrendingPublicationReadDto> findTrendingPublications(int limit) {
+        return trendingEngine.trending(Math.max(1, limit));
+    }
+}
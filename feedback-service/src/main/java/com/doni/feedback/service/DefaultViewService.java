@@ -0,0 +1,34 @@
+package com.doni.feedback.service;
+
+import com.doni.feedback.client.PublicationClient;
+import com.doni.feedback.dto.PublicationViewsReadDto;
+import com.doni.feedback.views.ViewSketches;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+import java.util.NoSuchElementException;
+
+@Service
+@RequiredArgsConstructor
+public class DefaultViewService implements ViewService {
+    private final ViewSketches viewSketches;
+    private final PublicationClient publicationClient;
+
+    @Override
+    public void recordView(Integer publicationId, String userId) {
+        publicationClient.findPublication(publicationId)
+                .orElseThrow(() -> new NoSuchElementException("feedback-api.views.errors.publication_is_not_found"));
+        viewSketches.record(publicationId, userId);
+    }
+
+    @Override
+    public PublicationViewsReadDto countUniqueViewers(Integer publicationId, Integer days) {
+        publicationClient.findPublication(publicationId)
+                .orElseThrow(() -> new NoSuchElementException("feedback-api.views.errors.publication_is_not_found"));
+        if (days == null) {
+            return new PublicationViewsReadDto(publicationId, null, viewSketches.countTotal(publicationId));
+        }
+        int window = Math.max(1, days);
+        return new PublicationViewsReadDto(publicationId, window, viewSketches.countDays(publicationId, window));
+    }
+}
@@ -0,0 +1,10 @@
+package com.doni.feedback.service;
+
+import com.doni.feedback.dto.FeedbackSummaryReadDto;
+
+import java.util.List;
+
+public interface FeedbackSummaryService {
+
+    List<FeedbackSummaryReadDto> findSummaries(List<Integer> publicationIds, String userId);
+}
@@ -1,6 +1,8 @@
 package com.doni.feedback.service;
 
+import com.doni.feedback.dto.LikeCountReadDto;
 import com.doni.feedback.dto.LikeReadDto;
+import com.doni.feedback.dto.LikeStateReadDto;
 import com.doni.feedback.entity.Like;
 
 import java.util.List;
@@ -10,9 +12,15 @@ public interface LikeService {
 
     List<LikeReadDto> findLikesByPublicationId(Integer publicationId);
 
+    LikeCountReadDto countLikesByPublicationId(Integer publicationId);
+
     LikeReadDto createLike(Integer publicationId, String subject);
 
     LikeReadDto findLikeByPublicationIdAndUserId(Integer publicationId, String userId);
 
     void deleteLike(Integer publicationId, String userId, String currentUserId);
+
+    LikeStateReadDto like(Integer publicationId, String userId);
+
+    LikeStateReadDto unlike(Integer publicationId, String userId);
 }
@@ -0,0 +1,10 @@
+package com.doni.feedback.service;
+
+import com.doni.feedback.dto.TrendingPublicationReadDto;
+
+import java.util.List;
+
+public interface TrendingService {
+
+    List<TrendingPublicationReadDto> findTrendingPublications(int limit);
+}
@@ -0,0 +1,10 @@
+package com.doni.feedback.service;
+
+import com.doni.feedback.dto.PublicationViewsReadDto;
+
+public interface ViewService {
+
+    void recordView(Integer publicationId, String userId);
+
+    PublicationViewsReadDto countUniqueViewers(Integer publicationId, Integer days);
+}
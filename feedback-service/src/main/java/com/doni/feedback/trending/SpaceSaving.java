@@ -0,0 +1,51 @@
+package com.doni.feedback.trending;
+
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeSet;
+
+public class SpaceSaving {
+    private final int capacity;
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> byCount = new TreeSet<>(Comparator.comparingLong(Entry::count)
+            .thenComparingInt(Entry::item));
+
+    public SpaceSaving(int capacity) {
+        this.capacity = capacity;
+    }
+
+    public synchronized void offer(int item, long weight) {
+        Entry entry = entries.get(item);
+        if (entry != null) {
+            byCount.remove(entry);
+            put(new Entry(item, entry.count() + weight));
+        } else if (entries.size() < capacity) {
+            put(new Entry(item, weight));
+        } else {
+            Entry min = byCount.pollFirst();
+            entries.remove(min.item());
+            put(new Entry(item, min.count() + weight));
+        }
+    }
+
+    private void put(Entry entry) {
+        entries.put(entry.item(), entry);
+        byCount.add(entry);
+    }
+
+    public synchronized Map<Integer, Long> top(int limit) {
+        Map<Integer, Long> top = new LinkedHashMap<>();
+        for (Entry entry : byCount.descendingSet()) {
+            if (top.size() == limit) {
+                break;
+            }
+            top.put(entry.item(), entry.count());
+        }
+        return top;
+    }
+
+    private record Entry(int item, long count) {
+    }
+}
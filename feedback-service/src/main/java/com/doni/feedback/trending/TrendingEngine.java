@@ -0,0 +1,144 @@
+package com.doni.feedback.trending;
+
+import com.doni.feedback.dto.TrendingPublicationReadDto;
+import com.doni.feedback.entity.TrendingSnapshotEntry;
+import com.doni.feedback.repository.TrendingSnapshotEntryRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+@Slf4j
+public class TrendingEngine implements SmartInitializingSingleton {
+    private final TrendingWindow trendingWindow;
+    private final TrendingWindow localWindow;
+    private final TrendingSnapshotEntryRepository trendingSnapshotEntryRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final String instanceId;
+    private final Duration window;
+    private final int topK;
+    private final long likeWeight;
+    private final long commentWeight;
+    private final Counter events;
+    private volatile List<TrendingPublicationReadDto> trending = List.of();
+
+    public TrendingEngine(TrendingWindow trendingWindow,
+                          TrendingWindow localWindow,
+                          TrendingSnapshotEntryRepository trendingSnapshotEntryRepository,
+                          TransactionTemplate transactionTemplate,
+                          Clock clock,
+                          String instanceId,
+                          Duration window,
+                          int topK,
+                          long likeWeight,
+                          long commentWeight,
+                          MeterRegistry meterRegistry) {
+        this.trendingWindow = trendingWindow;
+        this.localWindow = localWindow;
+        this.trendingSnapshotEntryRepository = trendingSnapshotEntryRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.instanceId = instanceId;
+        this.window = window;
+        this.topK = topK;
+        this.likeWeight = likeWeight;
+        this.commentWeight = commentWeight;
+        this.events = meterRegistry.counter("feedback.trending.events");
+    }
+
+    public void liked(Integer publicationId) {
+        record(publicationId, likeWeight);
+    }
+
+    public void commented(Integer publicationId) {
+        record(publicationId, commentWeight);
+    }
+
+    private void record(Integer publicationId, long weight) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    add(publicationId, weight);
+                }
+            });
+        } else {
+            add(publicationId, weight);
+        }
+    }
+
+    private void add(Integer publicationId, long weight) {
+        Instant now = clock.instant();
+        trendingWindow.record(publicationId, weight, now);
+        localWindow.record(publicationId, weight, now);
+        events.increment();
+    }
+
+    public List<TrendingPublicationReadDto> trending(int limit) {
+        List<TrendingPublicationReadDto> current = trending;
+        return current.size() > limit ? current.subList(0, limit) : current;
+    }
+
+    public void refresh() {
+        trending = trendingWindow.scores(clock.instant()).entrySet().stream()
+                .sorted(Map.Entry.<Integer, Long>comparingByValue().reversed()
+                        .thenComparing(Map.Entry.comparingByKey()))
+                .limit(topK)
+                .map(entry -> new TrendingPublicationReadDto(entry.getKey(), entry.getValue()))
+                .toList();
+    }
+
+    public synchronized int snapshot(int limitPerBucket) {
+        Instant now = clock.instant();
+        List<TrendingSnapshotEntry> entries = localWindow.entries(now, limitPerBucket).stream()
+                .map(entry -> TrendingSnapshotEntry.builder()
+                        .instanceId(instanceId)
+                        .bucketStart(entry.bucketStart())
+                        .publicationId(entry.publicationId())
+                        .score(entry.score())
+                        .build())
+                .toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            trendingSnapshotEntryRepository.deleteByInstanceIdOrExpired(instanceId, now.minus(window));
+            trendingSnapshotEntryRepository.saveAll(entries);
+        });
+        return entries.size();
+    }
+
+    public void restore() {
+        Instant now = clock.instant();
+        List<TrendingSnapshotEntry> snapshot = trendingSnapshotEntryRepository
+                .findAllByBucketStartGreaterThan(now.minus(window));
+        List<TrendingWindow.BucketEntry> entries = bucketEntries(snapshot.stream());
+        trendingWindow.restore(entries, now);
+        localWindow.restore(bucketEntries(snapshot.stream()
+                .filter(entry -> entry.getInstanceId().equals(instanceId))), now);
+        refresh();
+        log.info("Restored {} trending entries", entries.size());
+    }
+
+    private static List<TrendingWindow.BucketEntry> bucketEntries(Stream<TrendingSnapshotEntry> snapshot) {
+        return snapshot
+                .map(entry -> new TrendingWindow.BucketEntry(entry.getBucketStart(), entry.getPublicationId(),
+                        entry.getScore()))
+                .sorted(Comparator.comparing(TrendingWindow.BucketEntry::bucketStart))
+                .toList();
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        restore();
+    }
+}
@@ -0,0 +1,89 @@
+package com.doni.feedback.trending;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+public class TrendingWindow {
+    private final long bucketMillis;
+    private final int capacity;
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    public TrendingWindow(Duration bucketDuration, int bucketCount, int capacity) {
+        this.bucketMillis = bucketDuration.toMillis();
+        this.capacity = capacity;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    public void record(int publicationId, long weight, Instant at) {
+        Bucket bucket = bucket(at.toEpochMilli() / bucketMillis);
+        if (bucket != null) {
+            bucket.summary().offer(publicationId, weight);
+        }
+    }
+
+    private Bucket bucket(long index) {
+        int slot = (int) Math.floorMod(index, (long) buckets.length());
+        while (true) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && bucket.index() == index) {
+                return bucket;
+            }
+            if (bucket != null && bucket.index() > index) {
+                return null;
+            }
+            Bucket fresh = new Bucket(index, new SpaceSaving(capacity));
+            if (buckets.compareAndSet(slot, bucket, fresh)) {
+                return fresh;
+            }
+        }
+    }
+
+    public Map<Integer, Long> scores(Instant now) {
+        long current = now.toEpochMilli() / bucketMillis;
+        Map<Integer, Long> scores = new HashMap<>();
+        for (int slot = 0; slot < buckets.length(); slot++) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && isLive(bucket.index(), current)) {
+                bucket.summary().top(capacity).forEach((publicationId, count) ->
+                        scores.merge(publicationId, count, Long::sum));
+            }
+        }
+        return scores;
+    }
+
+    public List<BucketEntry> entries(Instant now, int limitPerBucket) {
+        long current = now.toEpochMilli() / bucketMillis;
+        List<BucketEntry> entries = new ArrayList<>();
+        for (int slot = 0; slot < buckets.length(); slot++) {
+            Bucket bucket = buckets.get(slot);
+            if (bucket != null && isLive(bucket.index(), current)) {
+                Instant bucketStart = Instant.ofEpochMilli(bucket.index() * bucketMillis);
+                bucket.summary().top(limitPerBucket).forEach((publicationId, count) ->
+                        entries.add(new BucketEntry(bucketStart, publicationId, count)));
+            }
+        }
+        return entries;
+    }
+
+    public void restore(List<BucketEntry> entries, Instant now) {
+        long current = now.toEpochMilli() / bucketMillis;
+        entries.stream()
+                .filter(entry -> isLive(entry.bucketStart().toEpochMilli() / bucketMillis, current))
+                .forEach(entry -> record(entry.publicationId(), entry.score(), entry.bucketStart()));
+    }
+
+    private boolean isLive(long index, long current) {
+        return index <= current && index > current - buckets.length();
+    }
+
+    private record Bucket(long index, SpaceSaving summary) {
+    }
+
+    public record BucketEntry(Instant bucketStart, Integer publicationId, Long score) {
+    }
+}
@@ -0,0 +1,246 @@
+package com.doni.feedback.views;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+public class HyperLogLog {
+    private static final byte SPARSE_MARKER = -1;
+    private static final int SPARSE_HEADER_LENGTH = 2;
+    private static final int SPARSE_ENTRY_LENGTH = 3;
+
+    private int precision;
+    private byte[] registers;
+    private int[] entries;
+    private int size;
+
+    public HyperLogLog(int precision) {
+        checkPrecision(precision);
+        this.precision = precision;
+        this.entries = new int[4];
+    }
+
+    private HyperLogLog(int precision, byte[] registers, int[] entries, int size) {
+        this.precision = precision;
+        this.registers = registers;
+        this.entries = entries;
+        this.size = size;
+    }
+
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length >= SPARSE_HEADER_LENGTH && bytes[0] == SPARSE_MARKER) {
+            return fromSparseBytes(bytes);
+        }
+        int precision = Integer.numberOfTrailingZeros(bytes.length);
+        if (bytes.length != 1 << precision || precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("invalid register count " + bytes.length);
+        }
+        return new HyperLogLog(precision, bytes.clone(), null, 0);
+    }
+
+    private static HyperLogLog fromSparseBytes(byte[] bytes) {
+        int precision = bytes[1];
+        checkPrecision(precision);
+        if ((bytes.length - SPARSE_HEADER_LENGTH) % SPARSE_ENTRY_LENGTH != 0) {
+            throw new IllegalArgumentException("invalid sparse sketch length " + bytes.length);
+        }
+        HyperLogLog sketch = new HyperLogLog(precision);
+        for (int offset = SPARSE_HEADER_LENGTH; offset < bytes.length; offset += SPARSE_ENTRY_LENGTH) {
+            int index = (bytes[offset] & 0xff) << 8 | bytes[offset + 1] & 0xff;
+            if (index >= 1 << precision || bytes[offset + 2] <= 0) {
+                throw new IllegalArgumentException("invalid sparse register at " + offset);
+            }
+            sketch.set(index, bytes[offset + 2]);
+        }
+        return sketch;
+    }
+
+    public synchronized void offer(String value) {
+        long hash = hash(value);
+        int index = (int) (hash >>> (64 - precision));
+        int rank = Math.min(Long.numberOfLeadingZeros(hash << precision) + 1, 64 - precision + 1);
+        set(index, rank);
+    }
+
+    public HyperLogLog merge(HyperLogLog other) {
+        HyperLogLog source = other.copy();
+        synchronized (this) {
+            if (source.precision > precision) {
+                source = source.fold(precision);
+            } else if (source.precision < precision) {
+                HyperLogLog folded = fold(source.precision);
+                precision = folded.precision;
+                registers = folded.registers;
+                entries = folded.entries;
+                size = folded.size;
+            }
+            if (source.registers != null) {
+                toDense();
+                for (int i = 0; i < registers.length; i++) {
+                    if (source.registers[i] > registers[i]) {
+                        registers[i] = source.registers[i];
+                    }
+                }
+            } else {
+                for (int i = 0; i < source.size; i++) {
+                    set(source.entries[i] >>> 8, source.entries[i] & 0xff);
+                }
+            }
+        }
+        return this;
+    }
+
+    public synchronized int precision() {
+        return precision;
+    }
+
+    public synchronized long estimate() {
+        int m = 1 << precision;
+        if (registers == null) {
+            return size == 0 ? 0 : Math.round(m * Math.log((double) m / (m - size)));
+        }
+        double sum = 0;
+        int zeros = 0;
+        for (byte register : registers) {
+            sum += Math.scalb(1.0, -register);
+            if (register == 0) {
+                zeros++;
+            }
+        }
+        double estimate = alpha(m) * m * m / sum;
+        if (estimate <= 2.5 * m && zeros > 0) {
+            estimate = m * Math.log((double) m / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    public synchronized byte[] toBytes() {
+        if (registers != null) {
+            return registers.clone();
+        }
+        byte[] bytes = new byte[SPARSE_HEADER_LENGTH + size * SPARSE_ENTRY_LENGTH];
+        bytes[0] = SPARSE_MARKER;
+        bytes[1] = (byte) precision;
+        for (int i = 0, offset = SPARSE_HEADER_LENGTH; i < size; i++, offset += SPARSE_ENTRY_LENGTH) {
+            int index = entries[i] >>> 8;
+            bytes[offset] = (byte) (index >>> 8);
+            bytes[offset + 1] = (byte) index;
+            bytes[offset + 2] = (byte) entries[i];
+        }
+        return bytes;
+    }
+
+    public synchronized HyperLogLog copy() {
+        return new HyperLogLog(precision, registers == null ? null : registers.clone(),
+                entries == null ? null : entries.clone(), size);
+    }
+
+    private void set(int index, int rank) {
+        if (registers != null) {
+            if (rank > registers[index]) {
+                registers[index] = (byte) rank;
+            }
+            return;
+        }
+        int position = find(index);
+        if (position >= 0) {
+            if (rank > (entries[position] & 0xff)) {
+                entries[position] = index << 8 | rank;
+            }
+            return;
+        }
+        position = -position - 1;
+        if (size == entries.length) {
+            entries = Arrays.copyOf(entries, size * 2);
+        }
+        System.arraycopy(entries, position, entries, position + 1, size - position);
+        entries[position] = index << 8 | rank;
+        size++;
+        if (size * Integer.BYTES > 1 << precision) {
+            toDense();
+        }
+    }
+
+    private int find(int index) {
+        int low = 0;
+        int high = size - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleIndex = entries[middle] >>> 8;
+            if (middleIndex < index) {
+                low = middle + 1;
+            } else if (middleIndex > index) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -(low + 1);
+    }
+
+    private void toDense() {
+        if (registers != null) {
+            return;
+        }
+        registers = new byte[1 << precision];
+        for (int i = 0; i < size; i++) {
+            registers[entries[i] >>> 8] = (byte) entries[i];
+        }
+        entries = null;
+        size = 0;
+    }
+
+    private HyperLogLog fold(int targetPrecision) {
+        HyperLogLog folded = new HyperLogLog(targetPrecision);
+        int shift = precision - targetPrecision;
+        if (registers != null) {
+            for (int index = 0; index < registers.length; index++) {
+                if (registers[index] != 0) {
+                    folded.set(index >>> shift, foldedRank(index, registers[index], shift));
+                }
+            }
+        } else {
+            for (int i = 0; i < size; i++) {
+                int index = entries[i] >>> 8;
+                folded.set(index >>> shift, foldedRank(index, entries[i] & 0xff, shift));
+            }
+        }
+        return folded;
+    }
+
+    private static int foldedRank(int index, int rank, int shift) {
+        int droppedBits = index & ((1 << shift) - 1);
+        if (droppedBits == 0) {
+            return shift + rank;
+        }
+        return Integer.numberOfLeadingZeros(droppedBits) - (32 - shift) + 1;
+    }
+
+    private static void checkPrecision(int precision) {
+        if (precision < 4 || precision > 16) {
+            throw new IllegalArgumentException("precision must be between 4 and 16");
+        }
+    }
+
+    private static double alpha(int m) {
+        return switch (m) {
+            case 16 -> 0.673;
+            case 32 -> 0.697;
+            case 64 -> 0.709;
+            default -> 0.7213 / (1 + 1.079 / m);
+        };
+    }
+
+    static long hash(String value) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= b & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
+    }
+}
@@ -0,0 +1,123 @@
+package com.doni.feedback.views;
+
+import com.doni.feedback.entity.PublicationViewSketch;
+import com.doni.feedback.entity.PublicationViewTotal;
+import com.doni.feedback.repository.PublicationViewSketchRepository;
+import com.doni.feedback.repository.PublicationViewTotalRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.Period;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+@Slf4j
+public class ViewSketches {
+    private final ConcurrentMap<Key, HyperLogLog> pending = new ConcurrentHashMap<>();
+    private final PublicationViewSketchRepository publicationViewSketchRepository;
+    private final PublicationViewTotalRepository publicationViewTotalRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int precision;
+    private final Period dailyRetention;
+    private final Counter recorded;
+
+    public ViewSketches(PublicationViewSketchRepository publicationViewSketchRepository,
+                        PublicationViewTotalRepository publicationViewTotalRepository,
+                        TransactionTemplate transactionTemplate,
+                        Clock clock,
+                        int precision,
+                        Period dailyRetention,
+                        MeterRegistry meterRegistry) {
+        this.publicationViewSketchRepository = publicationViewSketchRepository;
+        this.publicationViewTotalRepository = publicationViewTotalRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.precision = precision;
+        this.dailyRetention = dailyRetention;
+        this.recorded = meterRegistry.counter("feedback.views.recorded");
+    }
+
+    public void record(Integer publicationId, String userId) {
+        pending.compute(new Key(publicationId, LocalDate.now(clock)), (key, sketch) -> {
+            HyperLogLog current = sketch != null ? sketch : new HyperLogLog(precision);
+            current.offer(userId);
+            return current;
+        });
+        recorded.increment();
+    }
+
+    public long countTotal(Integer publicationId) {
+        HyperLogLog sketch = publicationViewTotalRepository.findById(publicationId)
+                .map(total -> HyperLogLog.fromBytes(total.getRegisters()))
+                .orElseGet(() -> new HyperLogLog(precision));
+        LocalDate today = LocalDate.now(clock);
+        mergePending(sketch, publicationId, today.minusDays(1), today);
+        return sketch.estimate();
+    }
+
+    public long countDays(Integer publicationId, int days) {
+        LocalDate today = LocalDate.now(clock);
+        LocalDate from = today.minusDays(days - 1L);
+        HyperLogLog sketch = new HyperLogLog(precision);
+        publicationViewSketchRepository.findAllByPublicationIdAndDayGreaterThanEqual(publicationId, from)
+                .forEach(daily -> sketch.merge(HyperLogLog.fromBytes(daily.getRegisters())));
+        mergePending(sketch, publicationId, from, today);
+        return sketch.estimate();
+    }
+
+    private void mergePending(HyperLogLog sketch, Integer publicationId, LocalDate from, LocalDate to) {
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            HyperLogLog pendingSketch = pending.get(new Key(publicationId, day));
+            if (pendingSketch != null) {
+                sketch.merge(pendingSketch);
+            }
+        }
+    }
+
+    public int flush() {
+        int flushed = 0;
+        for (Key key : List.copyOf(pending.keySet())) {
+            HyperLogLog sketch = pending.remove(key);
+            if (sketch == null) {
+                continue;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> persist(key, sketch));
+                flushed++;
+            } catch (RuntimeException exception) {
+                pending.merge(key, sketch, HyperLogLog::merge);
+                log.warn("Failed to persist view sketch of publication {} for {}", key.publicationId(), key.day(),
+                        exception);
+            }
+        }
+        return flushed;
+    }
+
+    private void persist(Key key, HyperLogLog sketch) {
+        byte[] empty = new HyperLogLog(precision).toBytes();
+
+        publicationViewSketchRepository.insertIfAbsent(key.publicationId(), key.day(), empty);
+        PublicationViewSketch daily = publicationViewSketchRepository.findForUpdate(key.publicationId(), key.day())
+                .orElseThrow();
+        daily.setRegisters(HyperLogLog.fromBytes(daily.getRegisters()).merge(sketch).toBytes());
+
+        publicationViewTotalRepository.insertIfAbsent(key.publicationId(), empty);
+        PublicationViewTotal total = publicationViewTotalRepository.findForUpdate(key.publicationId())
+                .orElseThrow();
+        total.setRegisters(HyperLogLog.fromBytes(total.getRegisters()).merge(sketch).toBytes());
+    }
+
+    public int purgeExpiredDays() {
+        LocalDate cutoff = LocalDate.now(clock).minus(dailyRetention);
+        return transactionTemplate.execute(status -> publicationViewSketchRepository.deleteAllByDayBefore(cutoff));
+    }
+
+    private record Key(Integer publicationId, LocalDate day) {
+    }
+}
@@ -0,0 +1,67 @@
+package com.doni.feedback.cache;
+
+import com.doni.feedback.dto.CommentCursor;
+import com.doni.feedback.dto.CommentReadDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class CommentPageCacheTest {
+
+    CommentPageCache commentPageCache = new CommentPageCache(10_000, Duration.ofMinutes(1), new SimpleMeterRegistry());
+
+    AtomicInteger loads = new AtomicInteger();
+
+    List<CommentReadDto> load() {
+        loads.incrementAndGet();
+        return List.of(new CommentReadDto(2, "Text 2", 1, "j.dewar"), new CommentReadDto(1, "Text 1", 1, "j.dewar"));
+    }
+
+    @Test
+    void firstPage_RepeatedRead_LoadsOnce() {
+        List<CommentReadDto> first = commentPageCache.firstPage(1, CommentCursor.Order.NEWEST, this::load);
+        List<CommentReadDto> second = commentPageCache.firstPage(1, CommentCursor.Order.NEWEST, this::load);
+
+        assertEquals(first, second);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void firstPage_OtherOrder_LoadsSeparately() {
+        commentPageCache.firstPage(1, CommentCursor.Order.NEWEST, this::load);
+        commentPageCache.firstPage(1, CommentCursor.Order.OLDEST, this::load);
+
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void evict_LoadsAgainForBothOrders() {
+        commentPageCache.firstPage(1, CommentCursor.Order.NEWEST, this::load);
+        commentPageCache.firstPage(1, CommentCursor.Order.OLDEST, this::load);
+        commentPageCache.firstPage(2, CommentCursor.Order.NEWEST, this::load);
+
+        commentPageCache.evict(1);
+        commentPageCache.firstPage(1, CommentCursor.Order.NEWEST, this::load);
+        commentPageCache.firstPage(1, CommentCursor.Order.OLDEST, this::load);
+        commentPageCache.firstPage(2, CommentCursor.Order.NEWEST, this::load);
+
+        assertEquals(5, loads.get());
+    }
+
+    @Test
+    void firstPage_EvictedWhileLoading_DoesNotCacheStalePage() {
+        commentPageCache.firstPage(1, CommentCursor.Order.NEWEST, () -> {
+            commentPageCache.evict(1);
+            return load();
+        });
+        commentPageCache.firstPage(1, CommentCursor.Order.NEWEST, this::load);
+        commentPageCache.firstPage(1, CommentCursor.Order.NEWEST, this::load);
+
+        assertEquals(2, loads.get());
+    }
+}
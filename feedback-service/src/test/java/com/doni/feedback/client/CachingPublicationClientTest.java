@@ -0,0 +1,68 @@
+package com.doni.feedback.client;
+
+import com.doni.feedback.entity.Publication;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.client.HttpServerErrorException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingPublicationClientTest {
+
+    PublicationClient delegate = mock(PublicationClient.class);
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    CachingPublicationClient cachingPublicationClient = new CachingPublicationClient(delegate, 100,
+            Duration.ofMinutes(10), Duration.ofSeconds(10), meterRegistry);
+
+    @Test
+    void findPublication_PublicationExists_CallsDelegateOnce() {
+        Publication publication = new Publication(1, "Title", "Description", "j.daniels");
+        doReturn(Optional.of(publication)).when(delegate).findPublication(1);
+
+        assertEquals(Optional.of(publication), cachingPublicationClient.findPublication(1));
+        assertEquals(Optional.of(publication), cachingPublicationClient.findPublication(1));
+
+        verify(delegate, times(1)).findPublication(1);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "publication.existence")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void findPublication_PublicationDoesNotExist_CachesMissing() {
+        doReturn(Optional.empty()).when(delegate).findPublication(1);
+
+        assertTrue(cachingPublicationClient.findPublication(1).isEmpty());
+        assertTrue(cachingPublicationClient.findPublication(1).isEmpty());
+
+        verify(delegate, times(1)).findPublication(1);
+    }
+
+    @Test
+    void findPublication_PublicationServiceFails_DoesNotCache() {
+        doThrow(HttpServerErrorException.create(HttpStatus.SERVICE_UNAVAILABLE, "Service Unavailable", null, null, null))
+                .when(delegate).findPublication(1);
+
+        assertThrows(HttpServerErrorException.class, () -> cachingPublicationClient.findPublication(1));
+        assertThrows(HttpServerErrorException.class, () -> cachingPublicationClient.findPublication(1));
+
+        verify(delegate, times(2)).findPublication(1);
+    }
+
+    @Test
+    void evictPublication_CallsDelegateAgain() {
+        doReturn(Optional.of(new Publication(1, "Title", "Description", "j.daniels"))).when(delegate).findPublication(1);
+
+        cachingPublicationClient.findPublication(1);
+        cachingPublicationClient.evictPublication(1);
+        cachingPublicationClient.findPublication(1);
+
+        verify(delegate, times(2)).findPublication(1);
+    }
+}
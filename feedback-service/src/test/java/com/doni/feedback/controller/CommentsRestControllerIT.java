@@ -16,6 +16,7 @@ import org.springframework.transaction.annotation.Transactional;
 
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.hamcrest.Matchers.nullValue;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 
@@ -326,4 +327,86 @@ class CommentsRestControllerIT {
                         )
                 );
     }
-}
\ No newline at end of file
+
+    @Test
+    @Sql("/sql/comments.sql")
+    void getCommentsPageByPublicationId_UserIsAuthorized_NewestFirst_ReturnsPages() throws Exception {
+        stubPublication();
+
+        String cursor = mockMvc.perform(MockMvcRequestBuilders.get("/feedback-api/comments/by-publication-id/1")
+                        .param("limit", "1")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.comments.length()").value(1),
+                        jsonPath("$.comments[0].id").value(2),
+                        jsonPath("$.nextCursor").isString()
+                )
+                .andReturn().getResponse().getContentAsString()
+                .replaceAll(".*\"nextCursor\":\"([^\"]+)\".*", "$1");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/feedback-api/comments/by-publication-id/1")
+                        .param("limit", "1")
+                        .param("cursor", cursor)
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.comments.length()").value(1),
+                        jsonPath("$.comments[0].id").value(1),
+                        jsonPath("$.nextCursor").value(nullValue())
+                );
+    }
+
+    @Test
+    @Sql("/sql/comments.sql")
+    void getCommentsPageByPublicationId_UserIsAuthorized_OldestFirst_ReturnsOk() throws Exception {
+        stubPublication();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/feedback-api/comments/by-publication-id/1")
+                        .param("limit", "10")
+                        .param("order", "OLDEST")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("""
+                                {
+                                    "comments": [
+                                        {"id": 1, "text": "Text 1", "publicationId": 1, "userId": "j.dewar"},
+                                        {"id": 2, "text": "Text 2", "publicationId": 1, "userId": "j.dewar"}
+                                    ],
+                                    "nextCursor": null
+                                }
+                                """, true)
+                );
+    }
+
+    @Test
+    void getCommentsPageByPublicationId_UserIsAuthorized_CursorIsInvalid_ReturnsBadRequest() throws Exception {
+        stubPublication();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/feedback-api/comments/by-publication-id/1")
+                        .param("limit", "10")
+                        .param("cursor", "not-a-cursor")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                );
+    }
+
+    private void stubPublication() {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/publication-api/publications/1"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 1,
+                            "title": "Title",
+                            "description": "Description",
+                            "userId": "j.daniels"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+    }
+}
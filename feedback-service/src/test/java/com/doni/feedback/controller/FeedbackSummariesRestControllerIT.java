@@ -0,0 +1,84 @@
+package com.doni.feedback.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql({"/sql/likes.sql", "/sql/likeCounters.sql", "/sql/comments.sql"})
+class FeedbackSummariesRestControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void getSummaries_UserIsAuthorized_PayloadIsValid_ReturnsOk() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/feedback-api/summaries")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"publicationIds": [2, 1, 5, 1]}
+                        """)
+                .with(jwt().jwt(builder -> builder.subject("j.daniels")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                [
+                                    {"publicationId": 2, "likeCount": 1, "commentCount": 1, "likedByCurrentUser": false},
+                                    {"publicationId": 1, "likeCount": 2, "commentCount": 2, "likedByCurrentUser": true},
+                                    {"publicationId": 5, "likeCount": 0, "commentCount": 0, "likedByCurrentUser": false}
+                                ]
+                                """, true)
+                );
+    }
+
+    @Test
+    void getSummaries_UserIsAuthorized_PublicationIdsAreEmpty_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/feedback-api/summaries")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"publicationIds": []}
+                        """)
+                .with(jwt().jwt(builder -> builder.subject("j.daniels")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                );
+    }
+
+    @Test
+    void getSummaries_UserIsNotAuthorized_ReturnsUnauthorized() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/feedback-api/summaries")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"publicationIds": [1]}
+                        """);
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isUnauthorized()
+                );
+    }
+}
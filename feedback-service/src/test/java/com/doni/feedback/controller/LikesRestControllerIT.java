@@ -2,7 +2,9 @@ package com.doni.feedback.controller;
 
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.MethodOrderer;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestMethodOrder;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
@@ -24,6 +26,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @AutoConfigureMockMvc
 @ActiveProfiles("test")
 @WireMockTest(httpPort = 54321)
+@TestMethodOrder(MethodOrderer.MethodName.class)
 class LikesRestControllerIT {
 
     @Autowired
@@ -83,6 +86,51 @@ class LikesRestControllerIT {
                 );
     }
 
+    @Test
+    @Sql({"/sql/likes.sql", "/sql/likeCounters.sql"})
+    void getLikeCountByPublicationId_UserIsAuthorized_ReturnsOk() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/feedback-api/likes/by-publication-id/1/count")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/publication-api/publications/1"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 1,
+                            "title": "Title",
+                            "description": "Description",
+                            "userId": "j.daniels"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json(
+                                """
+                                {"publicationId": 1, "count": 2}
+                                """
+                        )
+                );
+    }
+
+    @Test
+    void getLikeCountByPublicationId_UserIsAuthorized_PublicationDoesNotExist_ReturnsNotFound() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/feedback-api/likes/by-publication-id/1/count")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/publication-api/publications/1"))
+                .willReturn(WireMock.notFound().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotFound(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                );
+    }
+
     @Test
     void getLikesByPublicationId_UserIsNotAuthorized_ReturnsUnauthorized() throws Exception {
         var requestBuilder = MockMvcRequestBuilders.get("/feedback-api/likes/by-publication-id/1");
@@ -231,4 +279,92 @@ class LikesRestControllerIT {
                         )
                 );
     }
-}
\ No newline at end of file
+
+    @Test
+    void like_UserIsAuthorized_RepeatedRequest_ChangesStateOnce() throws Exception {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/publication-api/publications/2"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 2,
+                            "title": "Title",
+                            "description": "Description",
+                            "userId": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/feedback-api/likes/by-publication-id/2/mine")
+                        .with(jwt().jwt(builder -> builder.subject("j.daniels"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("""
+                                {"publicationId": 2, "liked": true, "changed": true}
+                                """)
+                );
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/feedback-api/likes/by-publication-id/2/mine")
+                        .with(jwt().jwt(builder -> builder.subject("j.daniels"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("""
+                                {"publicationId": 2, "liked": true, "changed": false}
+                                """)
+                );
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/feedback-api/likes/by-publication-id/2/and-user-id/j.daniels")
+                        .with(jwt().jwt(builder -> builder.subject("j.daniels"))))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void like_UserIsAuthorized_PublicationDoesNotExist_ReturnsNotFound() throws Exception {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/publication-api/publications/100"))
+                .willReturn(WireMock.notFound().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(MockMvcRequestBuilders.put("/feedback-api/likes/by-publication-id/100/mine")
+                        .with(jwt().jwt(builder -> builder.subject("j.daniels"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotFound(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                );
+    }
+
+    @Test
+    @Sql("/sql/likes.sql")
+    void unlike_UserIsAuthorized_RepeatedRequest_ChangesStateOnce() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/feedback-api/likes/by-publication-id/1/mine")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("""
+                                {"publicationId": 1, "liked": false, "changed": true}
+                                """)
+                );
+
+        mockMvc.perform(MockMvcRequestBuilders.delete("/feedback-api/likes/by-publication-id/1/mine")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("""
+                                {"publicationId": 1, "liked": false, "changed": false}
+                                """)
+                );
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/feedback-api/likes/by-publication-id/1/and-user-id/j.dewar")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    void unlike_UserIsNotAuthorized_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/feedback-api/likes/by-publication-id/1/mine"))
+                .andDo(print())
+                .andExpectAll(
+                        status().isUnauthorized()
+                );
+    }
+}
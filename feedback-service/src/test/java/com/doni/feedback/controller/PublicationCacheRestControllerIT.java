@@ -0,0 +1,47 @@
+package com.doni.feedback.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class PublicationCacheRestControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void evictPublication_ClientHasScope_ReturnsNoContent() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.delete("/feedback-api/publication-cache/1")
+                .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_publication_events")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isNoContent()
+                );
+    }
+
+    @Test
+    void evictPublication_ClientHasNoScope_ReturnsForbidden() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.delete("/feedback-api/publication-cache/1")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isForbidden()
+                );
+    }
+}
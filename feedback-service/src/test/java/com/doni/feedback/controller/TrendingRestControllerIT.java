@@ -0,0 +1,68 @@
+package com.doni.feedback.controller;
+
+import com.doni.feedback.trending.TrendingEngine;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.CompletableFuture;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class TrendingRestControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    TrendingEngine trendingEngine;
+
+    @Test
+    void getTrendingPublications_UserIsAuthorized_ReturnsTopPublications() throws Exception {
+        CompletableFuture.runAsync(() -> {
+            for (int i = 0; i < 5; i++) {
+                trendingEngine.liked(901);
+            }
+            trendingEngine.commented(902);
+            trendingEngine.liked(903);
+        }).join();
+        trendingEngine.refresh();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/feedback-api/trending")
+                        .param("limit", "2")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                [
+                                    {"publicationId": 901, "score": 5},
+                                    {"publicationId": 902, "score": 3}
+                                ]
+                                """, true)
+                );
+    }
+
+    @Test
+    void getTrendingPublications_UserIsNotAuthorized_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/feedback-api/trending"))
+                .andDo(print())
+                .andExpectAll(
+                        status().isUnauthorized()
+                );
+    }
+}
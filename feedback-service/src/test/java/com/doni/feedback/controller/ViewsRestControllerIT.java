@@ -0,0 +1,152 @@
+package com.doni.feedback.controller;
+
+import com.doni.feedback.views.ViewSketches;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WireMockTest(httpPort = 54321)
+class ViewsRestControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ViewSketches viewSketches;
+
+    static void stubPublication(int publicationId) {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/publication-api/publications/" + publicationId))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": %d,
+                            "title": "Title",
+                            "description": "Description",
+                            "userId": "j.daniels"
+                        }
+                        """.formatted(publicationId)).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+    }
+
+    @Test
+    void recordView_UserIsAuthorized_ReturnsNoContent() throws Exception {
+        stubPublication(801);
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/feedback-api/views/by-publication-id/801")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isNoContent()
+                );
+    }
+
+    @Test
+    void getUniqueViewers_RepeatedViews_ReturnsDistinctViewers() throws Exception {
+        stubPublication(802);
+
+        for (String viewer : new String[]{"j.dewar", "m.brown", "k.smith", "j.dewar"}) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/feedback-api/views/by-publication-id/802")
+                            .with(jwt().jwt(builder -> builder.subject(viewer))))
+                    .andExpect(status().isNoContent());
+        }
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/feedback-api/views/by-publication-id/802")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                {
+                                    "publicationId": 802,
+                                    "uniqueViewers": 3
+                                }
+                                """)
+                );
+    }
+
+    @Test
+    void getUniqueViewers_SketchesFlushed_ReturnsDistinctViewersFromStorage() throws Exception {
+        stubPublication(803);
+
+        for (String viewer : new String[]{"j.dewar", "m.brown", "k.smith"}) {
+            mockMvc.perform(MockMvcRequestBuilders.post("/feedback-api/views/by-publication-id/803")
+                            .with(jwt().jwt(builder -> builder.subject(viewer))))
+                    .andExpect(status().isNoContent());
+        }
+        viewSketches.flush();
+        mockMvc.perform(MockMvcRequestBuilders.post("/feedback-api/views/by-publication-id/803")
+                        .with(jwt().jwt(builder -> builder.subject("m.brown"))))
+                .andExpect(status().isNoContent());
+        viewSketches.flush();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/feedback-api/views/by-publication-id/803")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("""
+                                {
+                                    "publicationId": 803,
+                                    "uniqueViewers": 3
+                                }
+                                """)
+                );
+        mockMvc.perform(MockMvcRequestBuilders.get("/feedback-api/views/by-publication-id/803")
+                        .param("days", "1")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("""
+                                {
+                                    "publicationId": 803,
+                                    "days": 1,
+                                    "uniqueViewers": 3
+                                }
+                                """)
+                );
+    }
+
+    @Test
+    void getUniqueViewers_UserIsNotAuthorized_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/feedback-api/views/by-publication-id/804"))
+                .andDo(print())
+                .andExpectAll(
+                        status().isUnauthorized()
+                );
+    }
+
+    @Test
+    void recordView_PublicationDoesNotExist_ReturnsNotFound() throws Exception {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/publication-api/publications/805"))
+                .willReturn(WireMock.notFound().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/feedback-api/views/by-publication-id/805")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotFound(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                                {"detail": "Публикация не найдена"}
+                                """)
+                );
+    }
+}
@@ -0,0 +1,77 @@
+package com.doni.feedback.counter;
+
+import com.doni.feedback.entity.LikeCounter;
+import com.doni.feedback.repository.LikeCounterDeltaRepository;
+import com.doni.feedback.repository.LikeCounterRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Transactional
+@SpringBootTest
+@ActiveProfiles("test")
+class LikeCountersIT {
+
+    @Autowired
+    LikeCounters likeCounters;
+
+    @Autowired
+    LikeCounterRepository likeCounterRepository;
+
+    @Autowired
+    LikeCounterDeltaRepository likeCounterDeltaRepository;
+
+    @Test
+    @Sql("/sql/likes.sql")
+    void reconcile_CountersAreMissing_RecountsFromLikes() {
+        likeCounterRepository.save(new LikeCounter(2, 7L));
+
+        assertEquals(2, likeCounters.reconcile());
+
+        assertEquals(2, likeCounters.count(1));
+        assertEquals(1, likeCounters.count(2));
+        assertEquals(0, likeCounters.count(3));
+    }
+
+    @Test
+    @Sql("/sql/likes.sql")
+    void reconcile_DeltasAreNotFlushed_DoesNotCountThemTwice() {
+        likeCounters.liked(1);
+        likeCounters.liked(1);
+        likeCounters.liked(2);
+
+        assertEquals(0, likeCounters.reconcile());
+
+        assertEquals(2, likeCounters.count(1));
+        assertEquals(1, likeCounters.count(2));
+        assertEquals(2, likeCounters.flush());
+        assertEquals(2, likeCounterRepository.findById(1).orElseThrow().getLikeCount());
+        assertEquals(1, likeCounterRepository.findById(2).orElseThrow().getLikeCount());
+    }
+
+    @Test
+    @Sql({"/sql/likes.sql", "/sql/likeCounters.sql"})
+    void flush_PendingDeltasExist_AppliesThemToCounters() {
+        likeCounters.liked(1);
+        likeCounters.liked(1);
+        likeCounters.unliked(2);
+        likeCounters.liked(3);
+
+        assertEquals(4, likeCounters.count(1));
+        assertEquals(0, likeCounters.count(2));
+
+        assertEquals(3, likeCounters.flush());
+
+        assertEquals(4, likeCounterRepository.findById(1).orElseThrow().getLikeCount());
+        assertEquals(0, likeCounterRepository.findById(2).orElseThrow().getLikeCount());
+        assertEquals(1, likeCounterRepository.findById(3).orElseThrow().getLikeCount());
+        assertEquals(4, likeCounters.count(1));
+        assertEquals(0, likeCounters.flush());
+        assertEquals(0, likeCounterDeltaRepository.count());
+    }
+}
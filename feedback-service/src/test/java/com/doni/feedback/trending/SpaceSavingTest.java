@@ -0,0 +1,38 @@
+package com.doni.feedback.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SpaceSavingTest {
+
+    @Test
+    void offer_BelowCapacity_CountsExactly() {
+        SpaceSaving spaceSaving = new SpaceSaving(3);
+        spaceSaving.offer(1, 1);
+        spaceSaving.offer(2, 5);
+        spaceSaving.offer(1, 2);
+
+        assertEquals(Map.of(2, 5L, 1, 3L), spaceSaving.top(10));
+        assertEquals(List.of(2, 1), List.copyOf(spaceSaving.top(10).keySet()));
+    }
+
+    @Test
+    void offer_AboveCapacity_ReplacesMinimumAndKeepsHeavyHitters() {
+        SpaceSaving spaceSaving = new SpaceSaving(2);
+        for (int i = 0; i < 10; i++) {
+            spaceSaving.offer(1, 1);
+        }
+        spaceSaving.offer(2, 1);
+        spaceSaving.offer(3, 1);
+        spaceSaving.offer(4, 1);
+
+        Map<Integer, Long> top = spaceSaving.top(2);
+        assertEquals(List.of(1, 4), List.copyOf(top.keySet()));
+        assertEquals(10L, top.get(1));
+        assertEquals(3L, top.get(4));
+    }
+}
@@ -0,0 +1,94 @@
+package com.doni.feedback.trending;
+
+import com.doni.feedback.dto.TrendingPublicationReadDto;
+import com.doni.feedback.repository.TrendingSnapshotEntryRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@Transactional
+@SpringBootTest
+@ActiveProfiles("test")
+class TrendingEngineIT {
+
+    @Autowired
+    TrendingSnapshotEntryRepository trendingSnapshotEntryRepository;
+
+    @Autowired
+    TransactionTemplate transactionTemplate;
+
+    Clock clock = Clock.fixed(Instant.parse("2024-03-01T10:07:00Z"), ZoneOffset.UTC);
+
+    TrendingEngine newEngine(String instanceId) {
+        return new TrendingEngine(new TrendingWindow(Duration.ofMinutes(5), 12, 100),
+                new TrendingWindow(Duration.ofMinutes(5), 12, 100), trendingSnapshotEntryRepository, transactionTemplate, clock, instanceId, Duration.ofHours(1), 10, 1, 3,
+                new SimpleMeterRegistry());
+    }
+
+    @Test
+    void snapshot_EngineRestartsWithNewInstanceId_RestoresTrending() {
+        TrendingEngine trendingEngine = newEngine("feedback-1");
+        CompletableFuture.runAsync(() -> {
+            trendingEngine.liked(1);
+            trendingEngine.liked(1);
+            trendingEngine.commented(2);
+        }).join();
+
+        assertEquals(2, trendingEngine.snapshot(200));
+
+        TrendingEngine restarted = newEngine("feedback-2");
+        restarted.restore();
+
+        assertEquals(List.of(new TrendingPublicationReadDto(2, 3L), new TrendingPublicationReadDto(1, 2L)),
+                restarted.trending(10));
+    }
+
+    @Test
+    void snapshot_SeveralInstances_RestoresAllInstancesWithoutSnapshottingThemAgain() {
+        TrendingEngine first = newEngine("feedback-1");
+        TrendingEngine second = newEngine("feedback-2");
+        CompletableFuture.runAsync(() -> {
+            first.liked(1);
+            second.commented(2);
+        }).join();
+
+        assertEquals(1, first.snapshot(200));
+        assertEquals(1, second.snapshot(200));
+        assertEquals(1, first.snapshot(200));
+
+        TrendingEngine restarted = newEngine("feedback-3");
+        restarted.restore();
+
+        assertEquals(2, trendingSnapshotEntryRepository.count());
+        assertEquals(List.of(new TrendingPublicationReadDto(2, 3L), new TrendingPublicationReadDto(1, 1L)),
+                restarted.trending(10));
+        assertEquals(0, restarted.snapshot(200));
+        assertEquals(2, trendingSnapshotEntryRepository.count());
+    }
+
+    @Test
+    void snapshot_EngineRestartsWithSameInstanceId_KeepsRestoredEntries() {
+        TrendingEngine trendingEngine = newEngine("feedback-1");
+        CompletableFuture.runAsync(() -> trendingEngine.liked(1)).join();
+        trendingEngine.snapshot(200);
+
+        TrendingEngine restarted = newEngine("feedback-1");
+        restarted.restore();
+        CompletableFuture.runAsync(() -> restarted.liked(2)).join();
+
+        assertEquals(2, restarted.snapshot(200));
+    }
+}
@@ -0,0 +1,56 @@
+package com.doni.feedback.trending;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TrendingWindowTest {
+
+    Instant start = Instant.parse("2024-03-01T10:00:00Z");
+
+    TrendingWindow trendingWindow = new TrendingWindow(Duration.ofMinutes(5), 3, 100);
+
+    @Test
+    void scores_EventsInsideWindow_AreSummedAcrossBuckets() {
+        trendingWindow.record(1, 1, start);
+        trendingWindow.record(1, 1, start.plus(Duration.ofMinutes(5)));
+        trendingWindow.record(2, 3, start.plus(Duration.ofMinutes(10)));
+
+        assertEquals(Map.of(1, 2L, 2, 3L), trendingWindow.scores(start.plus(Duration.ofMinutes(10))));
+    }
+
+    @Test
+    void scores_BucketsSlideOutOfWindow_AreDropped() {
+        trendingWindow.record(1, 1, start);
+        trendingWindow.record(2, 1, start.plus(Duration.ofMinutes(10)));
+
+        assertEquals(Map.of(2, 1L), trendingWindow.scores(start.plus(Duration.ofMinutes(15))));
+        assertTrue(trendingWindow.scores(start.plus(Duration.ofMinutes(30))).isEmpty());
+    }
+
+    @Test
+    void record_SlotReusedByNewerBucket_StartsFromZero() {
+        trendingWindow.record(1, 5, start);
+        trendingWindow.record(1, 1, start.plus(Duration.ofMinutes(15)));
+
+        assertEquals(Map.of(1, 1L), trendingWindow.scores(start.plus(Duration.ofMinutes(15))));
+    }
+
+    @Test
+    void restore_EntriesFromSnapshot_RebuildsScores() {
+        trendingWindow.record(1, 2, start);
+        trendingWindow.record(2, 4, start.plus(Duration.ofMinutes(5)));
+        List<TrendingWindow.BucketEntry> entries = trendingWindow.entries(start.plus(Duration.ofMinutes(5)), 10);
+
+        TrendingWindow restored = new TrendingWindow(Duration.ofMinutes(5), 3, 100);
+        restored.restore(entries, start.plus(Duration.ofMinutes(5)));
+
+        assertEquals(Map.of(1, 2L, 2, 4L), restored.scores(start.plus(Duration.ofMinutes(5))));
+    }
+}
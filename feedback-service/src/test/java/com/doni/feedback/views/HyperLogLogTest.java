@@ -0,0 +1,140 @@
+package com.doni.feedback.views;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class HyperLogLogTest {
+
+    @Test
+    void estimate_DistinctValues_WithinExpectedError() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int i = 0; i < 10_000; i++) {
+            sketch.offer("user-" + i);
+        }
+
+        assertTrue(Math.abs(sketch.estimate() - 10_000) < 500, () -> "estimate " + sketch.estimate());
+    }
+
+    @Test
+    void estimate_SmallCardinality_IsExact() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        sketch.offer("a.smith");
+        sketch.offer("b.jones");
+        sketch.offer("c.brown");
+
+        assertEquals(3, sketch.estimate());
+    }
+
+    @Test
+    void offer_DuplicateValues_DoNotGrowEstimate() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int i = 0; i < 1_000; i++) {
+            sketch.offer("user-" + i);
+        }
+        long estimate = sketch.estimate();
+        for (int i = 0; i < 1_000; i++) {
+            sketch.offer("user-" + i);
+        }
+
+        assertEquals(estimate, sketch.estimate());
+    }
+
+    @Test
+    void merge_OverlappingSketches_EstimatesUnion() {
+        HyperLogLog left = new HyperLogLog(12);
+        HyperLogLog right = new HyperLogLog(12);
+        for (int i = 0; i < 6_000; i++) {
+            left.offer("user-" + i);
+        }
+        for (int i = 4_000; i < 10_000; i++) {
+            right.offer("user-" + i);
+        }
+
+        long estimate = left.merge(right).estimate();
+
+        assertTrue(Math.abs(estimate - 10_000) < 500, () -> "estimate " + estimate);
+    }
+
+    @Test
+    void merge_DifferentPrecision_FoldsToLowerPrecision() {
+        HyperLogLog left = new HyperLogLog(12);
+        HyperLogLog right = new HyperLogLog(10);
+        for (int i = 0; i < 6_000; i++) {
+            left.offer("user-" + i);
+        }
+        for (int i = 4_000; i < 10_000; i++) {
+            right.offer("user-" + i);
+        }
+
+        long estimate = left.merge(right).estimate();
+
+        assertEquals(10, left.precision());
+        assertTrue(Math.abs(estimate - 10_000) < 1_000, () -> "estimate " + estimate);
+    }
+
+    @Test
+    void merge_HigherPrecisionIntoLower_FoldsOtherSketch() {
+        HyperLogLog sketch = new HyperLogLog(10);
+        HyperLogLog wider = new HyperLogLog(14);
+        for (int i = 0; i < 10_000; i++) {
+            wider.offer("user-" + i);
+        }
+
+        long estimate = sketch.merge(wider).estimate();
+
+        assertEquals(10, sketch.precision());
+        assertEquals(14, wider.precision());
+        assertTrue(Math.abs(estimate - 10_000) < 1_000, () -> "estimate " + estimate);
+    }
+
+    @Test
+    void toBytes_SmallCardinality_UsesSparseEncoding() {
+        HyperLogLog sketch = new HyperLogLog(12);
+        for (int i = 0; i < 10; i++) {
+            sketch.offer("user-" + i);
+        }
+
+        byte[] bytes = sketch.toBytes();
+        HyperLogLog restored = HyperLogLog.fromBytes(bytes);
+
+        assertTrue(bytes.length < 64, () -> "length " + bytes.length);
+        assertEquals(10, restored.estimate());
+        assertEquals(sketch.estimate(), restored.merge(new HyperLogLog(12).merge(sketch)).estimate());
+    }
+
+    @Test
+    void offer_CardinalityOutgrowsSparseEncoding_MatchesDenseSketch() {
+        HyperLogLog sketch = new HyperLogLog(10);
+        HyperLogLog dense = HyperLogLog.fromBytes(new byte[1 << 10]);
+        for (int i = 0; i < 2_000; i++) {
+            sketch.offer("user-" + i);
+            dense.offer("user-" + i);
+            assertEquals(dense.estimate(), sketch.estimate());
+        }
+
+        assertArrayEquals(dense.toBytes(), sketch.toBytes());
+    }
+
+    @Test
+    void fromBytes_InvalidSparseSketch_ThrowsException() {
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{-1, 12, 0}));
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[]{-1, 20}));
+    }
+
+    @Test
+    void fromBytes_SerializedSketch_RestoresRegisters() {
+        HyperLogLog sketch = new HyperLogLog(10);
+        for (int i = 0; i < 500; i++) {
+            sketch.offer("user-" + i);
+        }
+
+        HyperLogLog restored = HyperLogLog.fromBytes(sketch.toBytes());
+
+        assertArrayEquals(sketch.toBytes(), restored.toBytes());
+        assertEquals(sketch.estimate(), restored.estimate());
+    }
+}
@@ -0,0 +1,3 @@
+insert into t_like_counter(publication_id, like_count)
+values (1, 2),
+       (2, 1);
@@ -0,0 +1,140 @@
+package com.doni.message.activity;
+
+import com.doni.message.client.ConversationActivityClient;
+import com.doni.message.dto.ChatMessageReadDto;
+import com.doni.message.dto.GroupMessageReadDto;
+import com.doni.message.entity.ConversationActivity;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Slf4j
+public class ConversationActivityPublisher {
+    private static final int PREVIEW_LENGTH = 100;
+
+    private final ConcurrentMap<Integer, ConversationActivity> pendingChats = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, ConversationActivity> pendingGroups = new ConcurrentHashMap<>();
+    private final AtomicInteger pendingSize = new AtomicInteger();
+    private final ConversationActivityClient conversationActivityClient;
+    private final int maxPending;
+    private final int batchSize;
+    private final Counter published;
+    private final Counter failed;
+    private final Counter dropped;
+
+    public ConversationActivityPublisher(ConversationActivityClient conversationActivityClient, int maxPending,
+                                         int batchSize, MeterRegistry meterRegistry) {
+        this.conversationActivityClient = conversationActivityClient;
+        this.maxPending = maxPending;
+        this.batchSize = batchSize;
+        Gauge.builder("vk.messages.activity.pending", pendingSize, AtomicInteger::get)
+                .register(meterRegistry);
+        this.published = meterRegistry.counter("vk.messages.activity.published");
+        this.failed = meterRegistry.counter("vk.messages.activity.failed");
+        this.dropped = meterRegistry.counter("vk.messages.activity.dropped");
+    }
+
+    public void chatMessagesCreated(Collection<ChatMessageReadDto> messages) {
+        publish(pendingChats, messages.stream()
+                .map(message -> new ConversationActivity(message.chatId(), message.id(), message.authorId(),
+                        preview(message.text())))
+                .toList());
+    }
+
+    public void groupMessagesCreated(Collection<GroupMessageReadDto> messages) {
+        publish(pendingGroups, messages.stream()
+                .map(message -> new ConversationActivity(message.groupId(), message.id(), message.authorId(),
+                        preview(message.text())))
+                .toList());
+    }
+
+    private void publish(ConcurrentMap<Integer, ConversationActivity> pending, List<ConversationActivity> activities) {
+        if (activities.isEmpty()) {
+            return;
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    activities.forEach(activity -> enqueue(pending, activity));
+                }
+            });
+        } else {
+            activities.forEach(activity -> enqueue(pending, activity));
+        }
+    }
+
+    private void enqueue(ConcurrentMap<Integer, ConversationActivity> pending, ConversationActivity activity) {
+        if (!pending.containsKey(activity.id()) && pendingSize.get() >= maxPending) {
+            dropped.increment();
+            return;
+        }
+        pending.compute(activity.id(), (id, current) -> {
+            if (current == null) {
+                pendingSize.incrementAndGet();
+                return activity;
+            }
+            return current.messageId() >= activity.messageId() ? current : activity;
+        });
+    }
+
+    public synchronized int flush() {
+        int sent = 0;
+        while (true) {
+            List<ConversationActivity> chats = drain(pendingChats);
+            List<ConversationActivity> groups = drain(pendingGroups);
+            if (chats.isEmpty() && groups.isEmpty()) {
+                break;
+            }
+            try {
+                conversationActivityClient.recordActivity(chats, groups);
+            } catch (RuntimeException exception) {
+                chats.forEach(activity -> enqueue(pendingChats, activity));
+                groups.forEach(activity -> enqueue(pendingGroups, activity));
+                failed.increment();
+                log.warn("Failed to record activity of {} chats and {} groups, retrying on the next flush",
+                        chats.size(), groups.size(), exception);
+                break;
+            }
+            sent += chats.size() + groups.size();
+            if (chats.size() < batchSize && groups.size() < batchSize) {
+                break;
+            }
+        }
+        published.increment(sent);
+        return sent;
+    }
+
+    private List<ConversationActivity> drain(ConcurrentMap<Integer, ConversationActivity> pending) {
+        List<ConversationActivity> activities = new ArrayList<>();
+        Iterator<Map.Entry<Integer, ConversationActivity>> iterator = pending.entrySet().iterator();
+        while (activities.size() < batchSize && iterator.hasNext()) {
+            Map.Entry<Integer, ConversationActivity> entry = iterator.next();
+            if (pending.remove(entry.getKey(), entry.getValue())) {
+                pendingSize.decrementAndGet();
+                activities.add(entry.getValue());
+            }
+        }
+        return activities;
+    }
+
+    private static String preview(String text) {
+        if (text.length() <= PREVIEW_LENGTH) {
+            return text;
+        }
+        int end = Character.isHighSurrogate(text.charAt(PREVIEW_LENGTH - 1)) ? PREVIEW_LENGTH - 1 : PREVIEW_LENGTH;
+        return text.substring(0, end);
+    }
+}
@@ -0,0 +1,38 @@
+package com.doni.message.client;
+
+import com.doni.message.entity.Chat;
+import com.doni.message.entity.Membership;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class CachingChatClient implements ChatClient {
+    private final ChatClient delegate;
+    private final MembershipVerdictCache<Chat> membershipVerdictCache;
+
+    @Override
+    public Optional<Chat> findChat(Integer chatId) {
+        return membershipVerdictCache.find(chatId, () -> delegate.findChat(chatId));
+    }
+
+    @Override
+    public List<Chat> findChats() {
+        return delegate.findChats();
+    }
+
+    @Override
+    public List<Membership> checkChatMemberships(Collection<Integer> chatIds, String userId) {
+        return delegate.checkChatMemberships(chatIds, userId);
+    }
+
+    public void evictChatMember(Integer chatId, String userId) {
+        membershipVerdictCache.evict(chatId, userId);
+    }
+
+    public void evictChat(Integer chatId) {
+        membershipVerdictCache.evictAll(chatId);
+    }
+}
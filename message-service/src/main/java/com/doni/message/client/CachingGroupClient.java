@@ -0,0 +1,38 @@
+package com.doni.message.client;
+
+import com.doni.message.entity.Group;
+import com.doni.message.entity.Membership;
+import lombok.RequiredArgsConstructor;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@RequiredArgsConstructor
+public class CachingGroupClient implements GroupClient {
+    private final GroupClient delegate;
+    private final MembershipVerdictCache<Group> membershipVerdictCache;
+
+    @Override
+    public Optional<Group> findGroup(Integer groupId) {
+        return membershipVerdictCache.find(groupId, () -> delegate.findGroup(groupId));
+    }
+
+    @Override
+    public List<Group> findGroups() {
+        return delegate.findGroups();
+    }
+
+    @Override
+    public List<Membership> checkGroupMemberships(Collection<Integer> groupIds, String userId) {
+        return delegate.checkGroupMemberships(groupIds, userId);
+    }
+
+    public void evictGroupMember(Integer groupId, String userId) {
+        membershipVerdictCache.evict(groupId, userId);
+    }
+
+    public void evictGroup(Integer groupId) {
+        membershipVerdictCache.evictAll(groupId);
+    }
+}
@@ -1,9 +1,16 @@
 package com.doni.message.client;
 
 import com.doni.message.entity.Chat;
+import com.doni.message.entity.Membership;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface ChatClient {
     Optional<Chat> findChat(Integer chatId);
+
+    List<Chat> findChats();
+
+    List<Membership> checkChatMemberships(Collection<Integer> chatIds, String userId);
 }
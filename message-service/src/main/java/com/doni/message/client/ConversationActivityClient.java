@@ -0,0 +1,9 @@
+package com.doni.message.client;
+
+import com.doni.message.entity.ConversationActivity;
+
+import java.util.List;
+
+public interface ConversationActivityClient {
+    void recordActivity(List<ConversationActivity> chats, List<ConversationActivity> groups);
+}
@@ -1,9 +1,16 @@
 package com.doni.message.client;
 
 import com.doni.message.entity.Group;
+import com.doni.message.entity.Membership;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 public interface GroupClient {
     Optional<Group> findGroup(Integer groupId);
+
+    List<Group> findGroups();
+
+    List<Membership> checkGroupMemberships(Collection<Integer> groupIds, String userId);
 }
@@ -0,0 +1,22 @@
+package com.doni.message.client;
+
+public record MembershipVerdict<T>(
+        Status status,
+        T value) {
+
+    public enum Status {
+        ALLOWED, DENIED, NOT_FOUND
+    }
+
+    public static <T> MembershipVerdict<T> allowed(T value) {
+        return new MembershipVerdict<>(Status.ALLOWED, value);
+    }
+
+    public static <T> MembershipVerdict<T> denied() {
+        return new MembershipVerdict<>(Status.DENIED, null);
+    }
+
+    public static <T> MembershipVerdict<T> notFound() {
+        return new MembershipVerdict<>(Status.NOT_FOUND, null);
+    }
+}
@@ -0,0 +1,83 @@
+package com.doni.message.client;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.function.Supplier;
+
+public class MembershipVerdictCache<T> {
+    private final Cache<Key, MembershipVerdict<T>> cache;
+
+    public MembershipVerdictCache(String name, long maximumSize, Duration allowedTtl, Duration negativeTtl,
+                                  MeterRegistry meterRegistry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfter(new VerdictExpiry<T>(allowedTtl.toNanos(), negativeTtl.toNanos()))
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, name);
+    }
+
+    public Optional<T> find(Integer targetId, Supplier<Optional<T>> loader) {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null) {
+            return loader.get();
+        }
+        MembershipVerdict<T> verdict = cache.get(new Key(targetId, authentication.getName()), key -> load(loader));
+        return switch (verdict.status()) {
+            case ALLOWED -> Optional.of(verdict.value());
+            case NOT_FOUND -> Optional.empty();
+            case DENIED -> throw HttpClientErrorException.create(HttpStatus.BAD_REQUEST,
+                    HttpStatus.BAD_REQUEST.getReasonPhrase(), null, null, null);
+        };
+    }
+
+    public void evict(Integer targetId, String userId) {
+        cache.invalidate(new Key(targetId, userId));
+    }
+
+    public void evictAll(Integer targetId) {
+        cache.asMap().keySet().removeIf(key -> key.targetId().equals(targetId));
+    }
+
+    private MembershipVerdict<T> load(Supplier<Optional<T>> loader) {
+        try {
+            return loader.get()
+                    .map(MembershipVerdict::allowed)
+                    .orElseGet(MembershipVerdict::notFound);
+        } catch (HttpClientErrorException.BadRequest exception) {
+            return MembershipVerdict.denied();
+        }
+    }
+
+    private record Key(Integer targetId, String userId) {
+    }
+
+    private record VerdictExpiry<T>(long allowedTtlNanos, long negativeTtlNanos)
+            implements Expiry<Key, MembershipVerdict<T>> {
+
+        @Override
+        public long expireAfterCreate(Key key, MembershipVerdict<T> verdict, long currentTime) {
+            return verdict.status() == MembershipVerdict.Status.ALLOWED ? allowedTtlNanos : negativeTtlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(Key key, MembershipVerdict<T> verdict, long currentTime, long currentDuration) {
+            return expireAfterCreate(key, verdict, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(Key key, MembershipVerdict<T> verdict, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
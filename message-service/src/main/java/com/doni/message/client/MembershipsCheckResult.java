@@ -0,0 +1,10 @@
+package com.doni.message.client;
+
+import com.doni.message.entity.Membership;
+
+import java.util.List;
+
+record MembershipsCheckResult(
+        List<Membership> chats,
+        List<Membership> groups) {
+}
@@ -1,11 +1,16 @@
 package com.doni.message.client;
 
 import com.doni.message.entity.Chat;
+import com.doni.message.entity.Membership;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RequiredArgsConstructor
@@ -15,6 +20,9 @@ public class RestClientChatClient implements ChatClient {
     private static final ParameterizedTypeReference<Optional<Chat>> CHAT_TYPE_REFERENCE = new ParameterizedTypeReference<>() {
     };
 
+    private static final ParameterizedTypeReference<List<Chat>> CHATS_TYPE_REFERENCE = new ParameterizedTypeReference<>() {
+    };
+
     @Override
     public Optional<Chat> findChat(Integer chatId) {
         try {
@@ -26,4 +34,26 @@ public class RestClientChatClient implements ChatClient {
             return Optional.empty();
         }
     }
+
+    @Override
+    public List<Chat> findChats() {
+        return restClient.get()
+                .uri("/messenger-api/chats")
+                .retrieve()
+                .body(CHATS_TYPE_REFERENCE);
+    }
+
+    @Override
+    public List<Membership> checkChatMemberships(Collection<Integer> chatIds, String userId) {
+        List<Map<String, Object>> queries = chatIds.stream()
+                .<Map<String, Object>>map(id -> Map.of("id", id, "userId", userId))
+                .toList();
+        MembershipsCheckResult result = restClient.post()
+                .uri("/messenger-api/memberships/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("chats", queries))
+                .retrieve()
+                .body(MembershipsCheckResult.class);
+        return result == null || result.chats() == null ? List.of() : result.chats();
+    }
 }
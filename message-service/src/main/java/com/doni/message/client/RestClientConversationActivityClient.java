@@ -0,0 +1,24 @@
+package com.doni.message.client;
+
+import com.doni.message.entity.ConversationActivity;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+import java.util.Map;
+
+@RequiredArgsConstructor
+public class RestClientConversationActivityClient implements ConversationActivityClient {
+    private final RestClient restClient;
+
+    @Override
+    public void recordActivity(List<ConversationActivity> chats, List<ConversationActivity> groups) {
+        restClient.post()
+                .uri("/messenger-api/activity")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("chats", chats, "groups", groups))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
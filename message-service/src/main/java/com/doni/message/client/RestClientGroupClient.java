@@ -1,12 +1,17 @@
 package com.doni.message.client;
 
 import com.doni.message.entity.Group;
+import com.doni.message.entity.Membership;
 import com.doni.message.exception.UserIsNotGroupParticipantException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.MediaType;
 import org.springframework.web.client.HttpClientErrorException;
 import org.springframework.web.client.RestClient;
 
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 @RequiredArgsConstructor
@@ -15,6 +20,9 @@ public class RestClientGroupClient implements GroupClient {
     private static final ParameterizedTypeReference<Optional<Group>> GROUP_TYPE_REFERENCE = new ParameterizedTypeReference<>() {
     };
 
+    private static final ParameterizedTypeReference<List<Group>> GROUPS_TYPE_REFERENCE = new ParameterizedTypeReference<>() {
+    };
+
     @Override
     public Optional<Group> findGroup(Integer groupId) {
         try {
@@ -26,4 +34,26 @@ public class RestClientGroupClient implements GroupClient {
             return Optional.empty();
         }
     }
+
+    @Override
+    public List<Group> findGroups() {
+        return restClient.get()
+                .uri("/messenger-api/groups")
+                .retrieve()
+                .body(GROUPS_TYPE_REFERENCE);
+    }
+
+    @Override
+    public List<Membership> checkGroupMemberships(Collection<Integer> groupIds, String userId) {
+        List<Map<String, Object>> queries = groupIds.stream()
+                .<Map<String, Object>>map(id -> Map.of("id", id, "userId", userId))
+                .toList();
+        MembershipsCheckResult result = restClient.post()
+                .uri("/messenger-api/memberships/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(Map.of("groups", queries))
+                .retrieve()
+                .body(MembershipsCheckResult.class);
+        return result == null || result.groups() == null ? List.of() : result.groups();
+    }
 }
@@ -0,0 +1,41 @@
+package com.doni.message.config;
+
+import com.doni.message.activity.ConversationActivityPublisher;
+import com.doni.message.client.ConversationActivityClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+public class ActivityBeans {
+
+    @Bean
+    public ConversationActivityPublisher conversationActivityPublisher(
+            ConversationActivityClient conversationActivityClient,
+            MeterRegistry meterRegistry,
+            @Value("${vk.messages.activity.max-pending:100000}") int maxPending,
+            @Value("${vk.messages.activity.batch-size:1000}") int batchSize) {
+        return new ConversationActivityPublisher(conversationActivityClient, maxPending, batchSize, meterRegistry);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "vk.messages.activity.enabled", havingValue = "true", matchIfMissing = true)
+    public static class ActivitySchedulingBeans {
+
+        private final ConversationActivityPublisher conversationActivityPublisher;
+
+        public ActivitySchedulingBeans(ConversationActivityPublisher conversationActivityPublisher) {
+            this.conversationActivityPublisher = conversationActivityPublisher;
+        }
+
+        @Scheduled(fixedDelayString = "${vk.messages.activity.fixed-delay:PT1S}")
+        public void flush() {
+            conversationActivityPublisher.flush();
+        }
+    }
+}
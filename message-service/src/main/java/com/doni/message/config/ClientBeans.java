@@ -1,10 +1,16 @@
 package com.doni.message.config;
 
 import com.doni.message.client.RestClientChatClient;
+import com.doni.message.client.RestClientConversationActivityClient;
 import com.doni.message.client.RestClientGroupClient;
+import com.doni.message.security.ClientCredentialsHttpRequestInterceptor;
 import com.doni.message.security.OAuthClientHttpRequestInterceptor;
 import de.codecentric.boot.admin.client.registration.BlockingRegistrationClient;
 import de.codecentric.boot.admin.client.registration.RegistrationClient;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
@@ -13,6 +19,8 @@ import org.springframework.cloud.client.loadbalancer.LoadBalancerInterceptor;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpHeaders;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.security.oauth2.client.*;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.oauth2.client.web.DefaultOAuth2AuthorizedClientManager;
@@ -29,21 +37,37 @@ public class ClientBeans {
 
         @Bean
         public RestClientGroupClient restClientGroupClient(
-                @Value("${vk.services.messenger.url}") String baseUrl) {
+                @Value("${vk.services.messenger.url}") String baseUrl,
+                ClientHttpRequestFactory messengerClientHttpRequestFactory) {
             return new RestClientGroupClient(RestClient.builder()
                     .baseUrl(baseUrl)
+                    .requestFactory(messengerClientHttpRequestFactory)
                     .requestInterceptor(new OAuthClientHttpRequestInterceptor())
                     .build());
         }
 
         @Bean
         public RestClientChatClient restClientChatClient(
-                @Value("${vk.services.messenger.url}") String baseUrl) {
+                @Value("${vk.services.messenger.url}") String baseUrl,
+                ClientHttpRequestFactory messengerClientHttpRequestFactory) {
             return new RestClientChatClient(RestClient.builder()
                     .baseUrl(baseUrl)
+                    .requestFactory(messengerClientHttpRequestFactory)
                     .requestInterceptor(new OAuthClientHttpRequestInterceptor())
                     .build());
         }
+
+        @Bean
+        public RestClientConversationActivityClient restClientConversationActivityClient(
+                @Value("${vk.services.messenger.url}") String baseUrl,
+                ClientHttpRequestFactory messengerClientHttpRequestFactory,
+                ClientCredentialsHttpRequestInterceptor conversationActivityClientCredentialsInterceptor) {
+            return new RestClientConversationActivityClient(RestClient.builder()
+                    .baseUrl(baseUrl)
+                    .requestFactory(messengerClientHttpRequestFactory)
+                    .requestInterceptor(conversationActivityClientCredentialsInterceptor)
+                    .build());
+        }
     }
 
     @Configuration
@@ -53,10 +77,12 @@ public class ClientBeans {
         @Bean
         public RestClientGroupClient restClientMessengerClient(
                 @Value("${vk.services.messenger.url}") String baseUrl,
-                LoadBalancerClient loadBalancerClient) {
+                LoadBalancerClient loadBalancerClient,
+                ClientHttpRequestFactory messengerClientHttpRequestFactory) {
 
             return new RestClientGroupClient(RestClient.builder()
                     .baseUrl(baseUrl)
+                    .requestFactory(messengerClientHttpRequestFactory)
                     .requestInterceptor(new LoadBalancerInterceptor(loadBalancerClient))
                     .requestInterceptor(new OAuthClientHttpRequestInterceptor())
                     .build());
@@ -65,13 +91,59 @@ public class ClientBeans {
         @Bean
         public RestClientChatClient restClientChatClient(
                 @Value("${vk.services.messenger.url}") String baseUrl,
-                LoadBalancerClient loadBalancerClient) {
+                LoadBalancerClient loadBalancerClient,
+                ClientHttpRequestFactory messengerClientHttpRequestFactory) {
             return new RestClientChatClient(RestClient.builder()
                     .baseUrl(baseUrl)
+                    .requestFactory(messengerClientHttpRequestFactory)
                     .requestInterceptor(new LoadBalancerInterceptor(loadBalancerClient))
                     .requestInterceptor(new OAuthClientHttpRequestInterceptor())
                     .build());
         }
+
+        @Bean
+        public RestClientConversationActivityClient restClientConversationActivityClient(
+                @Value("${vk.services.messenger.url}") String baseUrl,
+                LoadBalancerClient loadBalancerClient,
+                ClientHttpRequestFactory messengerClientHttpRequestFactory,
+                ClientCredentialsHttpRequestInterceptor conversationActivityClientCredentialsInterceptor) {
+            return new RestClientConversationActivityClient(RestClient.builder()
+                    .baseUrl(baseUrl)
+                    .requestFactory(messengerClientHttpRequestFactory)
+                    .requestInterceptor(new LoadBalancerInterceptor(loadBalancerClient))
+                    .requestInterceptor(conversationActivityClientCredentialsInterceptor)
+                    .build());
+        }
+    }
+
+    @Bean
+    public ClientCredentialsHttpRequestInterceptor conversationActivityClientCredentialsInterceptor(
+            ClientRegistrationRepository clientRegistrationRepository,
+            OAuth2AuthorizedClientService authorizedClientService,
+            @Value("${vk.services.messenger.activity.registration-id:conversation-activity}") String registrationId,
+            @Value("${vk.services.messenger.activity.principal:message-service-conversation-activity-client}") String principal) {
+        if (clientRegistrationRepository.findByRegistrationId(registrationId) == null) {
+            throw new IllegalStateException("Client registration %s for conversation activity is not configured"
+                    .formatted(registrationId));
+        }
+        return new ClientCredentialsHttpRequestInterceptor(
+                new AuthorizedClientServiceOAuth2AuthorizedClientManager(
+                        clientRegistrationRepository, authorizedClientService),
+                registrationId, principal);
+    }
+
+    @Bean
+    public ClientHttpRequestFactory messengerClientHttpRequestFactory(
+            @Value("${vk.services.messenger.max-connections:200}") int maxConnections) {
+        return new HttpComponentsClientHttpRequestFactory(HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setMaxConnTotal(maxConnections)
+                        .setMaxConnPerRoute(maxConnections)
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setValidateAfterInactivity(TimeValue.ofMilliseconds(100))
+                                .build())
+                        .build())
+                .build());
     }
 
     @Bean
@@ -0,0 +1,48 @@
+package com.doni.message.config;
+
+import com.doni.message.entity.ChatMessage;
+import com.doni.message.entity.GroupMessage;
+import com.doni.message.ingestion.GroupCommitWriter;
+import com.doni.message.repository.ChatMessageRepository;
+import com.doni.message.repository.GroupMessageRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "vk.messages.group-commit.enabled", havingValue = "true")
+public class GroupCommitBeans {
+
+    @Bean
+    public GroupCommitWriter<ChatMessage> chatMessageGroupCommitWriter(
+            ChatMessageRepository chatMessageRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${vk.messages.group-commit.batch-size:100}") int batchSize,
+            @Value("${vk.messages.group-commit.linger:PT0.005S}") Duration linger,
+            @Value("${vk.messages.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${vk.messages.group-commit.offer-timeout:PT1S}") Duration offerTimeout,
+            @Value("${vk.messages.group-commit.commit-timeout:PT10S}") Duration commitTimeout) {
+        return new GroupCommitWriter<>("chat", chatMessageRepository::saveAll, transactionTemplate,
+                batchSize, linger, queueCapacity, offerTimeout, commitTimeout, meterRegistry);
+    }
+
+    @Bean
+    public GroupCommitWriter<GroupMessage> groupMessageGroupCommitWriter(
+            GroupMessageRepository groupMessageRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${vk.messages.group-commit.batch-size:100}") int batchSize,
+            @Value("${vk.messages.group-commit.linger:PT0.005S}") Duration linger,
+            @Value("${vk.messages.group-commit.queue-capacity:10000}") int queueCapacity,
+            @Value("${vk.messages.group-commit.offer-timeout:PT1S}") Duration offerTimeout,
+            @Value("${vk.messages.group-commit.commit-timeout:PT10S}") Duration commitTimeout) {
+        return new GroupCommitWriter<>("group", groupMessageRepository::saveAll, transactionTemplate,
+                batchSize, linger, queueCapacity, offerTimeout, commitTimeout, meterRegistry);
+    }
+}
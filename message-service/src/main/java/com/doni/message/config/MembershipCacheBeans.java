@@ -0,0 +1,44 @@
+package com.doni.message.config;
+
+import com.doni.message.client.CachingChatClient;
+import com.doni.message.client.CachingGroupClient;
+import com.doni.message.client.MembershipVerdictCache;
+import com.doni.message.client.RestClientChatClient;
+import com.doni.message.client.RestClientGroupClient;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+import java.time.Duration;
+
+@Configuration
+@ConditionalOnProperty(name = "vk.services.messenger.membership-cache.enabled", havingValue = "true", matchIfMissing = true)
+public class MembershipCacheBeans {
+
+    @Bean
+    @Primary
+    public CachingChatClient cachingChatClient(
+            RestClientChatClient restClientChatClient,
+            MeterRegistry meterRegistry,
+            @Value("${vk.services.messenger.membership-cache.maximum-size:100000}") long maximumSize,
+            @Value("${vk.services.messenger.membership-cache.allowed-ttl:PT5M}") Duration allowedTtl,
+            @Value("${vk.services.messenger.membership-cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        return new CachingChatClient(restClientChatClient, new MembershipVerdictCache<>(
+                "messenger.chat-membership", maximumSize, allowedTtl, negativeTtl, meterRegistry));
+    }
+
+    @Bean
+    @Primary
+    public CachingGroupClient cachingGroupClient(
+            RestClientGroupClient restClientGroupClient,
+            MeterRegistry meterRegistry,
+            @Value("${vk.services.messenger.membership-cache.maximum-size:100000}") long maximumSize,
+            @Value("${vk.services.messenger.membership-cache.allowed-ttl:PT5M}") Duration allowedTtl,
+            @Value("${vk.services.messenger.membership-cache.negative-ttl:PT30S}") Duration negativeTtl) {
+        return new CachingGroupClient(restClientGroupClient, new MembershipVerdictCache<>(
+                "messenger.group-membership", maximumSize, allowedTtl, negativeTtl, meterRegistry));
+    }
+}
@@ -0,0 +1,57 @@
+package com.doni.message.config;
+
+import com.doni.message.entity.ChatMessage;
+import com.doni.message.entity.GroupMessage;
+import com.doni.message.purge.MessagePurgeJob;
+import com.doni.message.repository.ChatMessageRepository;
+import com.doni.message.repository.ChatReadCursorRepository;
+import com.doni.message.repository.GroupMessageRepository;
+import com.doni.message.repository.GroupReadCursorRepository;
+import com.doni.message.repository.MessagePurgeTaskRepository;
+import com.doni.message.search.MessageSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+public class PurgeBeans {
+
+    @Bean
+    public MessagePurgeJob messagePurgeJob(
+            MessagePurgeTaskRepository messagePurgeTaskRepository,
+            ChatMessageRepository chatMessageRepository,
+            GroupMessageRepository groupMessageRepository,
+            ChatReadCursorRepository chatReadCursorRepository,
+            GroupReadCursorRepository groupReadCursorRepository,
+            MessageSearchIndex<ChatMessage> chatMessageSearchIndex,
+            MessageSearchIndex<GroupMessage> groupMessageSearchIndex,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${vk.messages.purge.batch-size:500}") int batchSize) {
+        return new MessagePurgeJob(messagePurgeTaskRepository, chatMessageRepository, groupMessageRepository,
+                chatReadCursorRepository, groupReadCursorRepository, chatMessageSearchIndex, groupMessageSearchIndex,
+                transactionTemplate, batchSize, meterRegistry);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "vk.messages.purge.enabled", havingValue = "true", matchIfMissing = true)
+    public static class PurgeSchedulingBeans {
+
+        private final MessagePurgeJob messagePurgeJob;
+
+        public PurgeSchedulingBeans(MessagePurgeJob messagePurgeJob) {
+            this.messagePurgeJob = messagePurgeJob;
+        }
+
+        @Scheduled(fixedDelayString = "${vk.messages.purge.fixed-delay:PT1S}")
+        public void purge() {
+            messagePurgeJob.purge();
+        }
+    }
+}
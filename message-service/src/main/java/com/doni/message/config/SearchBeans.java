@@ -0,0 +1,49 @@
+package com.doni.message.config;
+
+import com.doni.message.entity.ChatMessage;
+import com.doni.message.entity.GroupMessage;
+import com.doni.message.repository.ChatMessageRepository;
+import com.doni.message.repository.GroupMessageRepository;
+import com.doni.message.search.InMemoryMessageSearchIndex;
+import com.doni.message.search.MessageSearchIndex;
+import com.doni.message.search.PostgresMessageSearchIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+@Configuration
+public class SearchBeans {
+
+    @Configuration
+    @ConditionalOnProperty(name = "vk.messages.search.engine", havingValue = "postgres", matchIfMissing = true)
+    public static class PostgresSearchBeans {
+
+        @Bean
+        public MessageSearchIndex<ChatMessage> chatMessageSearchIndex(NamedParameterJdbcTemplate jdbcTemplate) {
+            return new PostgresMessageSearchIndex<>(jdbcTemplate, "chat_message", "chat_id");
+        }
+
+        @Bean
+        public MessageSearchIndex<GroupMessage> groupMessageSearchIndex(NamedParameterJdbcTemplate jdbcTemplate) {
+            return new PostgresMessageSearchIndex<>(jdbcTemplate, "group_message", "group_id");
+        }
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = "vk.messages.search.engine", havingValue = "in-memory")
+    public static class InMemorySearchBeans {
+
+        @Bean
+        public MessageSearchIndex<ChatMessage> chatMessageSearchIndex(ChatMessageRepository chatMessageRepository) {
+            return new InMemoryMessageSearchIndex<>(ChatMessage::getId, ChatMessage::getChatId, ChatMessage::getText,
+                    chatMessageRepository::findAllByChatId);
+        }
+
+        @Bean
+        public MessageSearchIndex<GroupMessage> groupMessageSearchIndex(GroupMessageRepository groupMessageRepository) {
+            return new InMemoryMessageSearchIndex<>(GroupMessage::getId, GroupMessage::getGroupId, GroupMessage::getText,
+                    groupMessageRepository::findAllByGroupId);
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.doni.message.config;
+
+import com.doni.message.client.ChatClient;
+import com.doni.message.client.GroupClient;
+import com.doni.message.subscription.MessageSubscriptionRegistry;
+import com.doni.message.subscription.SubscriptionVerifier;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+
+@Configuration
+public class SubscriptionBeans {
+
+    @Bean
+    public SubscriptionVerifier subscriptionVerifier(MessageSubscriptionRegistry messageSubscriptionRegistry,
+                                                     ChatClient chatClient,
+                                                     GroupClient groupClient,
+                                                     MeterRegistry meterRegistry) {
+        return new SubscriptionVerifier(messageSubscriptionRegistry, chatClient, groupClient, Clock.systemUTC(),
+                meterRegistry);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "vk.messages.subscriptions.verification.enabled", havingValue = "true",
+            matchIfMissing = true)
+    public static class SubscriptionSchedulingBeans {
+
+        private final SubscriptionVerifier subscriptionVerifier;
+
+        public SubscriptionSchedulingBeans(SubscriptionVerifier subscriptionVerifier) {
+            this.subscriptionVerifier = subscriptionVerifier;
+        }
+
+        @Scheduled(fixedDelayString = "${vk.messages.subscriptions.verification.fixed-delay:PT30S}")
+        public void verify() {
+            subscriptionVerifier.verify();
+        }
+    }
+}
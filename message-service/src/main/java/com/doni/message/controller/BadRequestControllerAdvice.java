@@ -1,8 +1,12 @@
 package com.doni.message.controller;
 
+import com.doni.message.exception.InvalidCursorException;
+import com.doni.message.exception.InvalidSearchQueryException;
+import com.doni.message.exception.MessageIngestionOverloadedException;
 import com.doni.message.exception.UserIsNotOwnerException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ProblemDetail;
 import org.springframework.http.ResponseEntity;
@@ -39,4 +43,32 @@ public class BadRequestControllerAdvice {
         return ResponseEntity.badRequest()
                 .body(problemDetail);
     }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidCursorException(InvalidCursorException exception, Locale locale) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST,
+                Objects.requireNonNull(messageSource.getMessage(exception.getMessage(), new Object[0],
+                        exception.getMessage(), locale)));
+        return ResponseEntity.badRequest()
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(InvalidSearchQueryException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidSearchQueryException(InvalidSearchQueryException exception, Locale locale) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST,
+                Objects.requireNonNull(messageSource.getMessage(exception.getMessage(), new Object[0],
+                        exception.getMessage(), locale)));
+        return ResponseEntity.badRequest()
+                .body(problemDetail);
+    }
+
+    @ExceptionHandler(MessageIngestionOverloadedException.class)
+    public ResponseEntity<ProblemDetail> handleMessageIngestionOverloadedException(MessageIngestionOverloadedException exception, Locale locale) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.SERVICE_UNAVAILABLE,
+                Objects.requireNonNull(messageSource.getMessage(exception.getMessage(), new Object[0],
+                        exception.getMessage(), locale)));
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(problemDetail);
+    }
 }
@@ -1,10 +1,18 @@
 package com.doni.message.controller;
 
+import com.doni.message.dto.ChatMessageBatchCreateDto;
 import com.doni.message.dto.ChatMessageCreateDto;
+import com.doni.message.dto.ChatMessagePageDto;
 import com.doni.message.dto.ChatMessageReadDto;
+import com.doni.message.dto.MessageCursor;
+import com.doni.message.dto.ReadCursorUpdateDto;
+import com.doni.message.dto.SearchCursor;
 import com.doni.message.entity.ChatMessage;
+import com.doni.message.exception.InvalidCursorException;
 import com.doni.message.exception.UserIsNotChatParticipantException;
 import com.doni.message.service.ChatMessageService;
+import com.doni.message.service.ReadCursorService;
+import com.doni.message.subscription.MessageSubscriptionRegistry;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
@@ -21,6 +29,7 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.util.UriComponentsBuilder;
 
 import java.util.*;
@@ -32,6 +41,8 @@ import java.util.*;
 public class ChatMessagesRestController {
     private final MessageSource messageSource;
     private final ChatMessageService chatMessageService;
+    private final MessageSubscriptionRegistry messageSubscriptionRegistry;
+    private final ReadCursorService readCursorService;
 
     @GetMapping("/by-chat-id/{chatId:\\d+}")
     @Operation(
@@ -62,6 +73,150 @@ public class ChatMessagesRestController {
         return chatMessageService.findChatMessagesByChatId(chatId);
     }
 
+    @GetMapping(value = "/by-chat-id/{chatId:\\d+}", params = "limit")
+    @Operation(
+            summary = "Постраничное получение сообщении по идентификатору чата",
+            description = "Курсорная пагинация по идентификатору сообщения: before - более старые сообщения " +
+                    "в порядке убывания, after - более новые в порядке возрастания, cursor - значение nextCursor " +
+                    "из предыдущего ответа",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Страница сообщении в чате",
+                            useReturnTypeSchema = true
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Некорректный курсор",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Некорректный курсор",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Некорректный курсор пагинации\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Чат не найден",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Чат не найден",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Чат не найден\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public ChatMessagePageDto getChatMessagesPageByChatId(@PathVariable("chatId") Integer chatId,
+                                                          @RequestParam("limit") int limit,
+                                                          @RequestParam(value = "before", required = false) Long before,
+                                                          @RequestParam(value = "after", required = false) Long after,
+                                                          @RequestParam(value = "cursor", required = false) String cursor) {
+        if (before != null && after != null) {
+            throw new InvalidCursorException("message-api.messages.read.errors.both_before_and_after");
+        }
+        MessageCursor messageCursor = null;
+        if (cursor != null) {
+            messageCursor = MessageCursor.decode(cursor);
+        } else if (before != null) {
+            messageCursor = MessageCursor.before(before);
+        } else if (after != null) {
+            messageCursor = MessageCursor.after(after);
+        }
+        return chatMessageService.findChatMessagesByChatId(chatId, messageCursor, limit);
+    }
+
+    @GetMapping("/by-chat-id/{chatId:\\d+}/search")
+    @Operation(
+            summary = "Полнотекстовый поиск сообщений по идентификатору чата",
+            description = "Сообщение попадает в результат, если содержит все слова запроса. Результаты упорядочены " +
+                    "по релевантности, следующая страница запрашивается по значению nextCursor из предыдущего ответа",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Страница найденных сообщений",
+                            useReturnTypeSchema = true
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Пустой поисковый запрос или некорректный курсор",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Пустой поисковый запрос",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Поисковый запрос не должен быть пустым\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Чат не найден",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Чат не найден",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Чат не найден\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public ChatMessagePageDto searchChatMessages(@PathVariable("chatId") Integer chatId,
+                                                 @RequestParam("query") String query,
+                                                 @RequestParam(value = "limit", defaultValue = "20") int limit,
+                                                 @RequestParam(value = "cursor", required = false) String cursor) {
+        return chatMessageService.searchChatMessages(chatId, query, cursor == null ? null : SearchCursor.decode(cursor), limit);
+    }
+
+    @GetMapping(value = "/by-chat-id/{chatId:\\d+}/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Подписка на новые сообщения чата (Server-Sent Events)",
+            description = "Каждое новое сообщение приходит событием chat-message с идентификатором сообщения. " +
+                    "Медленный подписчик отключается при переполнении очереди и должен переподключиться, " +
+                    "догрузив пропущенные сообщения через параметр after",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Поток событий"
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Чат не найден",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Чат не найден",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Чат не найден\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public SseEmitter subscribeToChatMessages(@PathVariable("chatId") Integer chatId,
+                                             JwtAuthenticationToken jwtAuthenticationToken) {
+        chatMessageService.checkChatParticipant(chatId);
+        return messageSubscriptionRegistry.subscribeToChat(chatId, jwtAuthenticationToken);
+    }
+
     @PostMapping
     @Operation(
             summary = "Создание сообщения в чате",
@@ -154,6 +309,132 @@ public class ChatMessagesRestController {
         }
     }
 
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Пакетное создание сообщений",
+            description = "Участие пользователя проверяется один раз для каждого адресата, " +
+                    "все сообщения сохраняются в одной транзакции",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Валидное тело запроса",
+                                    value = "{\n" +
+                                            "  \"messages\": [\n" +
+                                            "    {\"text\": \"Добрый день!\", \"chatId\": 1},\n" +
+                                            "    {\"text\": \"Как дела?\", \"chatId\": 1}\n" +
+                                            "  ]\n" +
+                                            "}"
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "201", description = "Сообщения успешно созданы",
+                            useReturnTypeSchema = true
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Плохой запрос",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Плохой запрос\",\n" +
+                                                    "  \"errors\": [\n" +
+                                                    "    \"Количество сообщений должно быть между 1 и 500\"\n" +
+                                                    "  ]\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<List<ChatMessageReadDto>> createChatMessages(@RequestBody @Valid ChatMessageBatchCreateDto payload,
+                                                                  BindingResult bindingResult,
+                                                                  JwtAuthenticationToken jwtAuthenticationToken) throws BindException {
+        if (bindingResult.hasErrors()) {
+            if (bindingResult instanceof BindException ex) {
+                throw ex;
+            } else {
+                throw new BindException(bindingResult);
+            }
+        } else {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(chatMessageService.createChatMessages(payload.messages(), jwtAuthenticationToken.getToken().getSubject()));
+        }
+    }
+
+    @PutMapping("/by-chat-id/{chatId:\\d+}/read-cursor")
+    @Operation(
+            summary = "Отметка сообщений как прочитанных",
+            description = "Курсор прочтения только сдвигается вперед: меньший идентификатор сообщения игнорируется",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Валидное тело запроса",
+                                    value = "{\n" +
+                                            "  \"lastReadMessageId\": 42\n" +
+                                            "}"
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "204", description = "Курсор прочтения обновлен"
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Сообщение не принадлежит беседе",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Сообщение не принадлежит беседе",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Сообщение не найдено в этой беседе\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Чат не найден",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Чат не найден",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Чат не найден\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Void> updateChatReadCursor(@PathVariable("chatId") Integer chatId,
+                                                 @RequestBody @Valid ReadCursorUpdateDto payload,
+                                                 BindingResult bindingResult,
+                                                 JwtAuthenticationToken jwtAuthenticationToken) throws BindException {
+        if (bindingResult.hasErrors()) {
+            if (bindingResult instanceof BindException ex) {
+                throw ex;
+            } else {
+                throw new BindException(bindingResult);
+            }
+        } else {
+            readCursorService.updateChatReadCursor(chatId, jwtAuthenticationToken.getToken().getSubject(), payload.lastReadMessageId());
+            return ResponseEntity.noContent()
+                    .build();
+        }
+    }
+
     @ExceptionHandler(NoSuchElementException.class)
     public ResponseEntity<ProblemDetail> handleNoSuchElementException(NoSuchElementException exception, Locale locale) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND,
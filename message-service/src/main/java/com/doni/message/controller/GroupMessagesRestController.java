@@ -1,15 +1,24 @@
 package com.doni.message.controller;
 
+import com.doni.message.dto.GroupMessageBatchCreateDto;
 import com.doni.message.dto.GroupMessageCreateDto;
+import com.doni.message.dto.GroupMessagePageDto;
 import com.doni.message.dto.GroupMessageReadDto;
+import com.doni.message.dto.ReadCursorUpdateDto;
+import com.doni.message.dto.SearchCursor;
 import com.doni.message.entity.GroupMessage;
 import com.doni.message.exception.UserIsNotGroupParticipantException;
 import com.doni.message.service.GroupMessageService;
+import com.doni.message.service.ReadCursorService;
+import com.doni.message.subscription.MessageSubscriptionRegistry;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.media.Content;
 import io.swagger.v3.oas.annotations.media.ExampleObject;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.context.MessageSource;
@@ -21,8 +30,11 @@ import org.springframework.security.oauth2.server.resource.authentication.JwtAut
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import org.springframework.web.util.UriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.*;
 
 @RestController
@@ -32,6 +44,9 @@ import java.util.*;
 public class GroupMessagesRestController {
     private final GroupMessageService groupMessageService;
     private final MessageSource messageSource;
+    private final ObjectMapper objectMapper;
+    private final MessageSubscriptionRegistry messageSubscriptionRegistry;
+    private final ReadCursorService readCursorService;
 
     @GetMapping("/by-group-id/{groupId:\\d+}")
     @Operation(
@@ -79,6 +94,139 @@ public class GroupMessagesRestController {
         return groupMessageService.findGroupMessagesByGroupId(groupId);
     }
 
+    @GetMapping("/by-group-id/{groupId:\\d+}/export")
+    @Operation(
+            summary = "Потоковая выгрузка всех сообщений группы в формате NDJSON",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Сообщения группы, по одному JSON-объекту на строку",
+                            content = @Content(
+                                    mediaType = "application/x-ndjson",
+                                    examples = @ExampleObject(
+                                            value = "{\"id\":1,\"text\":\"Добрый день!\",\"authorId\":\"j.dewar\",\"groupId\":1}\n" +
+                                                    "{\"id\":2,\"text\":\"Привет!\",\"authorId\":\"j.daniels\",\"groupId\":1}\n"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Группа не найдена",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Группа не найдена",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Группа не найдена\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public void exportGroupMessagesByGroupId(@PathVariable("groupId") Integer groupId,
+                                             HttpServletResponse response) throws IOException {
+        groupMessageService.exportGroupMessagesByGroupId(groupId, message -> {
+            try {
+                if (response.getContentType() == null) {
+                    response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+                }
+                ServletOutputStream outputStream = response.getOutputStream();
+                outputStream.write(objectMapper.writeValueAsBytes(message));
+                outputStream.write('\n');
+            } catch (IOException exception) {
+                throw new UncheckedIOException(exception);
+            }
+        });
+        if (response.getContentType() == null) {
+            response.setContentType(MediaType.APPLICATION_NDJSON_VALUE);
+        }
+        response.flushBuffer();
+    }
+
+    @GetMapping("/by-group-id/{groupId:\\d+}/search")
+    @Operation(
+            summary = "Полнотекстовый поиск сообщений по идентификатору группы",
+            description = "Сообщение попадает в результат, если содержит все слова запроса. Результаты упорядочены " +
+                    "по релевантности, следующая страница запрашивается по значению nextCursor из предыдущего ответа",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Страница найденных сообщений",
+                            useReturnTypeSchema = true
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Пустой поисковый запрос или некорректный курсор",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Пустой поисковый запрос",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Поисковый запрос не должен быть пустым\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Группа не найдена",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Группа не найдена",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Группа не найдена\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public GroupMessagePageDto searchGroupMessages(@PathVariable("groupId") Integer groupId,
+                                                 @RequestParam("query") String query,
+                                                 @RequestParam(value = "limit", defaultValue = "20") int limit,
+                                                 @RequestParam(value = "cursor", required = false) String cursor) {
+        return groupMessageService.searchGroupMessages(groupId, query, cursor == null ? null : SearchCursor.decode(cursor), limit);
+    }
+
+    @GetMapping(value = "/by-group-id/{groupId:\\d+}/subscribe", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(
+            summary = "Подписка на новые сообщения группы (Server-Sent Events)",
+            description = "Каждое новое сообщение приходит событием group-message с идентификатором сообщения. " +
+                    "Медленный подписчик отключается при переполнении очереди и должен переподключиться, " +
+                    "догрузив пропущенные сообщения через параметр after",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Поток событий"
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Группа не найдена",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Группа не найдена",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Группа не найдена\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public SseEmitter subscribeToGroupMessages(@PathVariable("groupId") Integer groupId,
+                                               JwtAuthenticationToken jwtAuthenticationToken) {
+        groupMessageService.checkGroupParticipant(groupId);
+        return messageSubscriptionRegistry.subscribeToGroup(groupId, jwtAuthenticationToken);
+    }
+
     @PostMapping
     @Operation(
             summary = "Создание сообщения в группе",
@@ -185,6 +333,132 @@ public class GroupMessagesRestController {
         }
     }
 
+    @PostMapping("/batch")
+    @Operation(
+            summary = "Пакетное создание сообщений",
+            description = "Участие пользователя проверяется один раз для каждого адресата, " +
+                    "все сообщения сохраняются в одной транзакции",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Валидное тело запроса",
+                                    value = "{\n" +
+                                            "  \"messages\": [\n" +
+                                            "    {\"text\": \"Добрый день!\", \"groupId\": 1},\n" +
+                                            "    {\"text\": \"Как дела?\", \"groupId\": 1}\n" +
+                                            "  ]\n" +
+                                            "}"
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "201", description = "Сообщения успешно созданы",
+                            useReturnTypeSchema = true
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Плохой запрос",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Плохой запрос\",\n" +
+                                                    "  \"errors\": [\n" +
+                                                    "    \"Количество сообщений должно быть между 1 и 500\"\n" +
+                                                    "  ]\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<List<GroupMessageReadDto>> createGroupMessages(@RequestBody @Valid GroupMessageBatchCreateDto payload,
+                                                                  BindingResult bindingResult,
+                                                                  JwtAuthenticationToken jwtAuthenticationToken) throws BindException {
+        if (bindingResult.hasErrors()) {
+            if (bindingResult instanceof BindException ex) {
+                throw ex;
+            } else {
+                throw new BindException(bindingResult);
+            }
+        } else {
+            return ResponseEntity.status(HttpStatus.CREATED)
+                    .body(groupMessageService.createGroupMessages(payload.messages(), jwtAuthenticationToken.getToken().getSubject()));
+        }
+    }
+
+    @PutMapping("/by-group-id/{groupId:\\d+}/read-cursor")
+    @Operation(
+            summary = "Отметка сообщений как прочитанных",
+            description = "Курсор прочтения только сдвигается вперед: меньший идентификатор сообщения игнорируется",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Валидное тело запроса",
+                                    value = "{\n" +
+                                            "  \"lastReadMessageId\": 42\n" +
+                                            "}"
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "204", description = "Курсор прочтения обновлен"
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Сообщение не принадлежит беседе",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Сообщение не принадлежит беседе",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Сообщение не найдено в этой беседе\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Группа не найдена",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Группа не найдена",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Группа не найдена\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public ResponseEntity<Void> updateGroupReadCursor(@PathVariable("groupId") Integer groupId,
+                                                 @RequestBody @Valid ReadCursorUpdateDto payload,
+                                                 BindingResult bindingResult,
+                                                 JwtAuthenticationToken jwtAuthenticationToken) throws BindException {
+        if (bindingResult.hasErrors()) {
+            if (bindingResult instanceof BindException ex) {
+                throw ex;
+            } else {
+                throw new BindException(bindingResult);
+            }
+        } else {
+            readCursorService.updateGroupReadCursor(groupId, jwtAuthenticationToken.getToken().getSubject(), payload.lastReadMessageId());
+            return ResponseEntity.noContent()
+                    .build();
+        }
+    }
+
     @ExceptionHandler(NoSuchElementException.class)
     public ResponseEntity<ProblemDetail> handleNoSuchElementException(NoSuchElementException exception, Locale locale) {
         ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.NOT_FOUND,
@@ -0,0 +1,66 @@
+package com.doni.message.controller;
+
+import com.doni.message.dto.MembershipChangeEventsDto;
+import com.doni.message.dto.MembershipChangeEventDto;
+import com.doni.message.service.MessagePurgeService;
+import com.doni.message.subscription.SubscriptionRevoker;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/message-api/membership-events")
+@SecurityRequirement(name = "keycloak")
+public class MembershipEventsRestController {
+    private final MessagePurgeService messagePurgeService;
+    private final SubscriptionRevoker subscriptionRevoker;
+
+    @PostMapping
+    @Operation(
+            summary = "Приём событий об изменении участников чатов и групп от messenger-service",
+            description = "Для удалённых чатов и групп планируется фоновое удаление сообщений. " +
+                    "Подписки исключённых участников и удалённых бесед закрываются. " +
+                    "Доступно только клиентам со scope membership_events",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Валидное тело запроса",
+                                    value = "{\n" +
+                                            "  \"events\": [\n" +
+                                            "    {\"id\": 1, \"type\": \"GROUP_DELETED\", \"conversationId\": 3, " +
+                                            "\"userId\": \"j.dewar\", \"createdAt\": \"2024-03-01T10:00:00Z\"}\n" +
+                                            "  ]\n" +
+                                            "}"
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "204", description = "События приняты"
+                    ),
+                    @ApiResponse(
+                            responseCode = "403", description = "Недостаточно прав"
+                    )
+            }
+    )
+    public ResponseEntity<Void> acceptEvents(@RequestBody MembershipChangeEventsDto payload) {
+        List<MembershipChangeEventDto> events = payload.events() == null ? List.of() : payload.events();
+        messagePurgeService.schedulePurges(events);
+        subscriptionRevoker.revoke(events);
+        return ResponseEntity.noContent()
+                .build();
+    }
+}
@@ -0,0 +1,47 @@
+package com.doni.message.controller;
+
+import com.doni.message.dto.UnreadCountsReadDto;
+import com.doni.message.service.ReadCursorService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/message-api/unread-counts")
+@SecurityRequirement(name = "keycloak")
+public class UnreadCountsRestController {
+    private final ReadCursorService readCursorService;
+
+    @GetMapping
+    @Operation(
+            summary = "Количество непрочитанных сообщений во всех чатах и группах пользователя",
+            responses = @ApiResponse(
+                    responseCode = "200", description = "Количество непрочитанных сообщений",
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    value = "{\n" +
+                                            "  \"chats\": [\n" +
+                                            "    {\"conversationId\": 1, \"lastReadMessageId\": 40, \"unreadCount\": 2}\n" +
+                                            "  ],\n" +
+                                            "  \"groups\": [\n" +
+                                            "    {\"conversationId\": 3, \"lastReadMessageId\": null, \"unreadCount\": 15}\n" +
+                                            "  ]\n" +
+                                            "}"
+                            )
+                    )
+            )
+    )
+    public UnreadCountsReadDto getUnreadCounts(JwtAuthenticationToken jwtAuthenticationToken) {
+        return readCursorService.findUnreadCounts(jwtAuthenticationToken.getToken().getSubject());
+    }
+}
@@ -0,0 +1,13 @@
+package com.doni.message.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ChatMessageBatchCreateDto(
+        @NotNull(message = "{message-api.chat-messages.batch-create.errors.messages_is_null}")
+        @Size(min = 1, max = 500, message = "{message-api.chat-messages.batch-create.errors.messages_has_invalid_size}")
+        List<@Valid ChatMessageCreateDto> messages) {
+}
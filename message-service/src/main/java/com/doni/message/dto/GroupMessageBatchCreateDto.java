@@ -0,0 +1,13 @@
+package com.doni.message.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record GroupMessageBatchCreateDto(
+        @NotNull(message = "{message-api.group-messages.batch-create.errors.messages_is_null}")
+        @Size(min = 1, max = 500, message = "{message-api.group-messages.batch-create.errors.messages_has_invalid_size}")
+        List<@Valid GroupMessageCreateDto> messages) {
+}
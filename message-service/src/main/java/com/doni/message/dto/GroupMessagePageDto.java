@@ -0,0 +1,8 @@
+package com.doni.message.dto;
+
+import java.util.List;
+
+public record GroupMessagePageDto(
+        List<GroupMessageReadDto> messages,
+        String nextCursor) {
+}
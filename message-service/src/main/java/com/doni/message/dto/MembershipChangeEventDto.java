@@ -0,0 +1,11 @@
+package com.doni.message.dto;
+
+import java.time.Instant;
+
+public record MembershipChangeEventDto(
+        Long id,
+        String type,
+        Integer conversationId,
+        String userId,
+        Instant createdAt) {
+}
@@ -0,0 +1,7 @@
+package com.doni.message.dto;
+
+import java.util.List;
+
+public record MembershipChangeEventsDto(
+        List<MembershipChangeEventDto> events) {
+}
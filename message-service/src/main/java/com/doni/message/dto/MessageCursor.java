@@ -0,0 +1,44 @@
+package com.doni.message.dto;
+
+import com.doni.message.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record MessageCursor(
+        Direction direction,
+        Long messageId) {
+
+    public enum Direction {
+        BEFORE, AFTER
+    }
+
+    public static MessageCursor before(Long messageId) {
+        return new MessageCursor(Direction.BEFORE, messageId);
+    }
+
+    public static MessageCursor after(Long messageId) {
+        return new MessageCursor(Direction.AFTER, messageId);
+    }
+
+    public String encode() {
+        String raw = "%s:%d".formatted(direction == Direction.BEFORE ? "b" : "a", messageId);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static MessageCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            Long messageId = Long.valueOf(raw.substring(separator + 1));
+            return switch (raw.substring(0, separator)) {
+                case "b" -> before(messageId);
+                case "a" -> after(messageId);
+                default -> throw new InvalidCursorException("message-api.messages.read.errors.invalid_cursor");
+            };
+        } catch (IllegalArgumentException | IndexOutOfBoundsException exception) {
+            throw new InvalidCursorException("message-api.messages.read.errors.invalid_cursor", exception);
+        }
+    }
+}
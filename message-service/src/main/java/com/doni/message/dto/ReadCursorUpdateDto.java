@@ -0,0 +1,8 @@
+package com.doni.message.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record ReadCursorUpdateDto(
+        @NotNull(message = "{message-api.read-cursors.update.errors.last_read_message_id_is_null}")
+        Long lastReadMessageId) {
+}
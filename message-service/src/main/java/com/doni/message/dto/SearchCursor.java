@@ -0,0 +1,31 @@
+package com.doni.message.dto;
+
+import com.doni.message.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public record SearchCursor(int offset) {
+
+    public String encode() {
+        String raw = "s:%d".formatted(offset);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (!raw.startsWith("s:")) {
+                throw new InvalidCursorException("message-api.messages.read.errors.invalid_cursor");
+            }
+            int offset = Integer.parseInt(raw.substring(2));
+            if (offset < 0) {
+                throw new InvalidCursorException("message-api.messages.read.errors.invalid_cursor");
+            }
+            return new SearchCursor(offset);
+        } catch (IllegalArgumentException exception) {
+            throw new InvalidCursorException("message-api.messages.read.errors.invalid_cursor", exception);
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package com.doni.message.dto;
+
+public record UnreadCountReadDto(
+        Integer conversationId,
+        Long lastReadMessageId,
+        Long unreadCount) {
+}
@@ -0,0 +1,8 @@
+package com.doni.message.dto;
+
+import java.util.List;
+
+public record UnreadCountsReadDto(
+        List<UnreadCountReadDto> chats,
+        List<UnreadCountReadDto> groups) {
+}
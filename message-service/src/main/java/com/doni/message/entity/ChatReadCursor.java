@@ -0,0 +1,30 @@
+package com.doni.message.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "chat_read_cursor", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_chat_read_cursor_user_id_chat_id", columnNames = {"user_id", "chat_id"})
+})
+public class ChatReadCursor {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "chat_id", nullable = false)
+    private Integer chatId;
+
+    @Column(name = "last_read_message_id", nullable = false)
+    private Long lastReadMessageId;
+}
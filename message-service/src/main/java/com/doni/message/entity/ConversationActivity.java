@@ -0,0 +1,8 @@
+package com.doni.message.entity;
+
+public record ConversationActivity(
+        Integer id,
+        Long messageId,
+        String authorId,
+        String preview) {
+}
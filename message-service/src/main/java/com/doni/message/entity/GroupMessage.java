@@ -14,10 +14,13 @@ import lombok.NoArgsConstructor;
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "group_message")
+@Table(name = "group_message", indexes = {
+        @Index(name = "idx_group_message_group_id_id", columnList = "group_id, id")
+})
 public class GroupMessage {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "group_message_seq")
+    @SequenceGenerator(name = "group_message_seq", sequenceName = "group_message_seq", allocationSize = 50)
     private Long id;
 
     @Column(name = "text")
@@ -0,0 +1,30 @@
+package com.doni.message.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "group_read_cursor", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_group_read_cursor_user_id_group_id", columnNames = {"user_id", "group_id"})
+})
+public class GroupReadCursor {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "user_id", nullable = false)
+    private String userId;
+
+    @Column(name = "group_id", nullable = false)
+    private Integer groupId;
+
+    @Column(name = "last_read_message_id", nullable = false)
+    private Long lastReadMessageId;
+}
@@ -0,0 +1,11 @@
+package com.doni.message.entity;
+
+public record Membership(
+        Integer id,
+        String userId,
+        Status status) {
+
+    public enum Status {
+        MEMBER, NOT_MEMBER, NOT_FOUND
+    }
+}
@@ -0,0 +1,35 @@
+package com.doni.message.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "message_purge_task", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_message_purge_task_type_conversation_id", columnNames = {"type", "conversation_id"})
+})
+public class MessagePurgeTask {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private Type type;
+
+    @Column(name = "conversation_id", nullable = false)
+    private Integer conversationId;
+
+    @Column(name = "last_message_id", nullable = false)
+    private Long lastMessageId;
+
+    public enum Type {
+        CHAT, GROUP
+    }
+}
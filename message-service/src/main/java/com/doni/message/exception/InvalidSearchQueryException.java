@@ -0,0 +1,22 @@
+package com.doni.message.exception;
+
+public class InvalidSearchQueryException extends RuntimeException {
+    public InvalidSearchQueryException() {
+    }
+
+    public InvalidSearchQueryException(String message) {
+        super(message);
+    }
+
+    public InvalidSearchQueryException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public InvalidSearchQueryException(Throwable cause) {
+        super(cause);
+    }
+
+    public InvalidSearchQueryException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,22 @@
+package com.doni.message.exception;
+
+public class MessageIngestionOverloadedException extends RuntimeException {
+    public MessageIngestionOverloadedException() {
+    }
+
+    public MessageIngestionOverloadedException(String message) {
+        super(message);
+    }
+
+    public MessageIngestionOverloadedException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    public MessageIngestionOverloadedException(Throwable cause) {
+        super(cause);
+    }
+
+    public MessageIngestionOverloadedException(String message, Throwable cause, boolean enableSuppression, boolean writableStackTrace) {
+        super(message, cause, enableSuppression, writableStackTrace);
+    }
+}
@@ -0,0 +1,186 @@
+package com.doni.message.ingestion;
+
+import com.doni.message.exception.MessageIngestionOverloadedException;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.UnaryOperator;
+
+@Slf4j
+public class GroupCommitWriter<T> implements SmartLifecycle {
+    private final String name;
+    private final UnaryOperator<List<T>> saver;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final Duration offerTimeout;
+    private final Duration commitTimeout;
+    private final BlockingQueue<PendingWrite<T>> queue;
+    private final DistributionSummary batchSizeSummary;
+    private volatile boolean running;
+    private Thread writerThread;
+
+    public GroupCommitWriter(String name, UnaryOperator<List<T>> saver, TransactionOperations transactionOperations,
+                             int batchSize, Duration linger, int queueCapacity, Duration offerTimeout,
+                             Duration commitTimeout, MeterRegistry meterRegistry) {
+        this.name = name;
+        this.saver = saver;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.lingerNanos = linger.toNanos();
+        this.offerTimeout = offerTimeout;
+        this.commitTimeout = commitTimeout;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        Gauge.builder("vk.messages.group-commit.queue.size", queue, BlockingQueue::size)
+                .tag("writer", name)
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("vk.messages.group-commit.batch.size")
+                .tag("writer", name)
+                .register(meterRegistry);
+    }
+
+    public T write(T entity) {
+        PendingWrite<T> pendingWrite = new PendingWrite<>(entity, new CompletableFuture<>());
+        try {
+            if (!running || !queue.offer(pendingWrite, offerTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                throw new MessageIngestionOverloadedException("message-api.messages.create.errors.ingestion_is_overloaded");
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new MessageIngestionOverloadedException("message-api.messages.create.errors.ingestion_is_overloaded", exception);
+        }
+        try {
+            return pendingWrite.result().get(commitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException exception) {
+            if (exception.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(exception.getCause());
+        } catch (TimeoutException exception) {
+            throw new MessageIngestionOverloadedException("message-api.messages.create.errors.ingestion_timed_out", exception);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+            throw new MessageIngestionOverloadedException("message-api.messages.create.errors.ingestion_timed_out", exception);
+        }
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writerThread = new Thread(this::run, "group-commit-%s".formatted(name));
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (writerThread == null) {
+            return;
+        }
+        try {
+            writerThread.join();
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void run() {
+        try {
+            while ((running || !queue.isEmpty()) && !Thread.currentThread().isInterrupted()) {
+                PendingWrite<T> first = queue.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                List<PendingWrite<T>> batch = collectBatch(first);
+                try {
+                    commit(batch);
+                } catch (Throwable throwable) {
+                    log.error("Group commit of {} {} messages failed unexpectedly", batch.size(), name, throwable);
+                    batch.forEach(pendingWrite -> pendingWrite.result().completeExceptionally(throwable));
+                }
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        } catch (Throwable throwable) {
+            log.error("Group commit writer {} stopped unexpectedly", name, throwable);
+        } finally {
+            running = false;
+            failQueued();
+        }
+    }
+
+    private void failQueued() {
+        List<PendingWrite<T>> pendingWrites = new ArrayList<>();
+        queue.drainTo(pendingWrites);
+        pendingWrites.forEach(pendingWrite -> pendingWrite.result().completeExceptionally(
+                new MessageIngestionOverloadedException("message-api.messages.create.errors.ingestion_is_overloaded")));
+    }
+
+    private List<PendingWrite<T>> collectBatch(PendingWrite<T> first) {
+        List<PendingWrite<T>> batch = new ArrayList<>(batchSize);
+        batch.add(first);
+        long deadline = System.nanoTime() + lingerNanos;
+        try {
+            while (batch.size() < batchSize) {
+                queue.drainTo(batch, batchSize - batch.size());
+                long remaining = deadline - System.nanoTime();
+                if (batch.size() >= batchSize || remaining <= 0) {
+                    break;
+                }
+                PendingWrite<T> next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+            }
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+        return batch;
+    }
+
+    private void commit(List<PendingWrite<T>> batch) {
+        batchSizeSummary.record(batch.size());
+        try {
+            List<T> saved = transactionOperations.execute(status ->
+                    saver.apply(batch.stream().map(PendingWrite::entity).toList()));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).result().complete(saved.get(i));
+            }
+        } catch (RuntimeException exception) {
+            log.warn("Group commit of {} {} messages failed, retrying one by one", batch.size(), name, exception);
+            batch.forEach(this::commitSingle);
+        }
+    }
+
+    private void commitSingle(PendingWrite<T> pendingWrite) {
+        try {
+            List<T> saved = transactionOperations.execute(status -> saver.apply(List.of(pendingWrite.entity())));
+            pendingWrite.result().complete(saved.get(0));
+        } catch (RuntimeException exception) {
+            pendingWrite.result().completeExceptionally(exception);
+        }
+    }
+
+    private record PendingWrite<T>(T entity, CompletableFuture<T> result) {
+    }
+}
@@ -0,0 +1,106 @@
+package com.doni.message.purge;
+
+import com.doni.message.entity.ChatMessage;
+import com.doni.message.entity.GroupMessage;
+import com.doni.message.entity.MessagePurgeTask;
+import com.doni.message.repository.ChatMessageRepository;
+import com.doni.message.repository.ChatReadCursorRepository;
+import com.doni.message.repository.GroupMessageRepository;
+import com.doni.message.repository.GroupReadCursorRepository;
+import com.doni.message.repository.MessagePurgeTaskRepository;
+import com.doni.message.search.MessageSearchIndex;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+
+@Slf4j
+public class MessagePurgeJob {
+    private final MessagePurgeTaskRepository messagePurgeTaskRepository;
+    private final ChatMessageRepository chatMessageRepository;
+    private final GroupMessageRepository groupMessageRepository;
+    private final ChatReadCursorRepository chatReadCursorRepository;
+    private final GroupReadCursorRepository groupReadCursorRepository;
+    private final MessageSearchIndex<ChatMessage> chatMessageSearchIndex;
+    private final MessageSearchIndex<GroupMessage> groupMessageSearchIndex;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final MeterRegistry meterRegistry;
+
+    public MessagePurgeJob(MessagePurgeTaskRepository messagePurgeTaskRepository,
+                           ChatMessageRepository chatMessageRepository,
+                           GroupMessageRepository groupMessageRepository,
+                           ChatReadCursorRepository chatReadCursorRepository,
+                           GroupReadCursorRepository groupReadCursorRepository,
+                           MessageSearchIndex<ChatMessage> chatMessageSearchIndex,
+                           MessageSearchIndex<GroupMessage> groupMessageSearchIndex,
+                           TransactionOperations transactionOperations,
+                           int batchSize, MeterRegistry meterRegistry) {
+        this.messagePurgeTaskRepository = messagePurgeTaskRepository;
+        this.chatMessageRepository = chatMessageRepository;
+        this.groupMessageRepository = groupMessageRepository;
+        this.chatReadCursorRepository = chatReadCursorRepository;
+        this.groupReadCursorRepository = groupReadCursorRepository;
+        this.chatMessageSearchIndex = chatMessageSearchIndex;
+        this.groupMessageSearchIndex = groupMessageSearchIndex;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public synchronized int purge() {
+        for (MessagePurgeTask task : messagePurgeTaskRepository.findAll()) {
+            Integer deleted = transactionOperations.execute(status -> purgeBatch(task.getId()));
+            if (deleted != null && deleted > 0) {
+                meterRegistry.counter("vk.messages.purge.messages", "type", task.getType().name().toLowerCase())
+                        .increment(deleted);
+                return deleted;
+            }
+        }
+        return 0;
+    }
+
+    private int purgeBatch(Long taskId) {
+        MessagePurgeTask task = messagePurgeTaskRepository.lockIfAvailable(taskId).orElse(null);
+        if (task == null) {
+            return 0;
+        }
+        int deleted = switch (task.getType()) {
+            case CHAT -> purgeChatBatch(task);
+            case GROUP -> purgeGroupBatch(task);
+        };
+        if (deleted == 0) {
+            log.info("Purged messages of deleted {} {}", task.getType().name().toLowerCase(), task.getConversationId());
+            messagePurgeTaskRepository.delete(task);
+        }
+        return deleted;
+    }
+
+    private int purgeChatBatch(MessagePurgeTask task) {
+        List<ChatMessage> messages = chatMessageRepository.findAllByChatIdAndIdGreaterThanOrderByIdAsc(
+                task.getConversationId(), task.getLastMessageId(), Limit.of(batchSize));
+        if (messages.isEmpty()) {
+            chatReadCursorRepository.deleteAllByChatId(task.getConversationId());
+            return 0;
+        }
+        messages.forEach(chatMessageSearchIndex::remove);
+        chatMessageRepository.deleteAllInBatch(messages);
+        task.setLastMessageId(messages.get(messages.size() - 1).getId());
+        return messages.size();
+    }
+
+    private int purgeGroupBatch(MessagePurgeTask task) {
+        List<GroupMessage> messages = groupMessageRepository.findAllByGroupIdAndIdGreaterThanOrderByIdAsc(
+                task.getConversationId(), task.getLastMessageId(), Limit.of(batchSize));
+        if (messages.isEmpty()) {
+            groupReadCursorRepository.deleteAllByGroupId(task.getConversationId());
+            return 0;
+        }
+        messages.forEach(groupMessageSearchIndex::remove);
+        groupMessageRepository.deleteAllInBatch(messages);
+        task.setLastMessageId(messages.get(messages.size() - 1).getId());
+        return messages.size();
+    }
+}
@@ -1,6 +1,7 @@
 package com.doni.message.repository;
 
 import com.doni.message.entity.ChatMessage;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
@@ -10,4 +11,12 @@ import java.util.List;
 public interface ChatMessageRepository extends JpaRepository<ChatMessage, Long> {
 
     List<ChatMessage> findAllByChatId(Integer chatId);
+
+    boolean existsByIdAndChatId(Long id, Integer chatId);
+
+    List<ChatMessage> findAllByChatIdOrderByIdDesc(Integer chatId, Limit limit);
+
+    List<ChatMessage> findAllByChatIdAndIdLessThanOrderByIdDesc(Integer chatId, Long id, Limit limit);
+
+    List<ChatMessage> findAllByChatIdAndIdGreaterThanOrderByIdAsc(Integer chatId, Long id, Limit limit);
 }
@@ -0,0 +1,48 @@
+package com.doni.message.repository;
+
+import com.doni.message.dto.UnreadCountReadDto;
+import com.doni.message.entity.ChatReadCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface ChatReadCursorRepository extends JpaRepository<ChatReadCursor, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert into chat_read_cursor(user_id, chat_id, last_read_message_id)
+            values (:userId, :chatId, :lastReadMessageId)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") String userId, @Param("chatId") Integer chatId,
+                       @Param("lastReadMessageId") Long lastReadMessageId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update ChatReadCursor c set c.lastReadMessageId = :lastReadMessageId
+            where c.userId = :userId and c.chatId = :chatId and c.lastReadMessageId < :lastReadMessageId
+            """)
+    int advance(@Param("userId") String userId, @Param("chatId") Integer chatId,
+                @Param("lastReadMessageId") Long lastReadMessageId);
+
+    List<ChatReadCursor> findAllByUserIdAndChatIdIn(String userId, Collection<Integer> chatIds);
+
+    @Query("""
+            select new com.doni.message.dto.UnreadCountReadDto(m.chatId, c.lastReadMessageId, count(m.id))
+            from ChatMessage m
+            left join ChatReadCursor c on c.chatId = m.chatId and c.userId = :userId
+            where m.chatId in :chatIds and m.id > coalesce(c.lastReadMessageId, 0)
+            group by m.chatId, c.lastReadMessageId
+            """)
+    List<UnreadCountReadDto> countUnreadByChatIds(@Param("userId") String userId, @Param("chatIds") Collection<Integer> chatIds);
+
+    @Modifying
+    @Query("delete from ChatReadCursor c where c.chatId = ?1")
+    int deleteAllByChatId(Integer chatId);
+}
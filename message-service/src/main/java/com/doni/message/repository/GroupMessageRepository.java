@@ -1,12 +1,31 @@
 package com.doni.message.repository;
 
 import com.doni.message.entity.GroupMessage;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.stream.Stream;
 
 @Repository
 public interface GroupMessageRepository extends JpaRepository<GroupMessage, Long> {
     List<GroupMessage> findAllByGroupId(Integer groupId);
+
+    boolean existsByIdAndGroupId(Long id, Integer groupId);
+
+    List<GroupMessage> findAllByGroupIdAndIdGreaterThanOrderByIdAsc(Integer groupId, Long id, Limit limit);
+
+    @Query("select m from GroupMessage m where m.groupId = :groupId order by m.id")
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true"),
+            @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "false")
+    })
+    Stream<GroupMessage> streamAllByGroupId(@Param("groupId") Integer groupId);
 }
@@ -0,0 +1,48 @@
+package com.doni.message.repository;
+
+import com.doni.message.dto.UnreadCountReadDto;
+import com.doni.message.entity.GroupReadCursor;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface GroupReadCursorRepository extends JpaRepository<GroupReadCursor, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert into group_read_cursor(user_id, group_id, last_read_message_id)
+            values (:userId, :groupId, :lastReadMessageId)
+            on conflict do nothing
+            """, nativeQuery = true)
+    int insertIfAbsent(@Param("userId") String userId, @Param("groupId") Integer groupId,
+                       @Param("lastReadMessageId") Long lastReadMessageId);
+
+    @Modifying(clearAutomatically = true)
+    @Query("""
+            update GroupReadCursor c set c.lastReadMessageId = :lastReadMessageId
+            where c.userId = :userId and c.groupId = :groupId and c.lastReadMessageId < :lastReadMessageId
+            """)
+    int advance(@Param("userId") String userId, @Param("groupId") Integer groupId,
+                @Param("lastReadMessageId") Long lastReadMessageId);
+
+    List<GroupReadCursor> findAllByUserIdAndGroupIdIn(String userId, Collection<Integer> groupIds);
+
+    @Query("""
+            select new com.doni.message.dto.UnreadCountReadDto(m.groupId, c.lastReadMessageId, count(m.id))
+            from GroupMessage m
+            left join GroupReadCursor c on c.groupId = m.groupId and c.userId = :userId
+            where m.groupId in :groupIds and m.id > coalesce(c.lastReadMessageId, 0)
+            group by m.groupId, c.lastReadMessageId
+            """)
+    List<UnreadCountReadDto> countUnreadByGroupIds(@Param("userId") String userId, @Param("groupIds") Collection<Integer> groupIds);
+
+    @Modifying
+    @Query("delete from GroupReadCursor c where c.groupId = ?1")
+    int deleteAllByGroupId(Integer groupId);
+}
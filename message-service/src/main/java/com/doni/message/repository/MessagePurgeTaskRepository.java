@@ -0,0 +1,30 @@
+package com.doni.message.repository;
+
+import com.doni.message.entity.MessagePurgeTask;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface MessagePurgeTaskRepository extends JpaRepository<MessagePurgeTask, Long> {
+
+    @Modifying
+    @Query(value = """
+            insert into message_purge_task(type, conversation_id, last_message_id)
+            select :type, :conversationId, 0
+            where not exists (select 1 from message_purge_task where type = :type and conversation_id = :conversationId)
+            """, nativeQuery = true)
+    int insertIfAbsent(String type, Integer conversationId);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select t from MessagePurgeTask t where t.id = ?1")
+    Optional<MessagePurgeTask> lockIfAvailable(Long id);
+}
@@ -0,0 +1,138 @@
+package com.doni.message.search;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+public class InMemoryMessageSearchIndex<T> implements MessageSearchIndex<T> {
+    private static final Pattern DELIMITER = Pattern.compile("[^\\p{L}\\p{Nd}]+");
+
+    private final Function<T, Long> idExtractor;
+    private final Function<T, Integer> conversationIdExtractor;
+    private final Function<T, String> textExtractor;
+    private final Function<Integer, List<T>> conversationLoader;
+    private final Map<Integer, ConversationIndex> conversations = new ConcurrentHashMap<>();
+
+    public InMemoryMessageSearchIndex(Function<T, Long> idExtractor, Function<T, Integer> conversationIdExtractor,
+                                      Function<T, String> textExtractor, Function<Integer, List<T>> conversationLoader) {
+        this.idExtractor = idExtractor;
+        this.conversationIdExtractor = conversationIdExtractor;
+        this.textExtractor = textExtractor;
+        this.conversationLoader = conversationLoader;
+    }
+
+    @Override
+    public void index(T message) {
+        Integer conversationId = conversationIdExtractor.apply(message);
+        Long messageId = idExtractor.apply(message);
+        Map<String, Integer> frequencies = tokenize(textExtractor.apply(message));
+        afterCommit(() -> conversations.computeIfPresent(conversationId, (id, conversation) -> {
+            conversation.put(messageId, frequencies);
+            return conversation;
+        }));
+    }
+
+    @Override
+    public void remove(T message) {
+        Integer conversationId = conversationIdExtractor.apply(message);
+        Long messageId = idExtractor.apply(message);
+        afterCommit(() -> conversations.computeIfPresent(conversationId, (id, conversation) -> {
+            conversation.remove(messageId);
+            return conversation;
+        }));
+    }
+
+    @Override
+    public List<Long> search(Integer conversationId, String query, int offset, int limit) {
+        List<String> terms = tokenize(query).keySet().stream().toList();
+        if (terms.isEmpty()) {
+            return List.of();
+        }
+        return conversations.computeIfAbsent(conversationId, this::load)
+                .search(terms, offset, limit);
+    }
+
+    private ConversationIndex load(Integer conversationId) {
+        ConversationIndex loaded = new ConversationIndex();
+        conversationLoader.apply(conversationId)
+                .forEach(message -> loaded.put(idExtractor.apply(message), tokenize(textExtractor.apply(message))));
+        return loaded;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    static Map<String, Integer> tokenize(String text) {
+        Map<String, Integer> frequencies = new HashMap<>();
+        Arrays.stream(DELIMITER.split(text.toLowerCase(Locale.ROOT)))
+                .filter(term -> !term.isEmpty())
+                .forEach(term -> frequencies.merge(term, 1, Integer::sum));
+        return frequencies;
+    }
+
+    private static final class ConversationIndex {
+        private final Map<String, Map<Long, Integer>> postings = new HashMap<>();
+        private final Map<Long, Map<String, Integer>> documents = new HashMap<>();
+
+        synchronized void put(Long messageId, Map<String, Integer> frequencies) {
+            remove(messageId);
+            documents.put(messageId, frequencies);
+            frequencies.forEach((term, frequency) -> postings.computeIfAbsent(term, key -> new HashMap<>())
+                    .put(messageId, frequency));
+        }
+
+        synchronized void remove(Long messageId) {
+            Map<String, Integer> frequencies = documents.remove(messageId);
+            if (frequencies != null) {
+                frequencies.keySet().forEach(term -> {
+                    Map<Long, Integer> posting = postings.get(term);
+                    posting.remove(messageId);
+                    if (posting.isEmpty()) {
+                        postings.remove(term);
+                    }
+                });
+            }
+        }
+
+        synchronized List<Long> search(List<String> terms, int offset, int limit) {
+            List<Map<Long, Integer>> termPostings = terms.stream()
+                    .map(term -> postings.getOrDefault(term, Map.of()))
+                    .sorted(Comparator.comparingInt(Map::size))
+                    .toList();
+            int documentCount = documents.size();
+            Map<Long, Double> scores = new HashMap<>();
+            termPostings.get(0).keySet().stream()
+                    .filter(messageId -> termPostings.stream().allMatch(posting -> posting.containsKey(messageId)))
+                    .forEach(messageId -> scores.put(messageId, termPostings.stream()
+                            .mapToDouble(posting -> posting.get(messageId)
+                                    * Math.log(1.0 + (double) documentCount / posting.size()))
+                            .sum()));
+            return scores.entrySet().stream()
+                    .sorted(Map.Entry.<Long, Double>comparingByValue().reversed()
+                            .thenComparing(Map.Entry.<Long, Double>comparingByKey().reversed()))
+                    .skip(offset)
+                    .limit(limit)
+                    .map(Map.Entry::getKey)
+                    .toList();
+        }
+    }
+}
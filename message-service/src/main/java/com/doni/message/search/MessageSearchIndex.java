@@ -0,0 +1,11 @@
+package com.doni.message.search;
+
+import java.util.List;
+
+public interface MessageSearchIndex<T> {
+    void index(T message);
+
+    void remove(T message);
+
+    List<Long> search(Integer conversationId, String query, int offset, int limit);
+}
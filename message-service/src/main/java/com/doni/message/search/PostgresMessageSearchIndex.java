@@ -0,0 +1,39 @@
+package com.doni.message.search;
+
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+
+import java.util.List;
+
+public class PostgresMessageSearchIndex<T> implements MessageSearchIndex<T> {
+    private final NamedParameterJdbcTemplate jdbcTemplate;
+    private final String searchSql;
+
+    public PostgresMessageSearchIndex(NamedParameterJdbcTemplate jdbcTemplate, String tableName, String conversationColumn) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.searchSql = """
+                select id from %s
+                where %s = :conversationId
+                  and to_tsvector('simple', text) @@ plainto_tsquery('simple', :query)
+                order by ts_rank(to_tsvector('simple', text), plainto_tsquery('simple', :query)) desc, id desc
+                offset :offset limit :limit
+                """.formatted(tableName, conversationColumn);
+    }
+
+    @Override
+    public void index(T message) {
+    }
+
+    @Override
+    public void remove(T message) {
+    }
+
+    @Override
+    public List<Long> search(Integer conversationId, String query, int offset, int limit) {
+        return jdbcTemplate.queryForList(searchSql, new MapSqlParameterSource()
+                .addValue("conversationId", conversationId)
+                .addValue("query", query)
+                .addValue("offset", offset)
+                .addValue("limit", limit), Long.class);
+    }
+}
@@ -0,0 +1,32 @@
+package com.doni.message.security;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientManager;
+
+import java.io.IOException;
+
+@RequiredArgsConstructor
+public class ClientCredentialsHttpRequestInterceptor implements ClientHttpRequestInterceptor {
+    private final OAuth2AuthorizedClientManager authorizedClientManager;
+    private final String registrationId;
+    private final String principal;
+
+    @Override
+    public ClientHttpResponse intercept(HttpRequest request, byte[] body, ClientHttpRequestExecution execution) throws IOException {
+        if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+            OAuth2AuthorizedClient authorizedClient = authorizedClientManager.authorize(OAuth2AuthorizeRequest
+                    .withClientRegistrationId(registrationId)
+                    .principal(principal)
+                    .build());
+            request.getHeaders().setBearerAuth(authorizedClient.getAccessToken().getTokenValue());
+        }
+        return execution.execute(request, body);
+    }
+}
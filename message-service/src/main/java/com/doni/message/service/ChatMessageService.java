@@ -1,6 +1,10 @@
 package com.doni.message.service;
 
+import com.doni.message.dto.ChatMessagePageDto;
+import com.doni.message.dto.ChatMessageCreateDto;
 import com.doni.message.dto.ChatMessageReadDto;
+import com.doni.message.dto.SearchCursor;
+import com.doni.message.dto.MessageCursor;
 import com.doni.message.entity.ChatMessage;
 
 import java.util.List;
@@ -9,8 +13,16 @@ import java.util.Optional;
 public interface ChatMessageService {
     List<ChatMessageReadDto> findChatMessagesByChatId(Integer chatId);
 
+    ChatMessagePageDto findChatMessagesByChatId(Integer chatId, MessageCursor cursor, int limit);
+
+    ChatMessagePageDto searchChatMessages(Integer chatId, String query, SearchCursor cursor, int limit);
+
+    void checkChatParticipant(Integer chatId);
+
     ChatMessageReadDto createChatMessage(String text, String userId, Integer chatId);
 
+    List<ChatMessageReadDto> createChatMessages(List<ChatMessageCreateDto> messages, String userId);
+
     Optional<ChatMessageReadDto> findChatMessage(Long messageId);
 
     void updateChatMessage(Long messageId, String text, String userId);
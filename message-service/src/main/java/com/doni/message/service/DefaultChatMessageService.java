@@ -1,27 +1,49 @@
 package com.doni.message.service;
 
+import com.doni.message.activity.ConversationActivityPublisher;
 import com.doni.message.client.ChatClient;
+import com.doni.message.dto.ChatMessagePageDto;
+import com.doni.message.dto.ChatMessageCreateDto;
 import com.doni.message.dto.ChatMessageReadDto;
+import com.doni.message.dto.MessageCursor;
 import com.doni.message.entity.ChatMessage;
 import com.doni.message.exception.UserIsNotChatParticipantException;
 import com.doni.message.exception.UserIsNotOwnerException;
 import com.doni.message.mapper.ChatMessageMapper;
 import com.doni.message.repository.ChatMessageRepository;
+import com.doni.message.subscription.ChatMessageCreatedEvent;
+import com.doni.message.ingestion.GroupCommitWriter;
+import com.doni.message.dto.SearchCursor;
+import com.doni.message.exception.InvalidSearchQueryException;
+import com.doni.message.search.MessageSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DefaultChatMessageService implements ChatMessageService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final ChatClient chatClient;
     private final ChatMessageMapper chatMessageMapper;
     private final ChatMessageRepository chatMessageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConversationActivityPublisher conversationActivityPublisher;
+    private final ObjectProvider<GroupCommitWriter<ChatMessage>> chatMessageGroupCommitWriter;
+    private final MessageSearchIndex<ChatMessage> chatMessageSearchIndex;
 
     @Override
     public List<ChatMessageReadDto> findChatMessagesByChatId(Integer chatId) {
@@ -36,7 +58,75 @@ public class DefaultChatMessageService implements ChatMessageService {
     }
 
     @Override
-    @Transactional
+    public ChatMessagePageDto findChatMessagesByChatId(Integer chatId, MessageCursor cursor, int limit) {
+        try {
+            chatClient.findChat(chatId)
+                    .orElseThrow(() -> new NoSuchElementException("message-api.chat-messages.read.errors.chat_is_not_found"));
+        } catch (HttpClientErrorException.BadRequest exception) {
+            throw new UserIsNotChatParticipantException("message-api.chat-messages.read.errors.user_is_not_chat_participant");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Limit fetchLimit = Limit.of(pageSize + 1);
+        List<ChatMessage> messages;
+        if (cursor == null) {
+            messages = chatMessageRepository.findAllByChatIdOrderByIdDesc(chatId, fetchLimit);
+        } else if (cursor.direction() == MessageCursor.Direction.BEFORE) {
+            messages = chatMessageRepository.findAllByChatIdAndIdLessThanOrderByIdDesc(chatId, cursor.messageId(), fetchLimit);
+        } else {
+            messages = chatMessageRepository.findAllByChatIdAndIdGreaterThanOrderByIdAsc(chatId, cursor.messageId(), fetchLimit);
+        }
+
+        String nextCursor = null;
+        if (messages.size() > pageSize) {
+            messages = messages.subList(0, pageSize);
+            Long lastId = messages.get(pageSize - 1).getId();
+            nextCursor = (cursor != null && cursor.direction() == MessageCursor.Direction.AFTER
+                    ? MessageCursor.after(lastId)
+                    : MessageCursor.before(lastId)).encode();
+        }
+        return new ChatMessagePageDto(chatMessageMapper.chatMessagesToChatMessageReadDtos(messages), nextCursor);
+    }
+
+    @Override
+    public ChatMessagePageDto searchChatMessages(Integer chatId, String query, SearchCursor cursor, int limit) {
+        try {
+            chatClient.findChat(chatId)
+                    .orElseThrow(() -> new NoSuchElementException("message-api.chat-messages.read.errors.chat_is_not_found"));
+        } catch (HttpClientErrorException.BadRequest exception) {
+            throw new UserIsNotChatParticipantException("message-api.chat-messages.read.errors.user_is_not_chat_participant");
+        }
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchQueryException("message-api.messages.search.errors.query_is_blank");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int offset = cursor == null ? 0 : cursor.offset();
+        List<Long> messageIds = chatMessageSearchIndex.search(chatId, query, offset, pageSize + 1);
+
+        String nextCursor = null;
+        if (messageIds.size() > pageSize) {
+            messageIds = messageIds.subList(0, pageSize);
+            nextCursor = new SearchCursor(offset + pageSize).encode();
+        }
+        Map<Long, ChatMessage> messagesById = chatMessageRepository.findAllById(messageIds).stream()
+                .collect(Collectors.toMap(ChatMessage::getId, Function.identity()));
+        List<ChatMessage> messages = messageIds.stream()
+                .map(messagesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new ChatMessagePageDto(chatMessageMapper.chatMessagesToChatMessageReadDtos(messages), nextCursor);
+    }
+
+    @Override
+    public void checkChatParticipant(Integer chatId) {
+        try {
+            chatClient.findChat(chatId)
+                    .orElseThrow(() -> new NoSuchElementException("message-api.chat-messages.read.errors.chat_is_not_found"));
+        } catch (HttpClientErrorException.BadRequest exception) {
+            throw new UserIsNotChatParticipantException("message-api.chat-messages.read.errors.user_is_not_chat_participant");
+        }
+    }
+
+    @Override
     public ChatMessageReadDto createChatMessage(String text, String userId, Integer chatId) {
         try {
             chatClient.findChat(chatId)
@@ -49,8 +139,46 @@ public class DefaultChatMessageService implements ChatMessageService {
                 .authorId(userId)
                 .chatId(chatId)
                 .build();
-        ChatMessage message = chatMessageRepository.save(chatMessage);
-        return chatMessageMapper.chatMessageToChatMessageReadDto(message);
+        GroupCommitWriter<ChatMessage> groupCommitWriter = chatMessageGroupCommitWriter.getIfAvailable();
+        ChatMessage message = groupCommitWriter != null
+                ? groupCommitWriter.write(chatMessage)
+                : chatMessageRepository.save(chatMessage);
+        chatMessageSearchIndex.index(message);
+        ChatMessageReadDto readDto = chatMessageMapper.chatMessageToChatMessageReadDto(message);
+        eventPublisher.publishEvent(new ChatMessageCreatedEvent(readDto));
+        conversationActivityPublisher.chatMessagesCreated(List.of(readDto));
+        return readDto;
+    }
+
+    @Override
+    @Transactional
+    public List<ChatMessageReadDto> createChatMessages(List<ChatMessageCreateDto> messages, String userId) {
+        List<Integer> chatIds = messages.stream()
+                .map(ChatMessageCreateDto::chatId)
+                .distinct()
+                .toList();
+        chatClient.checkChatMemberships(chatIds, userId)
+                .forEach(membership -> {
+                    switch (membership.status()) {
+                        case NOT_FOUND -> throw new NoSuchElementException("message-api.chat-messages.create.errors.chat_is_not_found");
+                        case NOT_MEMBER -> throw new UserIsNotChatParticipantException("message-api.chat-messages.create.errors.user_is_not_chat_participant");
+                        default -> {
+                        }
+                    }
+                });
+        List<ChatMessage> chatMessages = messages.stream()
+                .map(message -> ChatMessage.builder()
+                        .text(message.text())
+                        .authorId(userId)
+                        .chatId(message.chatId())
+                        .build())
+                .toList();
+        List<ChatMessage> saved = chatMessageRepository.saveAll(chatMessages);
+        saved.forEach(chatMessageSearchIndex::index);
+        List<ChatMessageReadDto> readDtos = chatMessageMapper.chatMessagesToChatMessageReadDtos(saved);
+        readDtos.forEach(readDto -> eventPublisher.publishEvent(new ChatMessageCreatedEvent(readDto)));
+        conversationActivityPublisher.chatMessagesCreated(readDtos);
+        return readDtos;
     }
 
     @Override
@@ -76,6 +204,7 @@ public class DefaultChatMessageService implements ChatMessageService {
                         throw new UserIsNotOwnerException("message-api.chat-messages.update.errors.user_is_not_owner");
                     }
                     chatMessage.setText(text);
+                    chatMessageSearchIndex.index(chatMessage);
                 });
     }
 
@@ -88,6 +217,7 @@ public class DefaultChatMessageService implements ChatMessageService {
                         throw new UserIsNotOwnerException("message-api.chat-messages.delete.errors.user_is_not_owner");
                     }
                     chatMessageRepository.deleteById(messageId);
+                    chatMessageSearchIndex.remove(chatMessage);
                 });
     }
 }
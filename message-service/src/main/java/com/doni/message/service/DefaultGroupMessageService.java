@@ -1,27 +1,51 @@
 package com.doni.message.service;
 
+import com.doni.message.activity.ConversationActivityPublisher;
 import com.doni.message.client.GroupClient;
+import com.doni.message.dto.GroupMessageCreateDto;
 import com.doni.message.dto.GroupMessageReadDto;
 import com.doni.message.entity.GroupMessage;
 import com.doni.message.exception.UserIsNotGroupParticipantException;
 import com.doni.message.exception.UserIsNotOwnerException;
 import com.doni.message.mapper.GroupMessageMapper;
 import com.doni.message.repository.GroupMessageRepository;
+import jakarta.persistence.EntityManager;
+import com.doni.message.subscription.GroupMessageCreatedEvent;
+import com.doni.message.ingestion.GroupCommitWriter;
+import com.doni.message.dto.GroupMessagePageDto;
+import com.doni.message.dto.SearchCursor;
+import com.doni.message.exception.InvalidSearchQueryException;
+import com.doni.message.search.MessageSearchIndex;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.client.HttpClientErrorException;
 
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
 public class DefaultGroupMessageService implements GroupMessageService {
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final GroupClient groupClient;
     private final GroupMessageMapper groupMessageMapper;
     private final GroupMessageRepository groupMessageRepository;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ConversationActivityPublisher conversationActivityPublisher;
+    private final ObjectProvider<GroupCommitWriter<GroupMessage>> groupMessageGroupCommitWriter;
+    private final MessageSearchIndex<GroupMessage> groupMessageSearchIndex;
+    private final EntityManager entityManager;
 
     @Override
     public List<GroupMessageReadDto> findGroupMessagesByGroupId(Integer groupId) {
@@ -36,7 +60,62 @@ public class DefaultGroupMessageService implements GroupMessageService {
     }
 
     @Override
-    @Transactional
+    @Transactional(readOnly = true)
+    public void exportGroupMessagesByGroupId(Integer groupId, Consumer<GroupMessageReadDto> consumer) {
+        try {
+            groupClient.findGroup(groupId)
+                    .orElseThrow(() -> new NoSuchElementException("message-api.group-messages.read.errors.group_is_not_found"));
+        } catch (HttpClientErrorException.BadRequest exception) {
+            throw new UserIsNotGroupParticipantException("message-api.group-messages.read.errors.user_is_not_group_participant");
+        }
+        try (Stream<GroupMessage> messages = groupMessageRepository.streamAllByGroupId(groupId)) {
+            messages.forEach(message -> {
+                consumer.accept(groupMessageMapper.groupMessageToGroupMessageReadDto(message));
+                entityManager.detach(message);
+            });
+        }
+    }
+
+    @Override
+    public GroupMessagePageDto searchGroupMessages(Integer groupId, String query, SearchCursor cursor, int limit) {
+        try {
+            groupClient.findGroup(groupId)
+                    .orElseThrow(() -> new NoSuchElementException("message-api.group-messages.read.errors.group_is_not_found"));
+        } catch (HttpClientErrorException.BadRequest exception) {
+            throw new UserIsNotGroupParticipantException("message-api.group-messages.read.errors.user_is_not_group_participant");
+        }
+        if (query == null || query.isBlank()) {
+            throw new InvalidSearchQueryException("message-api.messages.search.errors.query_is_blank");
+        }
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        int offset = cursor == null ? 0 : cursor.offset();
+        List<Long> messageIds = groupMessageSearchIndex.search(groupId, query, offset, pageSize + 1);
+
+        String nextCursor = null;
+        if (messageIds.size() > pageSize) {
+            messageIds = messageIds.subList(0, pageSize);
+            nextCursor = new SearchCursor(offset + pageSize).encode();
+        }
+        Map<Long, GroupMessage> messagesById = groupMessageRepository.findAllById(messageIds).stream()
+                .collect(Collectors.toMap(GroupMessage::getId, Function.identity()));
+        List<GroupMessage> messages = messageIds.stream()
+                .map(messagesById::get)
+                .filter(Objects::nonNull)
+                .toList();
+        return new GroupMessagePageDto(groupMessageMapper.groupMessagesToGroupMessagesReadDtos(messages), nextCursor);
+    }
+
+    @Override
+    public void checkGroupParticipant(Integer groupId) {
+        try {
+            groupClient.findGroup(groupId)
+                    .orElseThrow(() -> new NoSuchElementException("message-api.group-messages.read.errors.group_is_not_found"));
+        } catch (HttpClientErrorException.BadRequest exception) {
+            throw new UserIsNotGroupParticipantException("message-api.group-messages.read.errors.user_is_not_group_participant");
+        }
+    }
+
+    @Override
     public GroupMessageReadDto createGroupMessage(String text, String userId, Integer groupId) {
         try {
             groupClient.findGroup(groupId)
@@ -49,8 +128,46 @@ public class DefaultGroupMessageService implements GroupMessageService {
                 .authorId(userId)
                 .groupId(groupId)
                 .build();
-        GroupMessage message = groupMessageRepository.save(groupMessage);
-        return groupMessageMapper.groupMessageToGroupMessageReadDto(message);
+        GroupCommitWriter<GroupMessage> groupCommitWriter = groupMessageGroupCommitWriter.getIfAvailable();
+        GroupMessage message = groupCommitWriter != null
+                ? groupCommitWriter.write(groupMessage)
+                : groupMessageRepository.save(groupMessage);
+        groupMessageSearchIndex.index(message);
+        GroupMessageReadDto readDto = groupMessageMapper.groupMessageToGroupMessageReadDto(message);
+        eventPublisher.publishEvent(new GroupMessageCreatedEvent(readDto));
+        conversationActivityPublisher.groupMessagesCreated(List.of(readDto));
+        return readDto;
+    }
+
+    @Override
+    @Transactional
+    public List<GroupMessageReadDto> createGroupMessages(List<GroupMessageCreateDto> messages, String userId) {
+        List<Integer> groupIds = messages.stream()
+                .map(GroupMessageCreateDto::groupId)
+                .distinct()
+                .toList();
+        groupClient.checkGroupMemberships(groupIds, userId)
+                .forEach(membership -> {
+                    switch (membership.status()) {
+                        case NOT_FOUND -> throw new NoSuchElementException("message-api.group-messages.create.errors.group_is_not_found");
+                        case NOT_MEMBER -> throw new UserIsNotGroupParticipantException("message-api.group-messages.create.errors.user_is_not_group_participant");
+                        default -> {
+                        }
+                    }
+                });
+        List<GroupMessage> groupMessages = messages.stream()
+                .map(message -> GroupMessage.builder()
+                        .text(message.text())
+                        .authorId(userId)
+                        .groupId(message.groupId())
+                        .build())
+                .toList();
+        List<GroupMessage> saved = groupMessageRepository.saveAll(groupMessages);
+        saved.forEach(groupMessageSearchIndex::index);
+        List<GroupMessageReadDto> readDtos = groupMessageMapper.groupMessagesToGroupMessagesReadDtos(saved);
+        readDtos.forEach(readDto -> eventPublisher.publishEvent(new GroupMessageCreatedEvent(readDto)));
+        conversationActivityPublisher.groupMessagesCreated(readDtos);
+        return readDtos;
     }
 
     @Override
@@ -76,6 +193,7 @@ public class DefaultGroupMessageService implements GroupMessageService {
                         throw new UserIsNotOwnerException("message-api.group-messages.update.errors.user_is_not_owner");
                     }
                     groupMessage.setText(text);
+                    groupMessageSearchIndex.index(groupMessage);
                 });
     }
 
@@ -87,6 +205,7 @@ public class DefaultGroupMessageService implements GroupMessageService {
                         throw new UserIsNotOwnerException("message-api.group-messages.delete.errors.user_is_not_owner");
                     }
                     groupMessageRepository.deleteById(messageId);
+                    groupMessageSearchIndex.remove(groupMessage);
                 });
     }
 }
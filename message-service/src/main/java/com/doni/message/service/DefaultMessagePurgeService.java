@@ -0,0 +1,31 @@
+package com.doni.message.service;
+
+import com.doni.message.dto.MembershipChangeEventDto;
+import com.doni.message.entity.MessagePurgeTask;
+import com.doni.message.repository.MessagePurgeTaskRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+public class DefaultMessagePurgeService implements MessagePurgeService {
+    private final MessagePurgeTaskRepository messagePurgeTaskRepository;
+
+    @Override
+    @Transactional
+    public void schedulePurges(List<MembershipChangeEventDto> events) {
+        events.forEach(event -> {
+            switch (event.type()) {
+                case "CHAT_DELETED" -> messagePurgeTaskRepository.insertIfAbsent(
+                        MessagePurgeTask.Type.CHAT.name(), event.conversationId());
+                case "GROUP_DELETED" -> messagePurgeTaskRepository.insertIfAbsent(
+                        MessagePurgeTask.Type.GROUP.name(), event.conversationId());
+                default -> {
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,107 @@
+package com.doni.message.service;
+
+import com.doni.message.client.ChatClient;
+import com.doni.message.client.GroupClient;
+import com.doni.message.dto.UnreadCountReadDto;
+import com.doni.message.dto.UnreadCountsReadDto;
+import com.doni.message.entity.Chat;
+import com.doni.message.entity.ChatReadCursor;
+import com.doni.message.entity.Group;
+import com.doni.message.entity.GroupReadCursor;
+import com.doni.message.exception.InvalidCursorException;
+import com.doni.message.exception.UserIsNotChatParticipantException;
+import com.doni.message.exception.UserIsNotGroupParticipantException;
+import com.doni.message.repository.ChatMessageRepository;
+import com.doni.message.repository.ChatReadCursorRepository;
+import com.doni.message.repository.GroupMessageRepository;
+import com.doni.message.repository.GroupReadCursorRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class DefaultReadCursorService implements ReadCursorService {
+    private final ChatClient chatClient;
+    private final GroupClient groupClient;
+    private final ChatMessageRepository chatMessageRepository;
+    private final GroupMessageRepository groupMessageRepository;
+    private final ChatReadCursorRepository chatReadCursorRepository;
+    private final GroupReadCursorRepository groupReadCursorRepository;
+
+    @Override
+    @Transactional
+    public void updateChatReadCursor(Integer chatId, String userId, Long lastReadMessageId) {
+        try {
+            chatClient.findChat(chatId)
+                    .orElseThrow(() -> new NoSuchElementException("message-api.chat-messages.read.errors.chat_is_not_found"));
+        } catch (HttpClientErrorException.BadRequest exception) {
+            throw new UserIsNotChatParticipantException("message-api.chat-messages.read.errors.user_is_not_chat_participant");
+        }
+        if (!chatMessageRepository.existsByIdAndChatId(lastReadMessageId, chatId)) {
+            throw new InvalidCursorException("message-api.read-cursors.update.errors.message_is_not_in_conversation");
+        }
+        chatReadCursorRepository.insertIfAbsent(userId, chatId, lastReadMessageId);
+        chatReadCursorRepository.advance(userId, chatId, lastReadMessageId);
+    }
+
+    @Override
+    @Transactional
+    public void updateGroupReadCursor(Integer groupId, String userId, Long lastReadMessageId) {
+        try {
+            groupClient.findGroup(groupId)
+                    .orElseThrow(() -> new NoSuchElementException("message-api.group-messages.read.errors.group_is_not_found"));
+        } catch (HttpClientErrorException.BadRequest exception) {
+            throw new UserIsNotGroupParticipantException("message-api.group-messages.read.errors.user_is_not_group_participant");
+        }
+        if (!groupMessageRepository.existsByIdAndGroupId(lastReadMessageId, groupId)) {
+            throw new InvalidCursorException("message-api.read-cursors.update.errors.message_is_not_in_conversation");
+        }
+        groupReadCursorRepository.insertIfAbsent(userId, groupId, lastReadMessageId);
+        groupReadCursorRepository.advance(userId, groupId, lastReadMessageId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public UnreadCountsReadDto findUnreadCounts(String userId) {
+        List<Integer> chatIds = chatClient.findChats().stream()
+                .map(Chat::id)
+                .toList();
+        List<Integer> groupIds = groupClient.findGroups().stream()
+                .map(Group::id)
+                .toList();
+
+        List<UnreadCountReadDto> chats = List.of();
+        if (!chatIds.isEmpty()) {
+            Map<Integer, UnreadCountReadDto> unreadCounts = toMap(chatReadCursorRepository.countUnreadByChatIds(userId, chatIds));
+            Map<Integer, Long> cursors = chatReadCursorRepository.findAllByUserIdAndChatIdIn(userId, chatIds).stream()
+                    .collect(Collectors.toMap(ChatReadCursor::getChatId, ChatReadCursor::getLastReadMessageId));
+            chats = chatIds.stream()
+                    .map(chatId -> unreadCounts.getOrDefault(chatId, new UnreadCountReadDto(chatId, cursors.get(chatId), 0L)))
+                    .toList();
+        }
+
+        List<UnreadCountReadDto> groups = List.of();
+        if (!groupIds.isEmpty()) {
+            Map<Integer, UnreadCountReadDto> unreadCounts = toMap(groupReadCursorRepository.countUnreadByGroupIds(userId, groupIds));
+            Map<Integer, Long> cursors = groupReadCursorRepository.findAllByUserIdAndGroupIdIn(userId, groupIds).stream()
+                    .collect(Collectors.toMap(GroupReadCursor::getGroupId, GroupReadCursor::getLastReadMessageId));
+            groups = groupIds.stream()
+                    .map(groupId -> unreadCounts.getOrDefault(groupId, new UnreadCountReadDto(groupId, cursors.get(groupId), 0L)))
+                    .toList();
+        }
+        return new UnreadCountsReadDto(chats, groups);
+    }
+
+    private static Map<Integer, UnreadCountReadDto> toMap(List<UnreadCountReadDto> unreadCounts) {
+        return unreadCounts.stream()
+                .collect(Collectors.toMap(UnreadCountReadDto::conversationId, Function.identity()));
+    }
+}
@@ -1,16 +1,28 @@
 package com.doni.message.service;
 
+import com.doni.message.dto.GroupMessageCreateDto;
+import com.doni.message.dto.GroupMessagePageDto;
 import com.doni.message.dto.GroupMessageReadDto;
+import com.doni.message.dto.SearchCursor;
 import com.doni.message.entity.GroupMessage;
 
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface GroupMessageService {
     List<GroupMessageReadDto> findGroupMessagesByGroupId(Integer groupId);
 
+    void exportGroupMessagesByGroupId(Integer groupId, Consumer<GroupMessageReadDto> consumer);
+
+    GroupMessagePageDto searchGroupMessages(Integer groupId, String query, SearchCursor cursor, int limit);
+
+    void checkGroupParticipant(Integer groupId);
+
     GroupMessageReadDto createGroupMessage(String text, String userId, Integer groupId);
 
+    List<GroupMessageReadDto> createGroupMessages(List<GroupMessageCreateDto> messages, String userId);
+
     Optional<GroupMessageReadDto> findGroupMessage(Long messageId);
 
     void updateGroupMessage(Long messageId, String text, String userId);
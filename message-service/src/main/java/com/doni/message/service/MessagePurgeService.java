@@ -0,0 +1,9 @@
+package com.doni.message.service;
+
+import com.doni.message.dto.MembershipChangeEventDto;
+
+import java.util.List;
+
+public interface MessagePurgeService {
+    void schedulePurges(List<MembershipChangeEventDto> events);
+}
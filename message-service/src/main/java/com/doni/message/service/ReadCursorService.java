@@ -0,0 +1,11 @@
+package com.doni.message.service;
+
+import com.doni.message.dto.UnreadCountsReadDto;
+
+public interface ReadCursorService {
+    void updateChatReadCursor(Integer chatId, String userId, Long lastReadMessageId);
+
+    void updateGroupReadCursor(Integer groupId, String userId, Long lastReadMessageId);
+
+    UnreadCountsReadDto findUnreadCounts(String userId);
+}
@@ -0,0 +1,7 @@
+package com.doni.message.subscription;
+
+import com.doni.message.dto.ChatMessageReadDto;
+
+public record ChatMessageCreatedEvent(
+        ChatMessageReadDto message) {
+}
@@ -0,0 +1,7 @@
+package com.doni.message.subscription;
+
+import com.doni.message.dto.GroupMessageReadDto;
+
+public record GroupMessageCreatedEvent(
+        GroupMessageReadDto message) {
+}
@@ -0,0 +1,21 @@
+package com.doni.message.subscription;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+@Component
+@RequiredArgsConstructor
+public class MessageCreatedEventListener {
+    private final MessageSubscriptionRegistry messageSubscriptionRegistry;
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onChatMessageCreated(ChatMessageCreatedEvent event) {
+        messageSubscriptionRegistry.publishToChat(event.message());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onGroupMessageCreated(GroupMessageCreatedEvent event) {
+        messageSubscriptionRegistry.publishToGroup(event.message());
+    }
+}
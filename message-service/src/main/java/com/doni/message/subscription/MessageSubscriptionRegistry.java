@@ -0,0 +1,164 @@
+package com.doni.message.subscription;
+
+import com.doni.message.dto.ChatMessageReadDto;
+import com.doni.message.dto.GroupMessageReadDto;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.core.env.Environment;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.BiConsumer;
+import java.util.function.Supplier;
+
+@Component
+public class MessageSubscriptionRegistry implements DisposableBean {
+    private final ConcurrentMap<Integer, Set<MessageSubscriber>> chatSubscribers = new ConcurrentHashMap<>();
+    private final ConcurrentMap<Integer, Set<MessageSubscriber>> groupSubscribers = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final int queueCapacity;
+    private final long timeout;
+
+    public MessageSubscriptionRegistry(@Value("${vk.messages.subscriptions.delivery-threads:4}") int deliveryThreads,
+                                       @Value("${vk.messages.subscriptions.queue-capacity:256}") int queueCapacity,
+                                       @Value("${vk.messages.subscriptions.timeout:1800000}") long timeout,
+                                       Environment environment) {
+        if (Threading.VIRTUAL.isActive(environment)) {
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("message-delivery-");
+            executor.setVirtualThreads(true);
+            this.executor = executor;
+        } else {
+            ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+            executor.setCorePoolSize(deliveryThreads);
+            executor.setMaxPoolSize(deliveryThreads);
+            executor.setThreadNamePrefix("message-delivery-");
+            executor.initialize();
+            this.executor = executor;
+        }
+        this.queueCapacity = queueCapacity;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void destroy() {
+        chatSubscribers.values().forEach(set -> set.forEach(MessageSubscriber::close));
+        groupSubscribers.values().forEach(set -> set.forEach(MessageSubscriber::close));
+        if (executor instanceof ThreadPoolTaskExecutor threadPoolTaskExecutor) {
+            threadPoolTaskExecutor.shutdown();
+        } else if (executor instanceof SimpleAsyncTaskExecutor simpleAsyncTaskExecutor) {
+            simpleAsyncTaskExecutor.close();
+        }
+    }
+
+    public SseEmitter subscribeToChat(Integer chatId, JwtAuthenticationToken authentication) {
+        return subscribe(chatSubscribers, chatId, authentication);
+    }
+
+    public SseEmitter subscribeToGroup(Integer groupId, JwtAuthenticationToken authentication) {
+        return subscribe(groupSubscribers, groupId, authentication);
+    }
+
+    public void forEachChatSubscriber(BiConsumer<Integer, MessageSubscriber> action) {
+        chatSubscribers.forEach((chatId, set) -> set.forEach(subscriber -> action.accept(chatId, subscriber)));
+    }
+
+    public void forEachGroupSubscriber(BiConsumer<Integer, MessageSubscriber> action) {
+        groupSubscribers.forEach((groupId, set) -> set.forEach(subscriber -> action.accept(groupId, subscriber)));
+    }
+
+    public void closeChatSubscriptions(Integer chatId) {
+        close(chatSubscribers, chatId, null);
+    }
+
+    public void closeChatSubscriptions(Integer chatId, String userId) {
+        close(chatSubscribers, chatId, userId);
+    }
+
+    public void closeGroupSubscriptions(Integer groupId) {
+        close(groupSubscribers, groupId, null);
+    }
+
+    public void closeGroupSubscriptions(Integer groupId, String userId) {
+        close(groupSubscribers, groupId, userId);
+    }
+
+    public void publishToChat(ChatMessageReadDto message) {
+        publish(chatSubscribers, message.chatId(), () -> SseEmitter.event()
+                .id(String.valueOf(message.id()))
+                .name("chat-message")
+                .data(message)
+                .build());
+    }
+
+    public void publishToGroup(GroupMessageReadDto message) {
+        publish(groupSubscribers, message.groupId(), () -> SseEmitter.event()
+                .id(String.valueOf(message.id()))
+                .name("group-message")
+                .data(message)
+                .build());
+    }
+
+    public int countChatSubscribers(Integer chatId) {
+        return chatSubscribers.getOrDefault(chatId, Set.of()).size();
+    }
+
+    public int countGroupSubscribers(Integer groupId) {
+        return groupSubscribers.getOrDefault(groupId, Set.of()).size();
+    }
+
+    private SseEmitter subscribe(ConcurrentMap<Integer, Set<MessageSubscriber>> subscribers, Integer targetId,
+                                 JwtAuthenticationToken authentication) {
+        SseEmitter emitter = new SseEmitter(timeout);
+        MessageSubscriber subscriber = new MessageSubscriber(authentication, emitter, executor, queueCapacity);
+        subscribers.compute(targetId, (id, set) -> {
+            Set<MessageSubscriber> current = set != null ? set : ConcurrentHashMap.newKeySet();
+            current.add(subscriber);
+            return current;
+        });
+
+        Runnable unsubscribe = () -> subscribers.computeIfPresent(targetId, (id, set) -> {
+            set.remove(subscriber);
+            return set.isEmpty() ? null : set;
+        });
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(throwable -> subscriber.close());
+        return emitter;
+    }
+
+    private void close(ConcurrentMap<Integer, Set<MessageSubscriber>> subscribers, Integer targetId,
+                       String userId) {
+        List<MessageSubscriber> closed = new ArrayList<>();
+        subscribers.computeIfPresent(targetId, (id, set) -> {
+            set.removeIf(subscriber -> {
+                boolean matches = userId == null || userId.equals(subscriber.getUserId());
+                if (matches) {
+                    closed.add(subscriber);
+                }
+                return matches;
+            });
+            return set.isEmpty() ? null : set;
+        });
+        closed.forEach(MessageSubscriber::close);
+    }
+
+    private void publish(ConcurrentMap<Integer, Set<MessageSubscriber>> subscribers, Integer targetId,
+                         Supplier<Set<ResponseBodyEmitter.DataWithMediaType>> eventSupplier) {
+        Set<MessageSubscriber> targetSubscribers = subscribers.get(targetId);
+        if (targetSubscribers != null && !targetSubscribers.isEmpty()) {
+            Set<ResponseBodyEmitter.DataWithMediaType> event = eventSupplier.get();
+            targetSubscribers.forEach(subscriber -> subscriber.offer(event));
+        }
+    }
+}
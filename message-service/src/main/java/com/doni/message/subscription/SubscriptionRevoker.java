@@ -0,0 +1,40 @@
+package com.doni.message.subscription;
+
+import com.doni.message.client.CachingChatClient;
+import com.doni.message.client.CachingGroupClient;
+import com.doni.message.dto.MembershipChangeEventDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class SubscriptionRevoker {
+    private final MessageSubscriptionRegistry messageSubscriptionRegistry;
+    private final ObjectProvider<CachingChatClient> cachingChatClient;
+    private final ObjectProvider<CachingGroupClient> cachingGroupClient;
+
+    public void revoke(List<MembershipChangeEventDto> events) {
+        events.forEach(event -> {
+            switch (event.type()) {
+                case "CHAT_DELETED" -> {
+                    messageSubscriptionRegistry.closeChatSubscriptions(event.conversationId());
+                    cachingChatClient.ifAvailable(client -> client.evictChat(event.conversationId()));
+                }
+                case "GROUP_DELETED" -> {
+                    messageSubscriptionRegistry.closeGroupSubscriptions(event.conversationId());
+                    cachingGroupClient.ifAvailable(client -> client.evictGroup(event.conversationId()));
+                }
+                case "GROUP_MEMBER_REMOVED" -> {
+                    messageSubscriptionRegistry.closeGroupSubscriptions(event.conversationId(), event.userId());
+                    cachingGroupClient.ifAvailable(client ->
+                            client.evictGroupMember(event.conversationId(), event.userId()));
+                }
+                default -> {
+                }
+            }
+        });
+    }
+}
@@ -0,0 +1,135 @@
+package com.doni.message.subscription;
+
+import com.doni.message.client.ChatClient;
+import com.doni.message.client.GroupClient;
+import com.doni.message.entity.Membership;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.web.client.RestClientException;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+@Slf4j
+public class SubscriptionVerifier {
+    private final MessageSubscriptionRegistry messageSubscriptionRegistry;
+    private final ChatClient chatClient;
+    private final GroupClient groupClient;
+    private final Clock clock;
+    private final Counter revoked;
+
+    public SubscriptionVerifier(MessageSubscriptionRegistry messageSubscriptionRegistry,
+                                ChatClient chatClient,
+                                GroupClient groupClient,
+                                Clock clock,
+                                MeterRegistry meterRegistry) {
+        this.messageSubscriptionRegistry = messageSubscriptionRegistry;
+        this.chatClient = chatClient;
+        this.groupClient = groupClient;
+        this.clock = clock;
+        this.revoked = meterRegistry.counter("vk.messages.subscriptions.revoked");
+    }
+
+    public synchronized int verify() {
+        Map<String, UserSubscriptions> subscriptions = new HashMap<>();
+        messageSubscriptionRegistry.forEachChatSubscriber((chatId, subscriber) ->
+                subscriptions.computeIfAbsent(subscriber.getUserId(), userId -> new UserSubscriptions())
+                        .add(subscriber, chatId, null));
+        messageSubscriptionRegistry.forEachGroupSubscriber((groupId, subscriber) ->
+                subscriptions.computeIfAbsent(subscriber.getUserId(), userId -> new UserSubscriptions())
+                        .add(subscriber, null, groupId));
+
+        int closed = 0;
+        for (Map.Entry<String, UserSubscriptions> entry : subscriptions.entrySet()) {
+            closed += verify(entry.getKey(), entry.getValue());
+        }
+        revoked.increment(closed);
+        return closed;
+    }
+
+    private int verify(String userId, UserSubscriptions subscriptions) {
+        if (subscriptions.authentication == null) {
+            return 0;
+        }
+        Instant expiresAt = subscriptions.authentication.getToken().getExpiresAt();
+        if (expiresAt != null && !expiresAt.isAfter(clock.instant())) {
+            subscriptions.chatIds.forEach(chatId -> messageSubscriptionRegistry.closeChatSubscriptions(chatId, userId));
+            subscriptions.groupIds.forEach(groupId -> messageSubscriptionRegistry.closeGroupSubscriptions(groupId, userId));
+            return subscriptions.chatIds.size() + subscriptions.groupIds.size();
+        }
+
+        int closed = 0;
+        if (!subscriptions.chatIds.isEmpty()) {
+            for (Membership membership : check(userId, subscriptions.authentication,
+                    () -> chatClient.checkChatMemberships(subscriptions.chatIds, userId))) {
+                if (membership.status() != Membership.Status.MEMBER) {
+                    messageSubscriptionRegistry.closeChatSubscriptions(membership.id(), userId);
+                    closed++;
+                }
+            }
+        }
+        if (!subscriptions.groupIds.isEmpty()) {
+            for (Membership membership : check(userId, subscriptions.authentication,
+                    () -> groupClient.checkGroupMemberships(subscriptions.groupIds, userId))) {
+                if (membership.status() != Membership.Status.MEMBER) {
+                    messageSubscriptionRegistry.closeGroupSubscriptions(membership.id(), userId);
+                    closed++;
+                }
+            }
+        }
+        return closed;
+    }
+
+    private List<Membership> check(String userId, JwtAuthenticationToken authentication,
+                                   Supplier<List<Membership>> memberships) {
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(authentication);
+        SecurityContextHolder.setContext(context);
+        try {
+            return memberships.get();
+        } catch (RestClientException exception) {
+            log.warn("Could not verify subscriptions of user {}", userId, exception);
+            return List.of();
+        } finally {
+            SecurityContextHolder.clearContext();
+        }
+    }
+
+    private static class UserSubscriptions {
+        private final Set<Integer> chatIds = new HashSet<>();
+        private final Set<Integer> groupIds = new HashSet<>();
+        private JwtAuthenticationToken authentication;
+
+        void add(MessageSubscriber subscriber, Integer chatId, Integer groupId) {
+            if (subscriber.isClosed()) {
+                return;
+            }
+            if (chatId != null) {
+                chatIds.add(chatId);
+            }
+            if (groupId != null) {
+                groupIds.add(groupId);
+            }
+            if (authentication == null || expiresLater(subscriber.getAuthentication(), authentication)) {
+                authentication = subscriber.getAuthentication();
+            }
+        }
+
+        private static boolean expiresLater(JwtAuthenticationToken candidate, JwtAuthenticationToken current) {
+            Instant candidateExpiresAt = candidate.getToken().getExpiresAt();
+            Instant currentExpiresAt = current.getToken().getExpiresAt();
+            return currentExpiresAt != null
+                    && (candidateExpiresAt == null || candidateExpiresAt.isAfter(currentExpiresAt));
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package com.doni.message.activity;
+
+import com.doni.message.client.ConversationActivityClient;
+import com.doni.message.dto.ChatMessageReadDto;
+import com.doni.message.dto.GroupMessageReadDto;
+import com.doni.message.entity.ConversationActivity;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ConversationActivityPublisherTest {
+
+    ConversationActivityClient client = mock(ConversationActivityClient.class);
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    ConversationActivityPublisher publisher = new ConversationActivityPublisher(client, 3, 2, meterRegistry);
+
+    @AfterEach
+    void tearDown() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+    }
+
+    @Test
+    void chatMessagesCreated_SeveralMessagesPerChat_SendsLatestPerChatOnFlush() {
+        publisher.chatMessagesCreated(List.of(
+                new ChatMessageReadDto(1L, "first", "j.dewar", 1),
+                new ChatMessageReadDto(3L, "third", "j.dewar", 1),
+                new ChatMessageReadDto(2L, "second", "j.dewar", 2)));
+
+        verifyNoInteractions(client);
+        assertEquals(2, publisher.flush());
+        verify(client).recordActivity(argThat(chats -> chats.size() == 2
+                && chats.contains(new ConversationActivity(1, 3L, "j.dewar", "third"))
+                && chats.contains(new ConversationActivity(2, 2L, "j.dewar", "second"))), eq(List.of()));
+    }
+
+    @Test
+    void groupMessagesCreated_TextIsLong_SendsTruncatedPreview() {
+        String text = "a".repeat(99) + "😀" + "b".repeat(10);
+
+        publisher.groupMessagesCreated(List.of(new GroupMessageReadDto(5L, text, "j.dewar", 3)));
+        publisher.flush();
+
+        verify(client).recordActivity(List.of(), List.of(new ConversationActivity(3, 5L, "j.dewar", "a".repeat(99))));
+    }
+
+    @Test
+    void chatMessagesCreated_TransactionIsActive_EnqueuesAfterCommit() {
+        TransactionSynchronizationManager.initSynchronization();
+
+        publisher.chatMessagesCreated(List.of(new ChatMessageReadDto(1L, "text", "j.dewar", 1)));
+
+        assertEquals(0, publisher.flush());
+        TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        assertEquals(1, publisher.flush());
+        verify(client).recordActivity(List.of(new ConversationActivity(1, 1L, "j.dewar", "text")), List.of());
+    }
+
+    @Test
+    void flush_MessengerFails_RedeliversOnNextFlush() {
+        doThrow(new HttpClientErrorException(HttpStatus.SERVICE_UNAVAILABLE))
+                .doNothing()
+                .when(client).recordActivity(any(), any());
+        publisher.chatMessagesCreated(List.of(new ChatMessageReadDto(1L, "text", "j.dewar", 1)));
+
+        assertDoesNotThrow(() -> assertEquals(0, publisher.flush()));
+        publisher.chatMessagesCreated(List.of(new ChatMessageReadDto(2L, "newer", "j.dewar", 1)));
+        assertEquals(1, publisher.flush());
+
+        verify(client).recordActivity(List.of(new ConversationActivity(1, 2L, "j.dewar", "newer")), List.of());
+        assertEquals(1, meterRegistry.counter("vk.messages.activity.failed").count());
+    }
+
+    @Test
+    void flush_AuthorizationFails_DoesNotThrow() {
+        doThrow(new IllegalStateException("token endpoint unavailable")).when(client).recordActivity(any(), any());
+        publisher.chatMessagesCreated(List.of(new ChatMessageReadDto(1L, "text", "j.dewar", 1)));
+
+        assertDoesNotThrow(() -> publisher.flush());
+    }
+
+    @Test
+    void flush_MorePendingThanBatchSize_SendsSeveralBatches() {
+        publisher.chatMessagesCreated(List.of(
+                new ChatMessageReadDto(1L, "first", "j.dewar", 1),
+                new ChatMessageReadDto(2L, "second", "j.dewar", 2),
+                new ChatMessageReadDto(3L, "third", "j.dewar", 3)));
+
+        assertEquals(3, publisher.flush());
+        verify(client, times(2)).recordActivity(any(), eq(List.of()));
+    }
+
+    @Test
+    void chatMessagesCreated_PendingIsFull_DropsNewConversations() {
+        publisher.chatMessagesCreated(List.of(
+                new ChatMessageReadDto(1L, "first", "j.dewar", 1),
+                new ChatMessageReadDto(2L, "second", "j.dewar", 2),
+                new ChatMessageReadDto(3L, "third", "j.dewar", 3),
+                new ChatMessageReadDto(4L, "fourth", "j.dewar", 4),
+                new ChatMessageReadDto(5L, "fifth", "j.dewar", 1)));
+
+        assertEquals(3, publisher.flush());
+        assertEquals(1, meterRegistry.counter("vk.messages.activity.dropped").count());
+    }
+}
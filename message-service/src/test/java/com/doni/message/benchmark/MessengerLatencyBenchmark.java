@@ -0,0 +1,148 @@
+package com.doni.message.benchmark;
+
+import com.doni.message.MessageApplication;
+import com.github.tomakehurst.wiremock.WireMockServer;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.condition.JRE;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.jwt.JwtDecoder;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static com.github.tomakehurst.wiremock.core.WireMockConfiguration.wireMockConfig;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@EnabledForJreRange(min = JRE.JAVA_21)
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class MessengerLatencyBenchmark {
+    private static final int DOWNSTREAM_LATENCY_MILLIS = Integer.getInteger("benchmark.latency", 100);
+    private static final int CONCURRENCY = Integer.getInteger("benchmark.concurrency", 400);
+    private static final int REQUESTS = Integer.getInteger("benchmark.requests", 4000);
+    private static final int TOMCAT_MAX_THREADS = 50;
+
+    static WireMockServer messenger;
+
+    @BeforeAll
+    static void startMessenger() {
+        messenger = new WireMockServer(wireMockConfig()
+                .dynamicPort()
+                .containerThreads(CONCURRENCY + 50)
+                .asynchronousResponseEnabled(true)
+                .asynchronousResponseThreads(CONCURRENCY));
+        messenger.start();
+        messenger.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/1"))
+                .willReturn(WireMock.ok("""
+                        {"id": 1, "userId1": "j.daniels", "userId2": "j.dewar"}
+                        """)
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .withFixedDelay(DOWNSTREAM_LATENCY_MILLIS)));
+    }
+
+    @AfterAll
+    static void stopMessenger() {
+        messenger.stop();
+    }
+
+    @Test
+    void virtualThreads_SlowMessenger_OutperformPlatformThreads() throws Exception {
+        Result platformThreads = run("platform-threads", false);
+        Result virtualThreads = run("virtual-threads", true);
+
+        assertTrue(virtualThreads.throughput() > platformThreads.throughput(),
+                () -> "virtual threads %.0f req/s, platform threads %.0f req/s"
+                        .formatted(virtualThreads.throughput(), platformThreads.throughput()));
+    }
+
+    private Result run(String mode, boolean virtualThreads) throws Exception {
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(MessageApplication.class)
+                .profiles("test")
+                .initializers(applicationContext -> ((ConfigurableApplicationContext) applicationContext)
+                        .getBeanFactory().registerSingleton("benchmarkJwtDecoder", (JwtDecoder) token -> Jwt.withTokenValue(token)
+                                .header("alg", "none")
+                                .subject("j.dewar")
+                                .issuedAt(Instant.now())
+                                .expiresAt(Instant.now().plusSeconds(3600))
+                                .build()))
+                .run("--server.port=0",
+                        "--server.tomcat.threads.max=" + TOMCAT_MAX_THREADS,
+                        "--spring.threads.virtual.enabled=" + virtualThreads,
+                        "--spring.jpa.show-sql=false",
+                        "--spring.datasource.url=jdbc:h2:mem:benchmark_" + mode.replace('-', '_'),
+                        "--vk.services.messenger.url=" + messenger.baseUrl(),
+                        "--vk.services.messenger.max-connections=" + CONCURRENCY)) {
+            int port = ((WebServerApplicationContext) context).getWebServer().getPort();
+            HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:%d/message-api/chat-messages/by-chat-id/1".formatted(port)))
+                    .header(HttpHeaders.AUTHORIZATION, "Bearer benchmark")
+                    .build();
+            HttpClient httpClient = HttpClient.newBuilder()
+                    .executor(Executors.newFixedThreadPool(16))
+                    .build();
+
+            load(httpClient, request, REQUESTS / 10);
+            long started = System.nanoTime();
+            List<Long> latencies = load(httpClient, request, REQUESTS);
+            double elapsedSeconds = (System.nanoTime() - started) / 1e9;
+
+            Collections.sort(latencies);
+            Result result = new Result(REQUESTS / elapsedSeconds, percentile(latencies, 0.50), percentile(latencies, 0.99));
+            log.info("{} downstream={}ms concurrency={} requests={} throughput={} req/s p50={}ms p99={}ms",
+                    mode, DOWNSTREAM_LATENCY_MILLIS, CONCURRENCY, REQUESTS, Math.round(result.throughput()),
+                    result.p50(), result.p99());
+            return result;
+        }
+    }
+
+    private static List<Long> load(HttpClient httpClient, HttpRequest request, int requests) throws Exception {
+        ExecutorService clients = Executors.newFixedThreadPool(CONCURRENCY);
+        try {
+            List<Future<Long>> futures = new ArrayList<>(requests);
+            for (int i = 0; i < requests; i++) {
+                futures.add(clients.submit(() -> {
+                    long started = System.nanoTime();
+                    HttpResponse<Void> response = httpClient.send(request, HttpResponse.BodyHandlers.discarding());
+                    assertEquals(200, response.statusCode());
+                    return System.nanoTime() - started;
+                }));
+            }
+            List<Long> latencies = new ArrayList<>(requests);
+            for (Future<Long> future : futures) {
+                latencies.add(future.get());
+            }
+            return latencies;
+        } finally {
+            clients.shutdownNow();
+        }
+    }
+
+    private record Result(double throughput, double p50, double p99) {
+    }
+
+    private static double percentile(List<Long> sortedLatencies, double percentile) {
+        int index = (int) Math.ceil(percentile * sortedLatencies.size()) - 1;
+        return sortedLatencies.get(Math.max(index, 0)) / 1e6;
+    }
+}
@@ -0,0 +1,93 @@
+package com.doni.message.client;
+
+import com.doni.message.entity.Chat;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.client.HttpClientErrorException;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class CachingChatClientTest {
+
+    ChatClient delegate = mock(ChatClient.class);
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    CachingChatClient cachingChatClient = new CachingChatClient(delegate, new MembershipVerdictCache<>(
+            "messenger.chat-membership", 100, Duration.ofMinutes(5), Duration.ofSeconds(30), meterRegistry));
+
+    @BeforeEach
+    void setUp() {
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("j.dewar", null));
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    void findChat_ChatIsAllowed_CallsDelegateOnce() {
+        Chat chat = new Chat(1, "j.daniels", "j.dewar");
+        doReturn(Optional.of(chat)).when(delegate).findChat(1);
+
+        assertEquals(Optional.of(chat), cachingChatClient.findChat(1));
+        assertEquals(Optional.of(chat), cachingChatClient.findChat(1));
+
+        verify(delegate, times(1)).findChat(1);
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("cache", "messenger.chat-membership")
+                .tag("result", "hit").functionCounter().count());
+    }
+
+    @Test
+    void findChat_ChatDoesNotExist_CachesNotFound() {
+        doReturn(Optional.empty()).when(delegate).findChat(1);
+
+        assertTrue(cachingChatClient.findChat(1).isEmpty());
+        assertTrue(cachingChatClient.findChat(1).isEmpty());
+
+        verify(delegate, times(1)).findChat(1);
+    }
+
+    @Test
+    void findChat_UserIsNotChatParticipant_CachesDenied() {
+        doThrow(HttpClientErrorException.create(HttpStatus.BAD_REQUEST, "Bad Request", null, null, null))
+                .when(delegate).findChat(1);
+
+        assertThrows(HttpClientErrorException.BadRequest.class, () -> cachingChatClient.findChat(1));
+        assertThrows(HttpClientErrorException.BadRequest.class, () -> cachingChatClient.findChat(1));
+
+        verify(delegate, times(1)).findChat(1);
+    }
+
+    @Test
+    void findChat_OtherUser_CallsDelegateAgain() {
+        doReturn(Optional.of(new Chat(1, "j.daniels", "j.dewar"))).when(delegate).findChat(1);
+
+        cachingChatClient.findChat(1);
+        SecurityContextHolder.getContext().setAuthentication(new TestingAuthenticationToken("j.daniels", null));
+        cachingChatClient.findChat(1);
+
+        verify(delegate, times(2)).findChat(1);
+    }
+
+    @Test
+    void evictChat_CallsDelegateAgain() {
+        doReturn(Optional.of(new Chat(1, "j.daniels", "j.dewar"))).when(delegate).findChat(1);
+
+        cachingChatClient.findChat(1);
+        cachingChatClient.evictChat(1);
+        cachingChatClient.findChat(1);
+
+        verify(delegate, times(2)).findChat(1);
+    }
+}
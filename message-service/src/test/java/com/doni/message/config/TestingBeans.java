@@ -1,23 +1,36 @@
 package com.doni.message.config;
 
 import com.doni.message.client.RestClientChatClient;
+import com.doni.message.client.RestClientConversationActivityClient;
 import com.doni.message.client.RestClientGroupClient;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.security.oauth2.client.registration.ClientRegistration;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
 import org.springframework.security.oauth2.client.web.OAuth2AuthorizedClientRepository;
+import org.springframework.security.oauth2.core.AuthorizationGrantType;
 import org.springframework.web.client.RestClient;
 
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
 
 @Configuration
 public class TestingBeans {
 
     @Bean
     public ClientRegistrationRepository clientRegistrationRepository() {
-        return mock(ClientRegistrationRepository.class);
+        ClientRegistrationRepository clientRegistrationRepository = mock(ClientRegistrationRepository.class);
+        when(clientRegistrationRepository.findByRegistrationId("conversation-activity"))
+                .thenReturn(ClientRegistration.withRegistrationId("conversation-activity")
+                        .clientId("message-service-conversation-activity-client")
+                        .authorizationGrantType(AuthorizationGrantType.CLIENT_CREDENTIALS)
+                        .tokenUri("http://localhost:8082/realms/vk-spring24v1/protocol/openid-connect/token")
+                        .scope("conversation_activity")
+                        .build());
+        return clientRegistrationRepository;
     }
 
     @Bean
@@ -28,18 +41,33 @@ public class TestingBeans {
     @Bean
     @Primary
     public RestClientGroupClient testRestClientGroupClient(
-            @Value("${vk.services.messenger.url}") String baseUrl) {
+            @Value("${vk.services.messenger.url}") String baseUrl,
+            ClientHttpRequestFactory messengerClientHttpRequestFactory) {
         return new RestClientGroupClient(RestClient.builder()
                 .baseUrl(baseUrl)
+                .requestFactory(messengerClientHttpRequestFactory)
                 .build());
     }
 
     @Bean
     @Primary
     public RestClientChatClient testRestClientChatClient(
-            @Value("${vk.services.messenger.url}") String baseUrl) {
+            @Value("${vk.services.messenger.url}") String baseUrl,
+            ClientHttpRequestFactory messengerClientHttpRequestFactory) {
         return new RestClientChatClient(RestClient.builder()
                 .baseUrl(baseUrl)
+                .requestFactory(messengerClientHttpRequestFactory)
+                .build());
+    }
+
+    @Bean
+    @Primary
+    public RestClientConversationActivityClient testRestClientConversationActivityClient(
+            @Value("${vk.services.messenger.url}") String baseUrl,
+            ClientHttpRequestFactory messengerClientHttpRequestFactory) {
+        return new RestClientConversationActivityClient(RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestFactory(messengerClientHttpRequestFactory)
                 .build());
     }
 }
@@ -1,19 +1,29 @@
 package com.doni.message.controller;
 
+import com.doni.message.dto.ChatMessageReadDto;
+import com.doni.message.dto.MessageCursor;
+import com.doni.message.dto.SearchCursor;
+import com.doni.message.subscription.MessageSubscriptionRegistry;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -28,6 +38,9 @@ class ChatMessagesRestControllerIT {
     @Autowired
     MockMvc mockMvc;
 
+    @Autowired
+    MessageSubscriptionRegistry messageSubscriptionRegistry;
+
     @Test
     @Sql("/sql/chatMessages.sql")
     void getChatMessagesByChatId_UserIsAuthorized_ReturnsOk() throws Exception {
@@ -118,6 +131,262 @@ class ChatMessagesRestControllerIT {
                 );
     }
 
+    @Test
+    @Sql("/sql/chatMessages.sql")
+    void getChatMessagesPageByChatId_UserIsAuthorized_ReturnsNewestPageWithNextCursor() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/chat-messages/by-chat-id/1")
+                .param("limit", "2")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/1"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 1,
+                            "userId1": "j.daniels",
+                            "userId2": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                        {
+                            "messages": [
+                                {"id": 3, "text": "Text 3", "authorId": "j.daniels", "chatId": 1},
+                                {"id": 2, "text": "Text 2", "authorId": "j.dewar", "chatId": 1}
+                            ],
+                            "nextCursor": "%s"
+                        }
+                        """.formatted(MessageCursor.before(2L).encode()))
+                );
+    }
+
+    @Test
+    @Sql("/sql/chatMessages.sql")
+    void getChatMessagesPageByChatId_UserIsAuthorized_CursorIsLastPage_ReturnsPageWithoutNextCursor() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/chat-messages/by-chat-id/1")
+                .param("limit", "2")
+                .param("cursor", MessageCursor.before(2L).encode())
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/1"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 1,
+                            "userId1": "j.daniels",
+                            "userId2": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                        {
+                            "messages": [
+                                {"id": 1, "text": "Text 1", "authorId": "j.dewar", "chatId": 1}
+                            ],
+                            "nextCursor": null
+                        }
+                        """)
+                );
+    }
+
+    @Test
+    @Sql("/sql/chatMessages.sql")
+    void getChatMessagesPageByChatId_UserIsAuthorized_AfterIsSpecified_ReturnsNewerMessagesAscending() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/chat-messages/by-chat-id/1")
+                .param("limit", "1")
+                .param("after", "1")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/1"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 1,
+                            "userId1": "j.daniels",
+                            "userId2": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                        {
+                            "messages": [
+                                {"id": 2, "text": "Text 2", "authorId": "j.dewar", "chatId": 1}
+                            ],
+                            "nextCursor": "%s"
+                        }
+                        """.formatted(MessageCursor.after(2L).encode()))
+                );
+    }
+
+    @Test
+    void getChatMessagesPageByChatId_UserIsAuthorized_CursorIsInvalid_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/chat-messages/by-chat-id/1")
+                .param("limit", "2")
+                .param("cursor", "not-a-cursor")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                        {"detail": "Некорректный курсор пагинации"}
+                        """)
+                );
+    }
+
+    @Test
+    @Sql("/sql/searchMessages.sql")
+    void searchChatMessages_UserIsAuthorized_ReturnsMessagesOrderedByRelevance() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/chat-messages/by-chat-id/10/search")
+                .param("query", "Tomorrow")
+                .param("limit", "2")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/10"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 10,
+                            "userId1": "j.daniels",
+                            "userId2": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                        {
+                            "messages": [
+                                {"id": 103, "text": "Tomorrow, tomorrow, not today", "authorId": "j.dewar", "chatId": 10},
+                                {"id": 102, "text": "Tomorrow is busy, friday?", "authorId": "j.daniels", "chatId": 10}
+                            ],
+                            "nextCursor": "czoy"
+                        }
+                        """, true)
+                );
+    }
+
+    @Test
+    @Sql("/sql/searchMessages.sql")
+    void searchChatMessages_UserIsAuthorized_CursorIsSpecified_ReturnsLastPage() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/chat-messages/by-chat-id/10/search")
+                .param("query", "tomorrow")
+                .param("limit", "2")
+                .param("cursor", new SearchCursor(2).encode())
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/10"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 10,
+                            "userId1": "j.daniels",
+                            "userId2": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("""
+                        {
+                            "messages": [
+                                {"id": 101, "text": "Meet tomorrow at the station", "authorId": "j.dewar", "chatId": 10}
+                            ],
+                            "nextCursor": null
+                        }
+                        """, true)
+                );
+    }
+
+    @Test
+    void searchChatMessages_UserIsAuthorized_QueryIsBlank_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/chat-messages/by-chat-id/10/search")
+                .param("query", "  ")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/10"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 10,
+                            "userId1": "j.daniels",
+                            "userId2": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                        {"detail": "Поисковый запрос не должен быть пустым"}
+                        """)
+                );
+    }
+
+    @Test
+    void subscribeToChatMessages_UserIsAuthorized_ReceivesPublishedMessage() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/chat-messages/by-chat-id/1/subscribe")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/1"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 1,
+                            "userId1": "j.daniels",
+                            "userId2": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        var result = mockMvc.perform(requestBuilder)
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        messageSubscriptionRegistry.publishToChat(new ChatMessageReadDto(5L, "Text 5", "j.daniels", 1));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(result.getResponse().getContentAsString())
+                        .contains("id:5")
+                        .contains("event:chat-message")
+                        .contains("\"text\":\"Text 5\""));
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    @Test
+    void subscribeToChatMessages_UserIsAuthorized_ChatDoesNotExist_ReturnsNotFound() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/chat-messages/by-chat-id/1/subscribe")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/1"))
+                .willReturn(WireMock.notFound().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotFound(),
+                        content().json("""
+                        {"detail": "Чат не найден"}
+                        """)
+                );
+    }
+
     @Test
     void createChatMessage_UserIsAuthorized_PayloadIsValid_ReturnsCreated() throws Exception {
         var requestBuilder = MockMvcRequestBuilders.post("/message-api/chat-messages")
@@ -350,6 +619,87 @@ class ChatMessagesRestControllerIT {
                 );
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void createChatMessages_UserIsAuthorized_PayloadIsValid_ChecksChatOnceAndReturnsCreated() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/message-api/chat-messages/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                {"messages": [{"text": "Text 1", "chatId": 1}, {"text": "Text 2", "chatId": 1}]}
+                """).with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.post(WireMock.urlPathEqualTo("/messenger-api/memberships/check"))
+                .withRequestBody(WireMock.equalToJson("""
+                        {"chats": [{"id": 1, "userId": "j.dewar"}]}
+                        """))
+                .willReturn(WireMock.ok("""
+                        {"chats": [{"id": 1, "userId": "j.dewar", "status": "MEMBER"}], "groups": []}
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isCreated(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.length()").value(2),
+                        jsonPath("$[0].text").value("Text 1"),
+                        jsonPath("$[1].text").value("Text 2"),
+                        jsonPath("$[*].authorId").value(everyItem(equalTo("j.dewar"))),
+                        jsonPath("$[*].id").value(everyItem(notNullValue()))
+                );
+
+        WireMock.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/messenger-api/memberships/check")));
+        WireMock.verify(0, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/messenger-api/chats/1")));
+    }
+
+    @Test
+    void createChatMessages_UserIsAuthorized_UserIsNotChatParticipant_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/message-api/chat-messages/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                {"messages": [{"text": "Text 1", "chatId": 1}]}
+                """).with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.post(WireMock.urlPathEqualTo("/messenger-api/memberships/check"))
+                .willReturn(WireMock.ok("""
+                        {"chats": [{"id": 1, "userId": "j.dewar", "status": "NOT_MEMBER"}], "groups": []}
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                        {"detail": "Вы не можете посылать сообщения в этот чат, так как не являетесь участником чата"}
+                        """)
+                );
+    }
+
+    @Test
+    void createChatMessages_UserIsAuthorized_PayloadIsInvalid_MessagesIsEmpty_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/message-api/chat-messages/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                {"messages": []}
+                """).with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                        {
+                            "detail": "Плохой запрос",
+                            "errors": [
+                                "Количество сообщений должно быть между 1 и 500"
+                            ]
+                        }
+                        """)
+                );
+    }
+
     @Test
     void createChatMessage_UserIsAuthorized_PayloadIsInvalid_ChatIdIsNull_ReturnsBadRequest() throws Exception {
         var requestBuilder = MockMvcRequestBuilders.post("/message-api/chat-messages")
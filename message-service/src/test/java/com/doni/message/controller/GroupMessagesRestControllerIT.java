@@ -1,24 +1,38 @@
 package com.doni.message.controller;
 
+import com.doni.message.dto.GroupMessageReadDto;
 import com.doni.message.repository.GroupMessageRepository;
+import com.doni.message.subscription.MessageSubscriptionRegistry;
+import com.doni.message.subscription.SubscriptionVerifier;
 import com.github.tomakehurst.wiremock.client.WireMock;
 import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.awaitility.Awaitility;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.everyItem;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Transactional
@@ -34,6 +48,12 @@ class GroupMessagesRestControllerIT {
     @Autowired
     GroupMessageRepository groupMessageRepository;
 
+    @Autowired
+    MessageSubscriptionRegistry messageSubscriptionRegistry;
+
+    @Autowired
+    SubscriptionVerifier subscriptionVerifier;
+
     @Test
     @Sql("/sql/groupMessages.sql")
     void getGroupMessagesByGroupId_UserIsAuthorized_ReturnsOk() throws Exception {
@@ -65,6 +85,55 @@ class GroupMessagesRestControllerIT {
                 );
     }
 
+    @Test
+    @Sql("/sql/groupMessages.sql")
+    void exportGroupMessagesByGroupId_UserIsAuthorized_ReturnsNdjson() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/group-messages/by-group-id/1/export")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/groups/1"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 1,
+                            "title": "Title",
+                            "description": "Description",
+                            "ownerId": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON),
+                        content().string("""
+                        {"id":1,"text":"Text 1","authorId":"j.dewar","groupId":1}
+                        {"id":2,"text":"Text 2","authorId":"j.dewar","groupId":1}
+                        {"id":3,"text":"Text 3","authorId":"j.daniels","groupId":1}
+                        """)
+                );
+    }
+
+    @Test
+    @Sql("/sql/groupMessages.sql")
+    void exportGroupMessagesByGroupId_UserIsAuthorized_GroupDoesNotExist_ReturnsNotFound() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/group-messages/by-group-id/1/export")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/groups/1"))
+                .willReturn(WireMock.notFound().withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotFound(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                        {"detail": "Группа не найдена"}
+                        """)
+                );
+    }
+
     @Test
     @Sql("/sql/groupMessages.sql")
     void getGroupMessagesByGroupId_UserIsAuthorized_UserIsNotGroupParticipant_ReturnsBadRequest() throws Exception {
@@ -118,6 +187,61 @@ class GroupMessagesRestControllerIT {
                 );
     }
 
+    @Test
+    @Sql("/sql/searchMessages.sql")
+    void searchGroupMessages_UserIsAuthorized_ReturnsMessagesOrderedByRelevance() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/group-messages/by-group-id/10/search")
+                .param("query", "release")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/groups/10"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 10,
+                            "title": "Title",
+                            "description": "Description",
+                            "ownerId": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                        {
+                            "messages": [
+                                {"id": 103, "text": "Release release release", "authorId": "j.dewar", "groupId": 10},
+                                {"id": 102, "text": "Who checks the release?", "authorId": "j.daniels", "groupId": 10},
+                                {"id": 101, "text": "Release is moved to tomorrow", "authorId": "j.dewar", "groupId": 10}
+                            ],
+                            "nextCursor": null
+                        }
+                        """, true)
+                );
+    }
+
+    @Test
+    void searchGroupMessages_UserIsAuthorized_GroupDoesNotExist_ReturnsNotFound() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/group-messages/by-group-id/10/search")
+                .param("query", "release")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/groups/10"))
+                .willReturn(WireMock.notFound()));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotFound(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                        {"detail": "Группа не найдена"}
+                        """)
+                );
+    }
+
     @Test
     void createGroupMessage_UserIsAuthorized_PayloadIsValid_ReturnsCreated() throws Exception {
         var requestBuilder = MockMvcRequestBuilders.post("/message-api/group-messages")
@@ -374,6 +498,62 @@ class GroupMessagesRestControllerIT {
         assertFalse(groupMessageRepository.findById(1L).isPresent());
     }
 
+    @Test
+    @DirtiesContext(methodMode = DirtiesContext.MethodMode.AFTER_METHOD)
+    void createGroupMessages_UserIsAuthorized_PayloadIsValid_ChecksGroupOnceAndReturnsCreated() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/message-api/group-messages/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                {"messages": [{"text": "Text 1", "groupId": 1}, {"text": "Text 2", "groupId": 1}]}
+                """).with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.post(WireMock.urlPathEqualTo("/messenger-api/memberships/check"))
+                .withRequestBody(WireMock.equalToJson("""
+                        {"groups": [{"id": 1, "userId": "j.dewar"}]}
+                        """))
+                .willReturn(WireMock.ok("""
+                        {"chats": [], "groups": [{"id": 1, "userId": "j.dewar", "status": "MEMBER"}]}
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isCreated(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.length()").value(2),
+                        jsonPath("$[0].text").value("Text 1"),
+                        jsonPath("$[1].text").value("Text 2"),
+                        jsonPath("$[*].groupId").value(everyItem(equalTo(1)))
+                );
+
+        WireMock.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/messenger-api/memberships/check")));
+        WireMock.verify(0, WireMock.getRequestedFor(WireMock.urlPathEqualTo("/messenger-api/groups/1")));
+    }
+
+    @Test
+    void createGroupMessages_UserIsAuthorized_GroupDoesNotExist_ReturnsNotFound() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/message-api/group-messages/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                {"messages": [{"text": "Text 1", "groupId": 1}]}
+                """).with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.post(WireMock.urlPathEqualTo("/messenger-api/memberships/check"))
+                .willReturn(WireMock.ok("""
+                        {"chats": [], "groups": [{"id": 1, "userId": "j.dewar", "status": "NOT_FOUND"}]}
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotFound(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                        {"detail": "При созданий сообщения произошла ошибка: Группа не существует"}
+                        """)
+                );
+    }
+
     @Test
     void createGroupMessage_UserIsAuthorized_PayloadIsInvalid_GroupIdIsNull_ReturnsBadRequest() throws Exception {
         var requestBuilder = MockMvcRequestBuilders.post("/message-api/group-messages")
@@ -410,4 +590,93 @@ class GroupMessagesRestControllerIT {
 
         assertFalse(groupMessageRepository.findById(1L).isPresent());
     }
-}
\ No newline at end of file
+
+    @Test
+    void subscribeToGroupMessages_UserIsAuthorized_ReceivesPublishedMessage() throws Exception {
+        stubGroup(7);
+
+        MvcResult result = subscribeToGroup(7, "j.dewar");
+
+        messageSubscriptionRegistry.publishToGroup(new GroupMessageReadDto(5L, "Text 5", "j.daniels", 7));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(result.getResponse().getContentAsString())
+                        .contains("id:5")
+                        .contains("event:group-message")
+                        .contains("\"text\":\"Text 5\""));
+        assertThat(result.getResponse().getContentType()).startsWith(MediaType.TEXT_EVENT_STREAM_VALUE);
+    }
+
+    @Test
+    void subscribeToGroupMessages_UserIsKicked_SubscriptionIsClosed() throws Exception {
+        stubGroup(8);
+        MvcResult kicked = subscribeToGroup(8, "j.dewar");
+        MvcResult remaining = subscribeToGroup(8, "j.daniels");
+        assertEquals(2, messageSubscriptionRegistry.countGroupSubscribers(8));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/message-api/membership-events")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"events": [
+                                    {"id": 1, "type": "GROUP_MEMBER_REMOVED", "conversationId": 8, "userId": "j.dewar", "createdAt": "2024-03-01T10:00:00Z"}
+                                ]}
+                                """)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_membership_events"))))
+                .andExpect(status().isNoContent());
+
+        assertEquals(1, messageSubscriptionRegistry.countGroupSubscribers(8));
+        messageSubscriptionRegistry.publishToGroup(new GroupMessageReadDto(6L, "Text 6", "j.daniels", 8));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(remaining.getResponse().getContentAsString()).contains("id:6"));
+        assertThat(kicked.getResponse().getContentAsString()).doesNotContain("id:6");
+    }
+
+    @Test
+    void verifySubscriptions_UserIsNoLongerMember_SubscriptionIsClosed() throws Exception {
+        stubGroup(9);
+        MvcResult kicked = subscribeToGroup(9, "j.dewar");
+        MvcResult remaining = subscribeToGroup(9, "j.daniels");
+        stubGroupMembership(9, "j.dewar", "NOT_MEMBER");
+        stubGroupMembership(9, "j.daniels", "MEMBER");
+
+        assertEquals(1, subscriptionVerifier.verify());
+
+        assertEquals(1, messageSubscriptionRegistry.countGroupSubscribers(9));
+        messageSubscriptionRegistry.publishToGroup(new GroupMessageReadDto(7L, "Text 7", "j.daniels", 9));
+
+        Awaitility.await().atMost(Duration.ofSeconds(5)).untilAsserted(() ->
+                assertThat(remaining.getResponse().getContentAsString()).contains("id:7"));
+        assertThat(kicked.getResponse().getContentAsString()).doesNotContain("id:7");
+    }
+
+    private void stubGroupMembership(int groupId, String userId, String status) {
+        WireMock.stubFor(WireMock.post(WireMock.urlPathEqualTo("/messenger-api/memberships/check"))
+                .withRequestBody(WireMock.matchingJsonPath("$.groups[0].userId", WireMock.equalTo(userId)))
+                .willReturn(WireMock.ok("""
+                        {
+                            "groups": [{"id": %d, "userId": "%s", "status": "%s"}]
+                        }
+                        """.formatted(groupId, userId, status))
+                        .withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+    }
+
+    private void stubGroup(int groupId) {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/groups/" + groupId))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": %d,
+                            "title": "Title",
+                            "description": "Description",
+                            "ownerId": "j.daniels"
+                        }
+                        """.formatted(groupId)).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+    }
+
+    private MvcResult subscribeToGroup(int groupId, String userId) throws Exception {
+        return mockMvc.perform(MockMvcRequestBuilders.get("/message-api/group-messages/by-group-id/{groupId}/subscribe", groupId)
+                        .with(jwt().jwt(builder -> builder.subject(userId))))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+    }
+}
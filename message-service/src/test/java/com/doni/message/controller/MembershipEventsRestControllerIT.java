@@ -0,0 +1,105 @@
+package com.doni.message.controller;
+
+import com.doni.message.purge.MessagePurgeJob;
+import com.doni.message.repository.ChatMessageRepository;
+import com.doni.message.repository.GroupMessageRepository;
+import com.doni.message.repository.GroupReadCursorRepository;
+import com.doni.message.repository.MessagePurgeTaskRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Sql({"/sql/chatMessages.sql", "/sql/groupMessages.sql", "/sql/readCursors.sql"})
+class MembershipEventsRestControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MessagePurgeJob messagePurgeJob;
+
+    @Autowired
+    MessagePurgeTaskRepository messagePurgeTaskRepository;
+
+    @Autowired
+    ChatMessageRepository chatMessageRepository;
+
+    @Autowired
+    GroupMessageRepository groupMessageRepository;
+
+    @Autowired
+    GroupReadCursorRepository groupReadCursorRepository;
+
+    @Test
+    void acceptEvents_ClientHasScope_ConversationsAreDeleted_PurgesMessagesInBackground() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/message-api/membership-events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"events": [
+                            {"id": 1, "type": "CHAT_DELETED", "conversationId": 1, "userId": "j.dewar", "createdAt": "2024-03-01T10:00:00Z"},
+                            {"id": 2, "type": "CHAT_DELETED", "conversationId": 1, "userId": "j.daniels", "createdAt": "2024-03-01T10:00:00Z"},
+                            {"id": 3, "type": "GROUP_MEMBER_REMOVED", "conversationId": 2, "userId": "j.dewar", "createdAt": "2024-03-01T10:00:00Z"},
+                            {"id": 4, "type": "GROUP_DELETED", "conversationId": 2, "userId": "j.dewar", "createdAt": "2024-03-01T10:00:00Z"}
+                        ]}
+                        """)
+                .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_membership_events")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isNoContent()
+                );
+
+        assertEquals(2, messagePurgeTaskRepository.count());
+        assertEquals(3, chatMessageRepository.findAllByChatId(1).size());
+
+        int purged = 0;
+        for (int batch = messagePurgeJob.purge(); batch > 0; batch = messagePurgeJob.purge()) {
+            assertTrue(batch <= 2);
+            purged += batch;
+        }
+        assertEquals(4, purged);
+
+        assertTrue(chatMessageRepository.findAllByChatId(1).isEmpty());
+        assertEquals(1, chatMessageRepository.findAllByChatId(2).size());
+        assertTrue(groupMessageRepository.findAllByGroupId(2).isEmpty());
+        assertEquals(3, groupMessageRepository.findAllByGroupId(1).size());
+        assertTrue(groupReadCursorRepository.findAll().isEmpty());
+        assertEquals(0, messagePurgeTaskRepository.count());
+    }
+
+    @Test
+    void acceptEvents_ClientHasNoScope_ReturnsForbidden() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/message-api/membership-events")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"events": [{"id": 1, "type": "CHAT_DELETED", "conversationId": 1, "userId": "j.dewar"}]}
+                        """)
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isForbidden()
+                );
+
+        assertEquals(0, messagePurgeTaskRepository.count());
+    }
+}
@@ -0,0 +1,289 @@
+package com.doni.message.controller;
+
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WireMockTest(httpPort = 54321)
+class UnreadCountsRestControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    @Sql({"/sql/chatMessages.sql", "/sql/groupMessages.sql", "/sql/readCursors.sql"})
+    void getUnreadCounts_UserIsAuthorized_ReturnsOk() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/message-api/unread-counts")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats"))
+                .willReturn(WireMock.ok("""
+                        [
+                            {"id": 1, "userId1": "j.daniels", "userId2": "j.dewar"},
+                            {"id": 2, "userId1": "j.dewar", "userId2": "p.parker"},
+                            {"id": 3, "userId1": "j.dewar", "userId2": "t.stark"}
+                        ]
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/groups"))
+                .willReturn(WireMock.ok("""
+                        [
+                            {"id": 1, "title": "Title 1", "description": "Description 1", "ownerId": "j.daniels"},
+                            {"id": 2, "title": "Title 2", "description": "Description 2", "ownerId": "j.dewar"}
+                        ]
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                        {
+                            "chats": [
+                                {"conversationId": 1, "lastReadMessageId": 2, "unreadCount": 1},
+                                {"conversationId": 2, "lastReadMessageId": null, "unreadCount": 1},
+                                {"conversationId": 3, "lastReadMessageId": null, "unreadCount": 0}
+                            ],
+                            "groups": [
+                                {"conversationId": 1, "lastReadMessageId": null, "unreadCount": 3},
+                                {"conversationId": 2, "lastReadMessageId": 4, "unreadCount": 0}
+                            ]
+                        }
+                        """, true)
+                );
+    }
+
+    @Test
+    @Sql({"/sql/chatMessages.sql", "/sql/readCursors.sql"})
+    void updateChatReadCursor_UserIsAuthorized_PayloadIsValid_ReturnsNoContent() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.put("/message-api/chat-messages/by-chat-id/1/read-cursor")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"lastReadMessageId": 3}
+                        """);
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/1"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 1,
+                            "userId1": "j.daniels",
+                            "userId2": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats"))
+                .willReturn(WireMock.ok("""
+                        [
+                            {"id": 1, "userId1": "j.daniels", "userId2": "j.dewar"}
+                        ]
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/groups"))
+                .willReturn(WireMock.okJson("[]")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/message-api/unread-counts")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("""
+                        {
+                            "chats": [
+                                {"conversationId": 1, "lastReadMessageId": 3, "unreadCount": 0}
+                            ],
+                            "groups": []
+                        }
+                        """, true)
+                );
+    }
+
+    @Test
+    @Sql({"/sql/chatMessages.sql", "/sql/readCursors.sql"})
+    void updateChatReadCursor_UserIsAuthorized_CursorMovesBackwards_KeepsLatestCursor() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.put("/message-api/chat-messages/by-chat-id/1/read-cursor")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"lastReadMessageId": 1}
+                        """);
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/1"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 1,
+                            "userId1": "j.daniels",
+                            "userId2": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats"))
+                .willReturn(WireMock.ok("""
+                        [
+                            {"id": 1, "userId1": "j.daniels", "userId2": "j.dewar"}
+                        ]
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/groups"))
+                .willReturn(WireMock.okJson("[]")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/message-api/unread-counts")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("""
+                        {
+                            "chats": [
+                                {"conversationId": 1, "lastReadMessageId": 2, "unreadCount": 1}
+                            ],
+                            "groups": []
+                        }
+                        """, true)
+                );
+    }
+
+    @Test
+    void updateChatReadCursor_UserIsAuthorized_PayloadIsInvalid_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.put("/message-api/chat-messages/by-chat-id/1/read-cursor")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{}");
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                        {
+                            "errors": ["Идентификатор последнего прочитанного сообщения должен быть указан"]
+                        }
+                        """)
+                );
+    }
+
+    @Test
+    @Sql("/sql/chatMessages.sql")
+    void updateChatReadCursor_UserIsAuthorized_MessageIsNotInChat_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.put("/message-api/chat-messages/by-chat-id/1/read-cursor")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"lastReadMessageId": 999}
+                        """);
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/1"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 1,
+                            "userId1": "j.daniels",
+                            "userId2": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                        {"detail": "Сообщение не найдено в этой беседе"}
+                        """)
+                );
+    }
+
+    @Test
+    @Sql({"/sql/groupMessages.sql", "/sql/readCursors.sql"})
+    void updateGroupReadCursor_UserIsAuthorized_CursorDoesNotExist_CreatesCursor() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.put("/message-api/group-messages/by-group-id/1/read-cursor")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"lastReadMessageId": 2}
+                        """);
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/groups/1"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 1,
+                            "title": "Title",
+                            "description": "Description",
+                            "ownerId": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats"))
+                .willReturn(WireMock.okJson("[]")));
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/groups"))
+                .willReturn(WireMock.ok("""
+                        [
+                            {"id": 1, "title": "Title", "description": "Description", "ownerId": "j.dewar"}
+                        ]
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/message-api/unread-counts")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("""
+                        {
+                            "chats": [],
+                            "groups": [
+                                {"conversationId": 1, "lastReadMessageId": 2, "unreadCount": 1}
+                            ]
+                        }
+                        """, true)
+                );
+    }
+
+    @Test
+    void updateGroupReadCursor_UserIsAuthorized_GroupDoesNotExist_ReturnsNotFound() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.put("/message-api/group-messages/by-group-id/1/read-cursor")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")))
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"lastReadMessageId": 3}
+                        """);
+
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/groups/1"))
+                .willReturn(WireMock.notFound()));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isNotFound(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                );
+    }
+
+    @Test
+    void getUnreadCounts_UserIsNotAuthorized_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/message-api/unread-counts"))
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+}
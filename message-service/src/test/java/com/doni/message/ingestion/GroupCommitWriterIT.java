@@ -0,0 +1,109 @@
+package com.doni.message.ingestion;
+
+import com.doni.message.repository.ChatMessageRepository;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest(properties = {
+        "vk.messages.group-commit.enabled=true",
+        "spring.datasource.url=jdbc:h2:mem:vk_spring24v1_message_group_commit_db;MODE=PostgreSQL"
+})
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@WireMockTest(httpPort = 54321)
+class GroupCommitWriterIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ChatMessageRepository chatMessageRepository;
+
+    @AfterEach
+    void tearDown() {
+        chatMessageRepository.deleteAll();
+    }
+
+    @Test
+    void createChatMessage_GroupCommitIsEnabled_ConcurrentMessagesAreStored() throws Exception {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/1"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 1,
+                            "userId1": "j.daniels",
+                            "userId2": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<CompletableFuture<Integer>> statuses = new ArrayList<>();
+            IntStream.range(0, 20).forEach(i -> statuses.add(CompletableFuture.supplyAsync(() -> {
+                try {
+                    return mockMvc.perform(MockMvcRequestBuilders.post("/message-api/chat-messages")
+                                    .contentType(MediaType.APPLICATION_JSON)
+                                    .content("""
+                                            {"text": "Text %d", "chatId": 1}
+                                            """.formatted(i))
+                                    .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                            .andReturn()
+                            .getResponse()
+                            .getStatus();
+                } catch (Exception exception) {
+                    throw new IllegalStateException(exception);
+                }
+            }, executor)));
+
+            for (CompletableFuture<Integer> result : statuses) {
+                assertEquals(201, result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(20, chatMessageRepository.findAllByChatId(1).size());
+    }
+
+    @Test
+    void createChatMessage_GroupCommitIsEnabled_ReturnsCreated() throws Exception {
+        WireMock.stubFor(WireMock.get(WireMock.urlPathMatching("/messenger-api/chats/2"))
+                .willReturn(WireMock.ok("""
+                        {
+                            "id": 2,
+                            "userId1": "j.daniels",
+                            "userId2": "j.dewar"
+                        }
+                        """).withHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)));
+
+        mockMvc.perform(MockMvcRequestBuilders.post("/message-api/chat-messages")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"text": "Text", "chatId": 2}
+                                """)
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andExpect(status().isCreated());
+
+        assertEquals(1, chatMessageRepository.findAllByChatId(2).size());
+    }
+}
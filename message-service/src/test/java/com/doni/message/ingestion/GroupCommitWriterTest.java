@@ -0,0 +1,144 @@
+package com.doni.message.ingestion;
+
+import com.doni.message.exception.MessageIngestionOverloadedException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.UnaryOperator;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class GroupCommitWriterTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    List<Integer> batchSizes = Collections.synchronizedList(new ArrayList<>());
+
+    AtomicLong sequence = new AtomicLong();
+
+    GroupCommitWriter<String> writer;
+
+    @AfterEach
+    void tearDown() {
+        writer.stop();
+    }
+
+    @Test
+    void write_ConcurrentWrites_AreCommittedInBoundedBatches() throws Exception {
+        writer = newWriter(batch -> {
+            batchSizes.add(batch.size());
+            return batch.stream().map(value -> value + "#" + sequence.incrementAndGet()).toList();
+        }, 4, 100);
+        writer.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(10);
+        try {
+            List<CompletableFuture<String>> results = IntStream.range(0, 10)
+                    .mapToObj(i -> CompletableFuture.supplyAsync(() -> writer.write("message-" + i), executor))
+                    .toList();
+
+            for (int i = 0; i < 10; i++) {
+                assertTrue(results.get(i).get().startsWith("message-" + i + "#"));
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(10, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 4));
+        assertEquals(batchSizes.size(), meterRegistry.get("vk.messages.group-commit.batch.size")
+                .summary().count());
+    }
+
+    @Test
+    void write_BatchFails_RetriesOneByOneAndFailsOnlyBadMessage() {
+        writer = newWriter(batch -> {
+            if (batch.contains("bad")) {
+                throw new IllegalStateException("constraint violation");
+            }
+            return batch;
+        }, 10, 100);
+        writer.start();
+
+        assertEquals("good", writer.write("good"));
+        assertThrows(IllegalStateException.class, () -> writer.write("bad"));
+    }
+
+    @Test
+    void write_QueueIsFull_ThrowsOverloaded() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        writer = newWriter(batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return batch;
+        }, 1, 1);
+        writer.start();
+
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            executor.submit(() -> writer.write("first"));
+            executor.submit(() -> writer.write("second"));
+            Thread.sleep(200);
+
+            assertThrows(MessageIngestionOverloadedException.class, () -> writer.write("third"));
+        } finally {
+            release.countDown();
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void write_SaverThrowsError_FailsBatchAndKeepsWriting() {
+        writer = newWriter(batch -> {
+            if (batch.contains("fatal")) {
+                throw new AssertionError("writer failure");
+            }
+            return batch;
+        }, 10, 100);
+        writer.start();
+
+        IllegalStateException exception = assertThrows(IllegalStateException.class, () -> writer.write("fatal"));
+        assertInstanceOf(AssertionError.class, exception.getCause());
+        assertEquals("next", writer.write("next"));
+    }
+
+    @Test
+    void write_CommitExceedsTimeout_ThrowsOverloaded() {
+        CountDownLatch release = new CountDownLatch(1);
+        writer = newWriter(batch -> {
+            try {
+                release.await();
+            } catch (InterruptedException exception) {
+                Thread.currentThread().interrupt();
+            }
+            return batch;
+        }, 1, 10);
+        writer.start();
+
+        try {
+            assertThrows(MessageIngestionOverloadedException.class, () -> writer.write("slow"));
+        } finally {
+            release.countDown();
+        }
+    }
+
+    private GroupCommitWriter<String> newWriter(UnaryOperator<List<String>> saver, int batchSize, int queueCapacity) {
+        return new GroupCommitWriter<>("test", saver, TransactionOperations.withoutTransaction(),
+                batchSize, Duration.ofMillis(20), queueCapacity, Duration.ofMillis(50), Duration.ofMillis(500),
+                meterRegistry);
+    }
+}
@@ -0,0 +1,123 @@
+package com.doni.message.search;
+
+import com.doni.message.entity.ChatMessage;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class InMemoryMessageSearchIndexTest {
+
+    AtomicInteger loads = new AtomicInteger();
+
+    List<ChatMessage> storedMessages = List.of(
+            message(1L, 1, "Встречаемся завтра у метро"),
+            message(2L, 1, "Завтра, завтра, не сегодня"),
+            message(3L, 2, "Завтра у нас созвон"));
+
+    InMemoryMessageSearchIndex<ChatMessage> index = new InMemoryMessageSearchIndex<>(
+            ChatMessage::getId, ChatMessage::getChatId, ChatMessage::getText,
+            chatId -> {
+                loads.incrementAndGet();
+                return storedMessages.stream()
+                        .filter(message -> message.getChatId().equals(chatId))
+                        .toList();
+            });
+
+    @Test
+    void search_ConversationIsNotLoaded_LoadsItOnceAndRanksByTermFrequency() {
+        assertEquals(List.of(2L, 1L), index.search(1, "ЗАВТРА", 0, 10));
+        assertEquals(List.of(1L), index.search(1, "завтра метро", 0, 10));
+        assertEquals(List.of(1L), index.search(1, "завтра", 1, 10));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void index_MessageIsCreatedUpdatedAndRemoved_UpdatesConversationIncrementally() {
+        index.search(1, "завтра", 0, 10);
+
+        ChatMessage created = message(4L, 1, "Метро закрыто");
+        index.index(created);
+        assertEquals(List.of(4L, 1L), index.search(1, "метро", 0, 10));
+
+        created.setText("Автобус");
+        index.index(created);
+        assertEquals(List.of(1L), index.search(1, "метро", 0, 10));
+        assertEquals(List.of(4L), index.search(1, "автобус", 0, 10));
+
+        index.remove(created);
+        assertEquals(List.of(), index.search(1, "автобус", 0, 10));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void index_TransactionIsActive_AppliesOnlyAfterCommit() {
+        index.search(1, "завтра", 0, 10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(message(4L, 1, "Метро закрыто"));
+            assertEquals(List.of(1L), index.search(1, "метро", 0, 10));
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(4L, 1L), index.search(1, "метро", 0, 10));
+    }
+
+    @Test
+    void index_TransactionIsRolledBack_KeepsIndexUnchanged() {
+        index.search(1, "завтра", 0, 10);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            index.index(message(4L, 1, "Метро закрыто"));
+            TransactionSynchronizationManager.getSynchronizations().forEach(synchronization ->
+                    synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        assertEquals(List.of(1L), index.search(1, "метро", 0, 10));
+    }
+
+    @Test
+    void search_ConcurrentFirstSearches_LoadConversationOnce() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<List<Long>>> results = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> index.search(1, "завтра", 0, 10)));
+            }
+            for (Future<List<Long>> result : results) {
+                assertEquals(List.of(2L, 1L), result.get());
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void search_QueryHasNoTerms_ReturnsEmptyList() {
+        assertEquals(List.of(), index.search(1, " ,.! ", 0, 10));
+        assertEquals(0, loads.get());
+    }
+
+    static ChatMessage message(Long id, Integer chatId, String text) {
+        return ChatMessage.builder()
+                .id(id)
+                .chatId(chatId)
+                .authorId("j.dewar")
+                .text(text)
+                .build();
+    }
+}
@@ -0,0 +1,4 @@
+insert into chat_read_cursor(user_id, chat_id, last_read_message_id)
+values ('j.dewar', 1, 2);
+insert into group_read_cursor(user_id, group_id, last_read_message_id)
+values ('j.dewar', 2, 4);
@@ -0,0 +1,12 @@
+insert into chat_message(id, text, author_id, chat_id)
+values (101, 'Meet tomorrow at the station', 'j.dewar', 10),
+       (102, 'Tomorrow is busy, friday?', 'j.daniels', 10),
+       (103, 'Tomorrow, tomorrow, not today', 'j.dewar', 10),
+       (104, 'Buy cinema tickets', 'j.dewar', 10),
+       (105, 'Tomorrow we have a call', 'j.dewar', 11);
+
+insert into group_message(id, text, author_id, group_id)
+values (101, 'Release is moved to tomorrow', 'j.dewar', 10),
+       (102, 'Who checks the release?', 'j.daniels', 10),
+       (103, 'Release release release', 'j.dewar', 10),
+       (104, 'Lunch at one', 'j.dewar', 11);
@@ -0,0 +1,24 @@
+package com.doni.messenger.config;
+
+import com.doni.messenger.membership.MembershipIndex;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@EnableScheduling
+@ConditionalOnProperty(name = "vk.messenger.membership.index.sync.enabled", havingValue = "true", matchIfMissing = true)
+public class MembershipIndexBeans {
+
+    private final MembershipIndex membershipIndex;
+
+    public MembershipIndexBeans(MembershipIndex membershipIndex) {
+        this.membershipIndex = membershipIndex;
+    }
+
+    @Scheduled(fixedDelayString = "${vk.messenger.membership.index.sync.fixed-delay:PT1S}")
+    public void sync() {
+        membershipIndex.sync();
+    }
+}
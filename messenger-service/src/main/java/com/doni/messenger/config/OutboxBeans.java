@@ -0,0 +1,104 @@
+package com.doni.messenger.config;
+
+import com.doni.messenger.outbox.HttpMembershipChangeSubscriber;
+import com.doni.messenger.outbox.MembershipChangeSubscriber;
+import com.doni.messenger.outbox.MembershipOutboxRelay;
+import com.doni.messenger.repository.OutboxDeliveryRepository;
+import com.doni.messenger.repository.OutboxEventRepository;
+import com.doni.messenger.repository.OutboxSubscriberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.ClientHttpRequestFactories;
+import org.springframework.boot.web.client.ClientHttpRequestFactorySettings;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.oauth2.client.AuthorizedClientServiceOAuth2AuthorizedClientManager;
+import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
+import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
+import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.client.RestClient;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+@Configuration
+public class OutboxBeans {
+
+    @Bean
+    public MembershipOutboxRelay membershipOutboxRelay(
+            ObjectProvider<MembershipChangeSubscriber> listeners,
+            OutboxEventRepository outboxEventRepository,
+            OutboxDeliveryRepository outboxDeliveryRepository,
+            OutboxSubscriberRepository outboxSubscriberRepository,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            Environment environment,
+            ObjectProvider<ClientRegistrationRepository> clientRegistrationRepository,
+            ObjectProvider<OAuth2AuthorizedClientService> authorizedClientService,
+            @Value("${vk.messenger.outbox.client-registration-id:membership-events}") String clientRegistrationId,
+            @Value("${vk.messenger.outbox.batch-size:500}") int batchSize,
+            @Value("${vk.messenger.outbox.retention:PT10M}") Duration retention,
+            @Value("${vk.messenger.outbox.http.connect-timeout:PT2S}") Duration connectTimeout,
+            @Value("${vk.messenger.outbox.http.read-timeout:PT10S}") Duration readTimeout) {
+        List<MembershipChangeSubscriber> subscribers = new ArrayList<>(listeners.orderedStream().toList());
+        Map<String, String> httpSubscribers = Binder.get(environment)
+                .bind("vk.messenger.outbox.http-subscribers", Bindable.mapOf(String.class, String.class))
+                .orElse(Map.of());
+        if (!httpSubscribers.isEmpty() && !clientRegistrationId.isBlank()
+                && clientRegistrationRepository.getObject().findByRegistrationId(clientRegistrationId) == null) {
+            throw new IllegalStateException("Client registration %s for membership event subscribers is not configured"
+                    .formatted(clientRegistrationId));
+        }
+        httpSubscribers.forEach((name, url) -> {
+            RestClient.Builder builder = RestClient.builder()
+                    .baseUrl(url)
+                    .requestFactory(ClientHttpRequestFactories.get(ClientHttpRequestFactorySettings.DEFAULTS
+                            .withConnectTimeout(connectTimeout)
+                            .withReadTimeout(readTimeout)));
+            if (!clientRegistrationId.isBlank()) {
+                AuthorizedClientServiceOAuth2AuthorizedClientManager authorizedClientManager =
+                        new AuthorizedClientServiceOAuth2AuthorizedClientManager(
+                                clientRegistrationRepository.getObject(), authorizedClientService.getObject());
+                builder.requestInterceptor((request, body, execution) -> {
+                    OAuth2AuthorizedClient authorizedClient = authorizedClientManager.authorize(OAuth2AuthorizeRequest
+                            .withClientRegistrationId(clientRegistrationId)
+                            .principal("messenger-service")
+                            .build());
+                    request.getHeaders().setBearerAuth(authorizedClient.getAccessToken().getTokenValue());
+                    return execution.execute(request, body);
+                });
+            }
+            subscribers.add(new HttpMembershipChangeSubscriber(name, builder.build()));
+        });
+        return new MembershipOutboxRelay(subscribers, outboxEventRepository, outboxDeliveryRepository,
+                outboxSubscriberRepository, transactionTemplate, batchSize, retention, meterRegistry);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "vk.messenger.outbox.relay.enabled", havingValue = "true", matchIfMissing = true)
+    public static class OutboxRelaySchedulingBeans {
+
+        private final MembershipOutboxRelay membershipOutboxRelay;
+
+        public OutboxRelaySchedulingBeans(MembershipOutboxRelay membershipOutboxRelay) {
+            this.membershipOutboxRelay = membershipOutboxRelay;
+        }
+
+        @Scheduled(fixedDelayString = "${vk.messenger.outbox.relay.fixed-delay:PT1S}")
+        public void relay() {
+            membershipOutboxRelay.relay();
+        }
+    }
+}
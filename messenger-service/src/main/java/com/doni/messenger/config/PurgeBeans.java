@@ -0,0 +1,47 @@
+package com.doni.messenger.config;
+
+import com.doni.messenger.membership.MembershipIndex;
+import com.doni.messenger.purge.GroupPurgeJob;
+import com.doni.messenger.repository.GroupPurgeTaskRepository;
+import com.doni.messenger.repository.GroupRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Configuration
+public class PurgeBeans {
+
+    @Bean
+    public GroupPurgeJob groupPurgeJob(
+            GroupPurgeTaskRepository groupPurgeTaskRepository,
+            GroupRepository groupRepository,
+            MembershipIndex membershipIndex,
+            TransactionTemplate transactionTemplate,
+            MeterRegistry meterRegistry,
+            @Value("${vk.messenger.purge.batch-size:500}") int batchSize) {
+        return new GroupPurgeJob(groupPurgeTaskRepository, groupRepository, membershipIndex,
+                transactionTemplate, batchSize, meterRegistry);
+    }
+
+    @Configuration
+    @EnableScheduling
+    @ConditionalOnProperty(name = "vk.messenger.purge.enabled", havingValue = "true", matchIfMissing = true)
+    public static class PurgeSchedulingBeans {
+
+        private final GroupPurgeJob groupPurgeJob;
+
+        public PurgeSchedulingBeans(GroupPurgeJob groupPurgeJob) {
+            this.groupPurgeJob = groupPurgeJob;
+        }
+
+        @Scheduled(fixedDelayString = "${vk.messenger.purge.fixed-delay:PT1S}")
+        public void purge() {
+            groupPurgeJob.purge();
+        }
+    }
+}
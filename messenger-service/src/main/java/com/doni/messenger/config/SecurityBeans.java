@@ -2,6 +2,7 @@ package com.doni.messenger.config;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configurers.CsrfConfigurer;
@@ -16,6 +17,7 @@ public class SecurityBeans {
         return http
                 .authorizeHttpRequests(request -> request
                         .requestMatchers("/actuator/**").hasAuthority("SCOPE_metrics")
+                        .requestMatchers(HttpMethod.POST, "/messenger-api/activity").hasAuthority("SCOPE_conversation_activity")
                         .requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
                         .anyRequest().authenticated())
                 .sessionManagement(session -> session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
@@ -1,7 +1,11 @@
 package com.doni.messenger.controller;
 
 import com.doni.messenger.dto.GroupAddUserDto;
+import com.doni.messenger.dto.GroupAddUsersDto;
 import com.doni.messenger.dto.GroupKickUserDto;
+import com.doni.messenger.dto.GroupKickUsersDto;
+import com.doni.messenger.dto.GroupMemberChangeReadDto;
+import com.doni.messenger.dto.GroupMemberPageDto;
 import com.doni.messenger.dto.GroupReadDto;
 import com.doni.messenger.dto.GroupUpdateDto;
 import com.doni.messenger.entity.Group;
@@ -29,6 +33,7 @@ import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.List;
 import java.util.Locale;
 import java.util.NoSuchElementException;
 import java.util.Objects;
@@ -93,6 +98,55 @@ public class GroupRestController {
         return group;
     }
 
+    @GetMapping("/members")
+    @Operation(
+            summary = "Постраничное получение участников группы",
+            description = "Курсорная пагинация по идентификатору участника: after - участники, добавленные после " +
+                    "указанного, nextAfter в ответе - значение after для следующей страницы",
+            parameters = @Parameter(name = "groupId", schema = @Schema(implementation = Integer.class), in = ParameterIn.PATH),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Страница участников группы",
+                            useReturnTypeSchema = true
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Плохой запрос",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "У данного пользователя нету доступа к группе, так как он не является его участником",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Пользователь не является участником группы\",\n" +
+                                                    "  \"instance\": \"/messenger-api/groups/1/members\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "404", description = "Группа не найдена",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Not Found\",\n" +
+                                                    "  \"status\": 404,\n" +
+                                                    "  \"detail\": \"Такой группы не существует\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public GroupMemberPageDto getGroupMembers(@Parameter(hidden = true) @ModelAttribute("group") GroupReadDto group,
+                                              @RequestParam(value = "after", required = false) Integer after,
+                                              @RequestParam(value = "limit", defaultValue = "50") int limit) {
+        return groupService.findGroupMembers(group.id(), after, limit);
+    }
+
     @PatchMapping
     @Operation(
             summary = "Обновление группы",
@@ -436,6 +490,114 @@ public class GroupRestController {
         }
     }
 
+    @PatchMapping("/add-users")
+    @Operation(
+            summary = "Массовое добавление участников в группу",
+            description = "Для каждого пользователя возвращается результат: ADDED - добавлен, ALREADY_MEMBER - уже состоит в группе",
+            parameters = @Parameter(name = "groupId", schema = @Schema(implementation = Integer.class), in = ParameterIn.PATH),
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Валидное тело запроса",
+                                    value = "{\n" +
+                                            "   \"userIds\": [\"j.daniels\", \"j.black\"]\n" +
+                                            "}"
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Результаты добавления по каждому пользователю",
+                            useReturnTypeSchema = true
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Плохой запрос",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Пользователь не может добавить участников в группу, так как не является его владельцем",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Вы не можете добавить пользователя так, как не являетесь владельцем группы\",\n" +
+                                                    "  \"instance\": \"/messenger-api/groups/1/add-users\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public List<GroupMemberChangeReadDto> addUsers(@Parameter(hidden = true) @ModelAttribute("group") GroupReadDto group,
+                                                   @RequestBody @Valid GroupAddUsersDto payload,
+                                                   BindingResult bindingResult,
+                                                   JwtAuthenticationToken jwtAuthenticationToken) throws BindException {
+        if (bindingResult.hasErrors()) {
+            if (bindingResult instanceof BindException ex) {
+                throw ex;
+            } else {
+                throw new BindException(bindingResult);
+            }
+        } else {
+            return groupService.addUsers(group.id(), payload.userIds(), jwtAuthenticationToken.getToken().getSubject());
+        }
+    }
+
+    @DeleteMapping("/kick-users")
+    @Operation(
+            summary = "Массовый кик участников из группы",
+            description = "Для каждого пользователя возвращается результат: KICKED - кикнут, NOT_MEMBER - не состоял в группе",
+            parameters = @Parameter(name = "groupId", schema = @Schema(implementation = Integer.class), in = ParameterIn.PATH),
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Валидное тело запроса",
+                                    value = "{\n" +
+                                            "   \"userIds\": [\"j.daniels\", \"j.black\"]\n" +
+                                            "}"
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Результаты кика по каждому пользователю",
+                            useReturnTypeSchema = true
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Плохой запрос",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            name = "Пользователь не может кикнуть участников из группы, так как не является его владельцем",
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Вы не можете кикнуть пользователя так, как не являетесь владельцем группы\",\n" +
+                                                    "  \"instance\": \"/messenger-api/groups/1/kick-users\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public List<GroupMemberChangeReadDto> kickUsers(@Parameter(hidden = true) @ModelAttribute("group") GroupReadDto group,
+                                                    @RequestBody @Valid GroupKickUsersDto payload,
+                                                    BindingResult bindingResult,
+                                                    JwtAuthenticationToken jwtAuthenticationToken) throws BindException {
+        if (bindingResult.hasErrors()) {
+            if (bindingResult instanceof BindException ex) {
+                throw ex;
+            } else {
+                throw new BindException(bindingResult);
+            }
+        } else {
+            return groupService.kickUsers(group.id(), payload.userIds(), jwtAuthenticationToken.getToken().getSubject());
+        }
+    }
+
     @DeleteMapping("/leave-group")
     @Operation(
             summary = "Покинуть группу",
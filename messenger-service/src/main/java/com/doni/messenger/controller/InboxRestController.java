@@ -0,0 +1,118 @@
+package com.doni.messenger.controller;
+
+import com.doni.messenger.dto.ConversationActivitiesDto;
+import com.doni.messenger.dto.InboxPageDto;
+import com.doni.messenger.exception.InvalidCursorException;
+import com.doni.messenger.service.InboxService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.MessageSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ProblemDetail;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Locale;
+import java.util.Objects;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/messenger-api")
+@SecurityRequirement(name = "keycloak")
+public class InboxRestController {
+    private final InboxService inboxService;
+    private final MessageSource messageSource;
+
+    @GetMapping("/inbox")
+    @Operation(
+            summary = "Получение чатов и групп пользователя, отсортированных по времени последнего сообщения",
+            description = "Курсорная пагинация: nextCursor в ответе - значение cursor для следующей страницы",
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Страница входящих",
+                            useReturnTypeSchema = true
+                    ),
+                    @ApiResponse(
+                            responseCode = "400", description = "Некорректный курсор",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            value = "{\n" +
+                                                    "  \"type\": \"about:blank\",\n" +
+                                                    "  \"title\": \"Bad Request\",\n" +
+                                                    "  \"status\": 400,\n" +
+                                                    "  \"detail\": \"Некорректный курсор\",\n" +
+                                                    "  \"instance\": \"/messenger-api/inbox\"\n" +
+                                                    "}"
+                                    )
+                            )
+                    )
+            }
+    )
+    public InboxPageDto getInbox(@RequestParam(value = "cursor", required = false) String cursor,
+                                 @RequestParam(value = "limit", defaultValue = "50") int limit,
+                                 JwtAuthenticationToken jwtAuthenticationToken) {
+        return inboxService.findInbox(jwtAuthenticationToken.getToken().getSubject(), cursor, limit);
+    }
+
+    @PostMapping("/activity")
+    @Operation(
+            summary = "Обновление последней активности в чатах и группах",
+            description = "Вызывается message-service после создания сообщений. Доступно только клиентам со scope " +
+                    "conversation_activity. Активность учитывается только для чатов и групп, участником которых " +
+                    "является автор сообщения",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Валидное тело запроса",
+                                    value = "{\n" +
+                                            "  \"chats\": [{\"id\": 1, \"messageId\": 10, \"authorId\": \"j.dewar\", \"preview\": \"Hello\"}],\n" +
+                                            "  \"groups\": [{\"id\": 3, \"messageId\": 11, \"authorId\": \"j.dewar\", \"preview\": \"Hi all\"}]\n" +
+                                            "}"
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "204", description = "Активность обновлена"
+                    ),
+                    @ApiResponse(
+                            responseCode = "403", description = "У клиента нет scope conversation_activity"
+                    )
+            }
+    )
+    public ResponseEntity<Void> recordActivity(@RequestBody @Valid ConversationActivitiesDto payload,
+                                               BindingResult bindingResult) throws BindException {
+        if (bindingResult.hasErrors()) {
+            if (bindingResult instanceof BindException exception) {
+                throw exception;
+            } else {
+                throw new BindException(bindingResult);
+            }
+        } else {
+            inboxService.recordActivity(payload);
+            return ResponseEntity.noContent()
+                    .build();
+        }
+    }
+
+    @ExceptionHandler(InvalidCursorException.class)
+    public ResponseEntity<ProblemDetail> handleInvalidCursorException(InvalidCursorException exception,
+                                                                      Locale locale) {
+        ProblemDetail problemDetail = ProblemDetail.forStatusAndDetail(HttpStatus.BAD_REQUEST,
+                Objects.requireNonNull(messageSource.getMessage(exception.getMessage(), new Object[0],
+                        exception.getMessage(), locale)));
+        return ResponseEntity.badRequest()
+                .body(problemDetail);
+    }
+}
@@ -0,0 +1,107 @@
+package com.doni.messenger.controller;
+
+import com.doni.messenger.dto.MembershipQueryDto;
+import com.doni.messenger.dto.MembershipsCheckDto;
+import com.doni.messenger.dto.MembershipsReadDto;
+import com.doni.messenger.service.MembershipService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.media.Content;
+import io.swagger.v3.oas.annotations.media.ExampleObject;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+import org.springframework.validation.BindException;
+import org.springframework.validation.BindingResult;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequiredArgsConstructor
+@RequestMapping("/messenger-api/memberships")
+@SecurityRequirement(name = "keycloak")
+public class MembershipsRestController {
+    private static final String MEMBERSHIP_CHECK_AUTHORITY = "SCOPE_membership_check";
+
+    private final MembershipService membershipService;
+
+    @PostMapping("/check")
+    @Operation(
+            summary = "Пакетная проверка участия пользователей в чатах и группах",
+            description = "Если userId не указан, проверяется текущий пользователь. Проверка других пользователей " +
+                    "доступна только клиентам со scope membership_check",
+            requestBody = @io.swagger.v3.oas.annotations.parameters.RequestBody(
+                    content = @Content(
+                            mediaType = MediaType.APPLICATION_JSON_VALUE,
+                            examples = @ExampleObject(
+                                    name = "Валидное тело запроса",
+                                    value = "{\n" +
+                                            "  \"chats\": [{\"id\": 1}],\n" +
+                                            "  \"groups\": [{\"id\": 3}, {\"id\": 4, \"userId\": \"j.dewar\"}]\n" +
+                                            "}"
+                            )
+                    )
+            ),
+            responses = {
+                    @ApiResponse(
+                            responseCode = "200", description = "Результаты проверки в порядке запроса",
+                            content = @Content(
+                                    mediaType = MediaType.APPLICATION_JSON_VALUE,
+                                    examples = @ExampleObject(
+                                            value = "{\n" +
+                                                    "  \"chats\": [{\"id\": 1, \"userId\": \"j.dewar\", \"status\": \"MEMBER\"}],\n" +
+                                                    "  \"groups\": [\n" +
+                                                    "    {\"id\": 3, \"userId\": \"j.dewar\", \"status\": \"NOT_MEMBER\"},\n" +
+                                                    "    {\"id\": 4, \"userId\": \"j.dewar\", \"status\": \"NOT_FOUND\"}\n" +
+                                                    "  ]\n" +
+                                                    "}"
+                                    )
+                            )
+                    ),
+                    @ApiResponse(
+                            responseCode = "403", description = "Проверка других пользователей запрещена"
+                    )
+            }
+    )
+    public MembershipsReadDto checkMemberships(@RequestBody @Valid MembershipsCheckDto payload,
+                                               BindingResult bindingResult,
+                                               JwtAuthenticationToken jwtAuthenticationToken) throws BindException {
+        if (bindingResult.hasErrors()) {
+            if (bindingResult instanceof BindException ex) {
+                throw ex;
+            } else {
+                throw new BindException(bindingResult);
+            }
+        } else {
+            String userId = jwtAuthenticationToken.getToken().getSubject();
+            boolean mayCheckOthers = jwtAuthenticationToken.getAuthorities().stream()
+                    .map(GrantedAuthority::getAuthority)
+                    .anyMatch(MEMBERSHIP_CHECK_AUTHORITY::equals);
+            return new MembershipsReadDto(
+                    membershipService.checkChatMemberships(resolveQueries(payload.chats(), userId, mayCheckOthers)),
+                    membershipService.checkGroupMemberships(resolveQueries(payload.groups(), userId, mayCheckOthers)));
+        }
+    }
+
+    private static List<MembershipQueryDto> resolveQueries(List<MembershipQueryDto> queries, String userId, boolean mayCheckOthers) {
+        if (queries == null) {
+            return List.of();
+        }
+        return queries.stream()
+                .map(query -> {
+                    if (query.userId() == null) {
+                        return new MembershipQueryDto(query.id(), userId);
+                    }
+                    if (!query.userId().equals(userId) && !mayCheckOthers) {
+                        throw new AccessDeniedException("Checking memberships of other users requires the membership_check scope");
+                    }
+                    return query;
+                })
+                .toList();
+    }
+}
@@ -0,0 +1,13 @@
+package com.doni.messenger.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record ConversationActivitiesDto(
+        @Size(max = 1000, message = "{messenger-api.activity.errors.chats_has_invalid_size}")
+        List<@Valid ConversationActivityDto> chats,
+        @Size(max = 1000, message = "{messenger-api.activity.errors.groups_has_invalid_size}")
+        List<@Valid ConversationActivityDto> groups) {
+}
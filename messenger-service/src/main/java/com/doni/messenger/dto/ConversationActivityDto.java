@@ -0,0 +1,16 @@
+package com.doni.messenger.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+public record ConversationActivityDto(
+        @NotNull(message = "{messenger-api.activity.errors.id_is_null}")
+        Integer id,
+        @NotNull(message = "{messenger-api.activity.errors.message_id_is_null}")
+        Long messageId,
+        @NotNull(message = "{messenger-api.activity.errors.author_id_is_null}")
+        String authorId,
+        @NotNull(message = "{messenger-api.activity.errors.preview_is_null}")
+        @Size(max = 100, message = "{messenger-api.activity.errors.preview_has_invalid_size}")
+        String preview) {
+}
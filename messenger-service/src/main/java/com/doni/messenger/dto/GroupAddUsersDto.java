@@ -0,0 +1,12 @@
+package com.doni.messenger.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record GroupAddUsersDto(
+        @NotNull(message = "{messenger-api.groups.add-users.errors.user_ids_is_null}")
+        @Size(min = 1, max = 1000, message = "{messenger-api.groups.add-users.errors.user_ids_has_invalid_size}")
+        List<@NotNull(message = "{messenger-api.groups.add-users.errors.user_id_is_null}") String> userIds) {
+}
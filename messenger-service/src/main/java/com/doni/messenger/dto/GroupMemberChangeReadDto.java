@@ -0,0 +1,6 @@
+package com.doni.messenger.dto;
+
+public record GroupMemberChangeReadDto(
+        String userId,
+        GroupMemberChangeStatus status) {
+}
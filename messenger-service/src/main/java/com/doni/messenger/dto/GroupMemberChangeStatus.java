@@ -0,0 +1,5 @@
+package com.doni.messenger.dto;
+
+public enum GroupMemberChangeStatus {
+    ADDED, ALREADY_MEMBER, KICKED, NOT_MEMBER
+}
@@ -0,0 +1,8 @@
+package com.doni.messenger.dto;
+
+import java.util.List;
+
+public record GroupMemberPageDto(
+        List<GroupMemberReadDto> members,
+        Integer nextAfter) {
+}
@@ -0,0 +1,6 @@
+package com.doni.messenger.dto;
+
+public record GroupMembershipDto(
+        Integer groupId,
+        String userId) {
+}
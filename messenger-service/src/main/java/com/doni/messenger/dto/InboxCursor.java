@@ -0,0 +1,34 @@
+package com.doni.messenger.dto;
+
+import com.doni.messenger.entity.ConversationType;
+import com.doni.messenger.exception.InvalidCursorException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+public record InboxCursor(
+        Instant lastActivityAt,
+        ConversationType type,
+        Integer id) {
+
+    public String encode() {
+        String raw = "%s:%s:%d".formatted(lastActivityAt, type, id);
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static InboxCursor decode(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int idSeparator = raw.lastIndexOf(':');
+            int typeSeparator = raw.lastIndexOf(':', idSeparator - 1);
+            return new InboxCursor(
+                    Instant.parse(raw.substring(0, typeSeparator)),
+                    ConversationType.valueOf(raw.substring(typeSeparator + 1, idSeparator)),
+                    Integer.valueOf(raw.substring(idSeparator + 1)));
+        } catch (RuntimeException exception) {
+            throw new InvalidCursorException("messenger-api.inbox.errors.invalid_cursor", exception);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.doni.messenger.dto;
+
+import com.doni.messenger.entity.ConversationType;
+
+import java.time.Instant;
+
+public record InboxEntryReadDto(
+        ConversationType type,
+        Integer id,
+        String title,
+        Long lastMessageId,
+        String lastMessageAuthorId,
+        String lastMessagePreview,
+        Instant lastActivityAt) {
+}
@@ -0,0 +1,8 @@
+package com.doni.messenger.dto;
+
+import java.util.List;
+
+public record InboxPageDto(
+        List<InboxEntryReadDto> entries,
+        String nextCursor) {
+}
@@ -0,0 +1,9 @@
+package com.doni.messenger.dto;
+
+import com.doni.messenger.entity.MembershipChangeType;
+
+import java.time.Instant;
+
+public record MembershipChangeEventDto(Long id, MembershipChangeType type, Integer conversationId, String userId,
+                                       Instant createdAt) {
+}
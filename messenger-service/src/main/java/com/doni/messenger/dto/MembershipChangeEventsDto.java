@@ -0,0 +1,6 @@
+package com.doni.messenger.dto;
+
+import java.util.List;
+
+public record MembershipChangeEventsDto(List<MembershipChangeEventDto> events) {
+}
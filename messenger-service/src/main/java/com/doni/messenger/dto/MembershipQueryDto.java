@@ -0,0 +1,9 @@
+package com.doni.messenger.dto;
+
+import jakarta.validation.constraints.NotNull;
+
+public record MembershipQueryDto(
+        @NotNull(message = "{messenger-api.memberships.check.errors.id_is_null}")
+        Integer id,
+        String userId) {
+}
@@ -0,0 +1,7 @@
+package com.doni.messenger.dto;
+
+public record MembershipReadDto(
+        Integer id,
+        String userId,
+        MembershipStatus status) {
+}
@@ -0,0 +1,5 @@
+package com.doni.messenger.dto;
+
+public enum MembershipStatus {
+    MEMBER, NOT_MEMBER, NOT_FOUND
+}
@@ -0,0 +1,13 @@
+package com.doni.messenger.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record MembershipsCheckDto(
+        @Size(max = 1000, message = "{messenger-api.memberships.check.errors.chats_has_invalid_size}")
+        List<@Valid MembershipQueryDto> chats,
+        @Size(max = 1000, message = "{messenger-api.memberships.check.errors.groups_has_invalid_size}")
+        List<@Valid MembershipQueryDto> groups) {
+}
@@ -0,0 +1,8 @@
+package com.doni.messenger.dto;
+
+import java.util.List;
+
+public record MembershipsReadDto(
+        List<MembershipReadDto> chats,
+        List<MembershipReadDto> groups) {
+}
@@ -6,13 +6,21 @@ import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.ColumnDefault;
+
+import java.time.Instant;
 
 @Data
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
 @Entity
-@Table(name = "chat")
+@Table(name = "chat", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_chat_user_low_user_high", columnNames = {"user_low", "user_high"})
+}, indexes = {
+        @Index(name = "idx_chat_user_low_last_activity_at", columnList = "user_low, last_activity_at, id"),
+        @Index(name = "idx_chat_user_high_last_activity_at", columnList = "user_high, last_activity_at, id")
+})
 public class Chat {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -25,4 +33,14 @@ public class Chat {
     @Column(name = "user_id_2")
     @NotNull(message = "{messenger-api.chats.create.errors.user_id_is_null}")
     private String userId2;
+
+    @Column(name = "user_low", nullable = false)
+    private String userLow;
+
+    @Column(name = "user_high", nullable = false)
+    private String userHigh;
+
+    @ColumnDefault("timestamp with time zone '1970-01-01 00:00:00+00'")
+    @Column(name = "last_activity_at", nullable = false)
+    private Instant lastActivityAt;
 }
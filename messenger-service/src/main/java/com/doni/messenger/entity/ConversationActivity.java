@@ -0,0 +1,42 @@
+package com.doni.messenger.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "conversation_activity", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_conversation_activity_type_conversation_id", columnNames = {"type", "conversation_id"})
+})
+public class ConversationActivity {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "type", nullable = false)
+    private ConversationType type;
+
+    @Column(name = "conversation_id", nullable = false)
+    private Integer conversationId;
+
+    @Column(name = "last_message_id")
+    private Long lastMessageId;
+
+    @Column(name = "last_message_author_id")
+    private String lastMessageAuthorId;
+
+    @Column(name = "last_message_preview", length = 100)
+    private String lastMessagePreview;
+
+    @Column(name = "last_activity_at", nullable = false)
+    private Instant lastActivityAt;
+}
@@ -0,0 +1,6 @@
+package com.doni.messenger.entity;
+
+public enum ConversationType {
+    CHAT,
+    GROUP
+}
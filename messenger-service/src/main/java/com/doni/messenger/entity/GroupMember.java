@@ -3,14 +3,19 @@ package com.doni.messenger.entity;
 import jakarta.persistence.*;
 
 @Entity
-@Table(name = "t_group_member")
+@Table(name = "t_group_member", uniqueConstraints = {
+        @UniqueConstraint(name = "uk_group_member_group_id_user_id", columnNames = {"group_id", "user_id"})
+}, indexes = {
+        @Index(name = "idx_group_member_group_id_id", columnList = "group_id, id"),
+        @Index(name = "idx_group_member_user_id", columnList = "user_id")
+})
 public class GroupMember {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Integer id;
 
     @ManyToOne
-    @JoinColumn(name = "group_id")
+    @JoinColumn(name = "group_id", foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     private Group group;
 
     @Column(name = "user_id", nullable = false)
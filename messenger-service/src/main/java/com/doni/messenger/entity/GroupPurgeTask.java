@@ -0,0 +1,22 @@
+package com.doni.messenger.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "group_purge_task")
+public class GroupPurgeTask {
+    @Id
+    @Column(name = "group_id")
+    private Integer groupId;
+
+    @Column(name = "last_member_id", nullable = false)
+    private Integer lastMemberId;
+}
@@ -0,0 +1,9 @@
+package com.doni.messenger.entity;
+
+public enum MembershipChangeType {
+    CHAT_CREATED,
+    CHAT_DELETED,
+    GROUP_MEMBER_ADDED,
+    GROUP_MEMBER_REMOVED,
+    GROUP_DELETED
+}
@@ -0,0 +1,28 @@
+package com.doni.messenger.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_delivery", indexes = {
+        @Index(name = "idx_outbox_delivery_subscriber_event_id", columnList = "subscriber, event_id")
+})
+public class OutboxDelivery {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @Column(name = "subscriber", nullable = false)
+    private String subscriber;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "event_id", nullable = false)
+    private OutboxEvent event;
+}
@@ -0,0 +1,19 @@
+package com.doni.messenger.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+@Entity
+@Table(name = "outbox_subscriber")
+public class OutboxSubscriber {
+    @Id
+    @Column(name = "name")
+    private String name;
+}
@@ -3,12 +3,11 @@ package com.doni.messenger.mapper;
 import com.doni.messenger.dto.GroupReadDto;
 import com.doni.messenger.entity.Group;
 import org.mapstruct.Mapper;
-
-import java.util.List;
+import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface GroupMapper {
 
-    GroupReadDto entityToGroupReadDto(Group group);
-    List<GroupReadDto> entitiesToGroupReadDtos(List<Group> groups);
+    @Mapping(target = "memberCount", source = "memberCount")
+    GroupReadDto entityToGroupReadDto(Group group, long memberCount);
 }
@@ -0,0 +1,104 @@
+package com.doni.messenger.membership;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+class ConversationIndex {
+    private final ConcurrentMap<String, int[]> conversationIdsByUser = new ConcurrentHashMap<>();
+    private final Set<Integer> removedConversationIds = ConcurrentHashMap.newKeySet();
+    private final AtomicLong entries = new AtomicLong();
+    private final AtomicLong version;
+    private final Counter hits;
+    private final Counter misses;
+
+    ConversationIndex(String type, AtomicLong version, MeterRegistry meterRegistry) {
+        this.version = version;
+        Gauge.builder("messenger.membership.index.users", conversationIdsByUser, ConcurrentMap::size)
+                .tag("type", type)
+                .register(meterRegistry);
+        Gauge.builder("messenger.membership.index.entries", entries, AtomicLong::get)
+                .tag("type", type)
+                .register(meterRegistry);
+        this.hits = Counter.builder("messenger.membership.index.lookups")
+                .tag("type", type)
+                .tag("result", "hit")
+                .register(meterRegistry);
+        this.misses = Counter.builder("messenger.membership.index.lookups")
+                .tag("type", type)
+                .tag("result", "miss")
+                .register(meterRegistry);
+    }
+
+    boolean contains(String userId, int conversationId) {
+        if (!removedConversationIds.contains(conversationId)
+                && IntArraySets.contains(conversationIdsByUser.get(userId), conversationId)) {
+            hits.increment();
+            return true;
+        }
+        misses.increment();
+        return false;
+    }
+
+    void add(String userId, int conversationId) {
+        conversationIdsByUser.compute(userId, (key, ids) -> add(ids, conversationId));
+    }
+
+    void addIfUnchanged(String userId, int conversationId, long expectedVersion) {
+        conversationIdsByUser.compute(userId, (key, ids) ->
+                version.get() == expectedVersion ? add(ids, conversationId) : ids);
+    }
+
+    void remove(String userId, int conversationId) {
+        version.incrementAndGet();
+        conversationIdsByUser.computeIfPresent(userId, (key, ids) -> remove(ids, conversationId));
+    }
+
+    void removeConversation(int conversationId) {
+        removedConversationIds.add(conversationId);
+        version.incrementAndGet();
+    }
+
+    void removeMembers(int conversationId, Collection<String> userIds) {
+        userIds.forEach(userId -> conversationIdsByUser.computeIfPresent(userId, (key, ids) -> remove(ids, conversationId)));
+    }
+
+    void purgeConversation(int conversationId) {
+        conversationIdsByUser.keySet().forEach(userId ->
+                conversationIdsByUser.computeIfPresent(userId, (key, ids) -> remove(ids, conversationId)));
+        removedConversationIds.remove(conversationId);
+    }
+
+    void forgetConversation(int conversationId) {
+        removedConversationIds.remove(conversationId);
+    }
+
+    Set<Integer> removedConversationIds() {
+        return Set.copyOf(removedConversationIds);
+    }
+
+    private int[] add(int[] ids, int conversationId) {
+        if (removedConversationIds.contains(conversationId)) {
+            return ids;
+        }
+        int[] updated = IntArraySets.add(ids, conversationId);
+        if (updated != ids) {
+            entries.incrementAndGet();
+        }
+        return updated;
+    }
+
+    private int[] remove(int[] ids, int conversationId) {
+        int[] updated = IntArraySets.remove(ids, conversationId);
+        if (updated != ids) {
+            entries.decrementAndGet();
+        }
+        return updated;
+    }
+}
@@ -0,0 +1,45 @@
+package com.doni.messenger.membership;
+
+import java.util.Arrays;
+
+final class IntArraySets {
+    private IntArraySets() {
+    }
+
+    static boolean contains(int[] set, int value) {
+        return set != null && Arrays.binarySearch(set, value) >= 0;
+    }
+
+    static int[] add(int[] set, int value) {
+        if (set == null) {
+            return new int[]{value};
+        }
+        int index = Arrays.binarySearch(set, value);
+        if (index >= 0) {
+            return set;
+        }
+        int insertion = -index - 1;
+        int[] result = new int[set.length + 1];
+        System.arraycopy(set, 0, result, 0, insertion);
+        result[insertion] = value;
+        System.arraycopy(set, insertion, result, insertion + 1, set.length - insertion);
+        return result;
+    }
+
+    static int[] remove(int[] set, int value) {
+        if (set == null) {
+            return null;
+        }
+        int index = Arrays.binarySearch(set, value);
+        if (index < 0) {
+            return set;
+        }
+        if (set.length == 1) {
+            return null;
+        }
+        int[] result = new int[set.length - 1];
+        System.arraycopy(set, 0, result, 0, index);
+        System.arraycopy(set, index + 1, result, index, set.length - index - 1);
+        return result;
+    }
+}
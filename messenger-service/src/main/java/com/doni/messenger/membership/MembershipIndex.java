@@ -0,0 +1,204 @@
+package com.doni.messenger.membership;
+
+import com.doni.messenger.dto.ChatReadDto;
+import com.doni.messenger.dto.GroupMembershipDto;
+import com.doni.messenger.entity.GroupPurgeTask;
+import com.doni.messenger.entity.OutboxEvent;
+import com.doni.messenger.repository.ChatRepository;
+import com.doni.messenger.repository.GroupPurgeTaskRepository;
+import com.doni.messenger.repository.GroupRepository;
+import com.doni.messenger.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+@Slf4j
+@Component
+public class MembershipIndex implements SmartInitializingSingleton {
+    private final ChatRepository chatRepository;
+    private final GroupRepository groupRepository;
+    private final OutboxEventRepository outboxEventRepository;
+    private final GroupPurgeTaskRepository groupPurgeTaskRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int syncBatchSize;
+    private final Duration syncHorizon;
+    private final AtomicLong version = new AtomicLong();
+    private final ConversationIndex chats;
+    private final ConversationIndex groups;
+    private final Map<Long, Instant> pendingEventIds = new HashMap<>();
+    private Long lastEventId;
+
+    public MembershipIndex(ChatRepository chatRepository, GroupRepository groupRepository,
+                           OutboxEventRepository outboxEventRepository,
+                           GroupPurgeTaskRepository groupPurgeTaskRepository,
+                           PlatformTransactionManager transactionManager, MeterRegistry meterRegistry,
+                           @Value("${vk.messenger.membership.index.sync.batch-size:500}") int syncBatchSize,
+                           @Value("${vk.messenger.membership.index.sync.horizon:PT5M}") Duration syncHorizon) {
+        this.chatRepository = chatRepository;
+        this.groupRepository = groupRepository;
+        this.outboxEventRepository = outboxEventRepository;
+        this.groupPurgeTaskRepository = groupPurgeTaskRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.syncBatchSize = syncBatchSize;
+        this.syncHorizon = syncHorizon;
+        this.chats = new ConversationIndex("chat", version, meterRegistry);
+        this.groups = new ConversationIndex("group", version, meterRegistry);
+    }
+
+    @Override
+    public synchronized void afterSingletonsInstantiated() {
+        long started = System.nanoTime();
+        transactionTemplate.executeWithoutResult(status -> {
+            lastEventId = outboxEventRepository.findLastIdCreatedBefore(Instant.now().minus(syncHorizon))
+                    .orElse(null);
+            try (Stream<ChatReadDto> stream = chatRepository.streamAllChats()) {
+                stream.forEach(chat -> {
+                    chats.add(chat.userId1(), chat.id());
+                    chats.add(chat.userId2(), chat.id());
+                });
+            }
+            try (Stream<GroupMembershipDto> stream = groupRepository.streamAllMemberships()) {
+                stream.forEach(membership -> groups.add(membership.userId(), membership.groupId()));
+            }
+        });
+        log.info("Membership index warmed up in {} ms", (System.nanoTime() - started) / 1_000_000);
+    }
+
+    public synchronized int sync() {
+        return transactionTemplate.execute(status -> {
+            Instant now = Instant.now();
+            int applied = 0;
+            if (!pendingEventIds.isEmpty()) {
+                for (OutboxEvent event : outboxEventRepository.findAllById(pendingEventIds.keySet())) {
+                    pendingEventIds.remove(event.getId());
+                    apply(event);
+                    applied++;
+                }
+                Instant expired = now.minus(syncHorizon);
+                pendingEventIds.values().removeIf(noticedAt -> noticedAt.isBefore(expired));
+            }
+            List<OutboxEvent> batch;
+            do {
+                batch = outboxEventRepository.findByIdGreaterThanOrderById(lastEventId == null ? 0 : lastEventId,
+                        Limit.of(syncBatchSize));
+                for (OutboxEvent event : batch) {
+                    if (lastEventId != null) {
+                        for (long id = lastEventId + 1; id < event.getId(); id++) {
+                            pendingEventIds.put(id, now);
+                        }
+                    }
+                    lastEventId = event.getId();
+                    apply(event);
+                }
+                applied += batch.size();
+            } while (batch.size() == syncBatchSize);
+            Set<Integer> removedGroupIds = groups.removedConversationIds();
+            if (!removedGroupIds.isEmpty()) {
+                Set<Integer> purgingGroupIds = groupPurgeTaskRepository.findAllById(removedGroupIds).stream()
+                        .map(GroupPurgeTask::getGroupId)
+                        .collect(Collectors.toSet());
+                removedGroupIds.stream()
+                        .filter(groupId -> !purgingGroupIds.contains(groupId))
+                        .forEach(groups::purgeConversation);
+            }
+            return applied;
+        });
+    }
+
+    public boolean isChatMember(Integer chatId, String userId) {
+        return chats.contains(userId, chatId);
+    }
+
+    public boolean isGroupMember(Integer groupId, String userId) {
+        return groups.contains(userId, groupId);
+    }
+
+    public long version() {
+        return version.get();
+    }
+
+    public void chatCreated(Integer chatId, String userId1, String userId2) {
+        afterCommit(() -> {
+            chats.add(userId1, chatId);
+            chats.add(userId2, chatId);
+        });
+    }
+
+    public void chatDeleted(Integer chatId, String userId1, String userId2) {
+        afterCommit(() -> {
+            chats.remove(userId1, chatId);
+            chats.remove(userId2, chatId);
+        });
+    }
+
+    public void chatRepaired(Integer chatId, String userId1, String userId2, long readVersion) {
+        chats.addIfUnchanged(userId1, chatId, readVersion);
+        chats.addIfUnchanged(userId2, chatId, readVersion);
+    }
+
+    public void groupMembersAdded(Integer groupId, Collection<String> userIds) {
+        afterCommit(() -> userIds.forEach(userId -> groups.add(userId, groupId)));
+    }
+
+    public void groupMembersRemoved(Integer groupId, Collection<String> userIds) {
+        afterCommit(() -> userIds.forEach(userId -> groups.remove(userId, groupId)));
+    }
+
+    public void groupMemberRepaired(Integer groupId, String userId, long readVersion) {
+        groups.addIfUnchanged(userId, groupId, readVersion);
+    }
+
+    public void groupDeleted(Integer groupId) {
+        afterCommit(() -> groups.removeConversation(groupId));
+    }
+
+    public void groupMembersPurged(Integer groupId, Collection<String> userIds) {
+        groups.removeMembers(groupId, userIds);
+    }
+
+    public void groupPurged(Integer groupId) {
+        groups.forgetConversation(groupId);
+    }
+
+    private void apply(OutboxEvent event) {
+        switch (event.getType()) {
+            case CHAT_CREATED -> chats.add(event.getUserId(), event.getConversationId());
+            case CHAT_DELETED -> chats.remove(event.getUserId(), event.getConversationId());
+            case GROUP_MEMBER_ADDED -> groups.add(event.getUserId(), event.getConversationId());
+            case GROUP_MEMBER_REMOVED -> groups.remove(event.getUserId(), event.getConversationId());
+            case GROUP_DELETED -> groups.removeConversation(event.getConversationId());
+        }
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.doni.messenger.outbox;
+
+import com.doni.messenger.dto.MembershipChangeEventDto;
+import com.doni.messenger.dto.MembershipChangeEventsDto;
+import org.springframework.http.MediaType;
+import org.springframework.web.client.RestClient;
+
+import java.util.List;
+
+public class HttpMembershipChangeSubscriber implements MembershipChangeSubscriber {
+    private final String name;
+    private final RestClient restClient;
+
+    public HttpMembershipChangeSubscriber(String name, RestClient restClient) {
+        this.name = name;
+        this.restClient = restClient;
+    }
+
+    @Override
+    public String name() {
+        return name;
+    }
+
+    @Override
+    public void deliver(List<MembershipChangeEventDto> events) {
+        restClient.post()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(new MembershipChangeEventsDto(events))
+                .retrieve()
+                .toBodilessEntity();
+    }
+}
@@ -0,0 +1,12 @@
+package com.doni.messenger.outbox;
+
+import com.doni.messenger.dto.MembershipChangeEventDto;
+
+import java.util.List;
+
+public interface MembershipChangeSubscriber {
+
+    String name();
+
+    void deliver(List<MembershipChangeEventDto> events);
+}
@@ -0,0 +1,43 @@
+package com.doni.messenger.outbox;
+
+import com.doni.messenger.entity.MembershipChangeType;
+import com.doni.messenger.entity.OutboxEvent;
+import com.doni.messenger.repository.OutboxDeliveryRepository;
+import com.doni.messenger.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+
+@Component
+@RequiredArgsConstructor
+public class MembershipOutbox {
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDeliveryRepository outboxDeliveryRepository;
+    private final MembershipOutboxRelay membershipOutboxRelay;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(MembershipChangeType type, Integer conversationId, Collection<String> userIds) {
+        if (userIds.isEmpty()) {
+            return;
+        }
+        Instant now = Instant.now();
+        List<OutboxEvent> events = outboxEventRepository.saveAll(userIds.stream()
+                .map(userId -> OutboxEvent.builder()
+                        .type(type)
+                        .conversationId(conversationId)
+                        .userId(userId)
+                        .createdAt(now)
+                        .build())
+                .toList());
+        List<Long> eventIds = events.stream()
+                .map(OutboxEvent::getId)
+                .toList();
+        membershipOutboxRelay.subscriberNames()
+                .forEach(subscriber -> outboxDeliveryRepository.insertDeliveries(subscriber, eventIds));
+    }
+}
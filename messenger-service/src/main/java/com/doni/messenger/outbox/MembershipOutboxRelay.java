@@ -0,0 +1,98 @@
+package com.doni.messenger.outbox;
+
+import com.doni.messenger.dto.MembershipChangeEventDto;
+import com.doni.messenger.entity.OutboxDelivery;
+import com.doni.messenger.entity.OutboxEvent;
+import com.doni.messenger.repository.OutboxDeliveryRepository;
+import com.doni.messenger.repository.OutboxEventRepository;
+import com.doni.messenger.repository.OutboxSubscriberRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+@Slf4j
+public class MembershipOutboxRelay {
+    private final List<MembershipChangeSubscriber> subscribers;
+    private final OutboxEventRepository outboxEventRepository;
+    private final OutboxDeliveryRepository outboxDeliveryRepository;
+    private final OutboxSubscriberRepository outboxSubscriberRepository;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final Duration retention;
+    private final MeterRegistry meterRegistry;
+
+    public MembershipOutboxRelay(List<MembershipChangeSubscriber> subscribers,
+                                 OutboxEventRepository outboxEventRepository,
+                                 OutboxDeliveryRepository outboxDeliveryRepository,
+                                 OutboxSubscriberRepository outboxSubscriberRepository,
+                                 TransactionOperations transactionOperations,
+                                 int batchSize, Duration retention, MeterRegistry meterRegistry) {
+        this.subscribers = List.copyOf(subscribers);
+        this.outboxEventRepository = outboxEventRepository;
+        this.outboxDeliveryRepository = outboxDeliveryRepository;
+        this.outboxSubscriberRepository = outboxSubscriberRepository;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.retention = retention;
+        this.meterRegistry = meterRegistry;
+    }
+
+    public List<String> subscriberNames() {
+        return subscribers.stream()
+                .map(MembershipChangeSubscriber::name)
+                .toList();
+    }
+
+    public int relay() {
+        int delivered = 0;
+        for (MembershipChangeSubscriber subscriber : subscribers) {
+            delivered += transactionOperations.execute(status -> relay(subscriber));
+        }
+        Instant createdBefore = Instant.now().minus(retention);
+        transactionOperations.executeWithoutResult(status -> outboxEventRepository.deleteDelivered(createdBefore));
+        return delivered;
+    }
+
+    private int relay(MembershipChangeSubscriber subscriber) {
+        outboxSubscriberRepository.insertIfAbsent(subscriber.name());
+        if (outboxSubscriberRepository.lockIfAvailable(subscriber.name()).isEmpty()) {
+            return 0;
+        }
+        int delivered = 0;
+        while (true) {
+            List<OutboxDelivery> batch = outboxDeliveryRepository.findPending(subscriber.name(), Limit.of(batchSize));
+            if (batch.isEmpty()) {
+                return delivered;
+            }
+            try {
+                subscriber.deliver(batch.stream()
+                        .map(OutboxDelivery::getEvent)
+                        .map(MembershipOutboxRelay::toDto)
+                        .toList());
+            } catch (RuntimeException exception) {
+                log.warn("Delivery of {} membership change events to {} failed, will retry",
+                        batch.size(), subscriber.name(), exception);
+                meterRegistry.counter("messenger.outbox.relay.events",
+                        "subscriber", subscriber.name(), "result", "failed").increment(batch.size());
+                return delivered;
+            }
+            outboxDeliveryRepository.deleteAllInBatch(batch);
+            meterRegistry.counter("messenger.outbox.relay.events",
+                    "subscriber", subscriber.name(), "result", "delivered").increment(batch.size());
+            delivered += batch.size();
+            if (batch.size() < batchSize) {
+                return delivered;
+            }
+        }
+    }
+
+    private static MembershipChangeEventDto toDto(OutboxEvent event) {
+        return new MembershipChangeEventDto(event.getId(), event.getType(), event.getConversationId(),
+                event.getUserId(), event.getCreatedAt());
+    }
+}
@@ -0,0 +1,73 @@
+package com.doni.messenger.purge;
+
+import com.doni.messenger.dto.GroupMemberReadDto;
+import com.doni.messenger.entity.GroupPurgeTask;
+import com.doni.messenger.membership.MembershipIndex;
+import com.doni.messenger.repository.GroupPurgeTaskRepository;
+import com.doni.messenger.repository.GroupRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.support.TransactionOperations;
+
+import java.util.List;
+
+@Slf4j
+public class GroupPurgeJob {
+    private final GroupPurgeTaskRepository groupPurgeTaskRepository;
+    private final GroupRepository groupRepository;
+    private final MembershipIndex membershipIndex;
+    private final TransactionOperations transactionOperations;
+    private final int batchSize;
+    private final Counter purgedMembers;
+
+    public GroupPurgeJob(GroupPurgeTaskRepository groupPurgeTaskRepository, GroupRepository groupRepository,
+                         MembershipIndex membershipIndex, TransactionOperations transactionOperations,
+                         int batchSize, MeterRegistry meterRegistry) {
+        this.groupPurgeTaskRepository = groupPurgeTaskRepository;
+        this.groupRepository = groupRepository;
+        this.membershipIndex = membershipIndex;
+        this.transactionOperations = transactionOperations;
+        this.batchSize = batchSize;
+        this.purgedMembers = meterRegistry.counter("messenger.purge.group-members");
+    }
+
+    public synchronized int purge() {
+        for (GroupPurgeTask task : groupPurgeTaskRepository.findAll()) {
+            Integer groupId = task.getGroupId();
+            PurgedBatch batch = transactionOperations.execute(status -> purgeBatch(groupId));
+            if (batch == null) {
+                continue;
+            }
+            if (batch.completed()) {
+                membershipIndex.groupPurged(groupId);
+            } else if (!batch.userIds().isEmpty()) {
+                membershipIndex.groupMembersPurged(groupId, batch.userIds());
+                purgedMembers.increment(batch.userIds().size());
+                return batch.userIds().size();
+            }
+        }
+        return 0;
+    }
+
+    private PurgedBatch purgeBatch(Integer groupId) {
+        GroupPurgeTask task = groupPurgeTaskRepository.lockIfAvailable(groupId).orElse(null);
+        if (task == null) {
+            return null;
+        }
+        List<GroupMemberReadDto> members = groupRepository.findGroupMembersAfter(groupId, task.getLastMemberId(),
+                Limit.of(batchSize));
+        if (members.isEmpty()) {
+            log.info("Purged members of deleted group {}", groupId);
+            groupPurgeTaskRepository.delete(task);
+            return new PurgedBatch(List.of(), true);
+        }
+        groupRepository.deleteGroupMembersByIds(members.stream().map(GroupMemberReadDto::id).toList());
+        task.setLastMemberId(members.get(members.size() - 1).id());
+        return new PurgedBatch(members.stream().map(GroupMemberReadDto::userId).toList(), false);
+    }
+
+    private record PurgedBatch(List<String> userIds, boolean completed) {
+    }
+}
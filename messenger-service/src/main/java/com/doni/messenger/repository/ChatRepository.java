@@ -1,19 +1,37 @@
 package com.doni.messenger.repository;
 
+import com.doni.messenger.dto.ChatReadDto;
 import com.doni.messenger.entity.Chat;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
+import java.util.stream.Stream;
 
 @Repository
 public interface ChatRepository extends JpaRepository<Chat, Integer> {
 
-    List<Chat> findAllByUserId1OrUserId2(String userId1, String userId2);
+    @Query(value = "select * from chat where user_low = ?1 " +
+            "union all " +
+            "select * from chat where user_high = ?1 and user_low <> ?1 " +
+            "order by id", nativeQuery = true)
+    List<Chat> findAllByUserId(String userId);
 
-    @Query("select c from Chat c where c.userId1 = ?1 and c.userId2 = ?2 or c.userId1 = ?2 and c.userId2 = ?1")
-    Optional<Chat> findByUserId1AndUserId2OrUserId2AndAndUserId1(String userId1, String userId2);
+    Optional<Chat> findByUserLowAndUserHigh(String userLow, String userHigh);
+
+    @Modifying
+    @Query(value = "insert into chat(user_id_1, user_id_2, user_low, user_high, last_activity_at) " +
+            "values (?1, ?2, ?3, ?4, ?5) on conflict do nothing", nativeQuery = true)
+    int insertChatIfAbsent(String userId1, String userId2, String userLow, String userHigh, Instant lastActivityAt);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.doni.messenger.dto.ChatReadDto(c.id, c.userId1, c.userId2) from Chat c")
+    Stream<ChatReadDto> streamAllChats();
 }
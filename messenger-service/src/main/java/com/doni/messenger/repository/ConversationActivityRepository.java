@@ -0,0 +1,113 @@
+package com.doni.messenger.repository;
+
+import com.doni.messenger.entity.ConversationActivity;
+import com.doni.messenger.entity.ConversationType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface ConversationActivityRepository extends JpaRepository<ConversationActivity, Long> {
+
+    String INBOX_COLUMNS = """
+            select i.type as type, i.id as id, i.title as title,
+                   a.last_message_id as lastMessageId, a.last_message_author_id as lastMessageAuthorId,
+                   a.last_message_preview as lastMessagePreview, i.lastActivityAt as lastActivityAt
+            from (
+            """;
+
+    String INBOX_ORDER = """
+            ) i
+            left join conversation_activity a on a.type = i.type and a.conversation_id = i.id
+            order by i.lastActivityAt desc, i.type, i.id desc
+            limit :limit
+            """;
+
+    @Query(value = INBOX_COLUMNS + """
+                (select 'CHAT' as type, c.id as id, c.user_high as title, c.last_activity_at as lastActivityAt
+                 from chat c
+                 where c.user_low = :userId
+                 order by c.last_activity_at desc, c.id desc
+                 limit :limit)
+                union all
+                (select 'CHAT', c.id, c.user_low, c.last_activity_at
+                 from chat c
+                 where c.user_high = :userId and c.user_low <> :userId
+                 order by c.last_activity_at desc, c.id desc
+                 limit :limit)
+                union all
+                (select 'GROUP', g.id, g.title, a.last_activity_at
+                 from t_group_member gm
+                 join t_group g on g.id = gm.group_id
+                 join conversation_activity a on a.type = 'GROUP' and a.conversation_id = g.id
+                 where gm.user_id = :userId
+                 order by a.last_activity_at desc, g.id desc
+                 limit :limit)
+            """ + INBOX_ORDER, nativeQuery = true)
+    List<InboxEntryView> findInboxEntries(String userId, int limit);
+
+    @Query(value = INBOX_COLUMNS + """
+                (select 'CHAT' as type, c.id as id, c.user_high as title, c.last_activity_at as lastActivityAt
+                 from chat c
+                 where c.user_low = :userId and c.last_activity_at <= :lastActivityAt
+                   and (c.last_activity_at < :lastActivityAt or 'CHAT' > :type or ('CHAT' = :type and c.id < :id))
+                 order by c.last_activity_at desc, c.id desc
+                 limit :limit)
+                union all
+                (select 'CHAT', c.id, c.user_low, c.last_activity_at
+                 from chat c
+                 where c.user_high = :userId and c.user_low <> :userId and c.last_activity_at <= :lastActivityAt
+                   and (c.last_activity_at < :lastActivityAt or 'CHAT' > :type or ('CHAT' = :type and c.id < :id))
+                 order by c.last_activity_at desc, c.id desc
+                 limit :limit)
+                union all
+                (select 'GROUP', g.id, g.title, a.last_activity_at
+                 from t_group_member gm
+                 join t_group g on g.id = gm.group_id
+                 join conversation_activity a on a.type = 'GROUP' and a.conversation_id = g.id
+                 where gm.user_id = :userId and a.last_activity_at <= :lastActivityAt
+                   and (a.last_activity_at < :lastActivityAt or 'GROUP' > :type or ('GROUP' = :type and g.id < :id))
+                 order by a.last_activity_at desc, g.id desc
+                 limit :limit)
+            """ + INBOX_ORDER, nativeQuery = true)
+    List<InboxEntryView> findInboxEntriesAfter(String userId, Instant lastActivityAt, String type, Integer id, int limit);
+
+    @Modifying
+    @Query(value = """
+            insert into conversation_activity(type, conversation_id, last_activity_at)
+            select :#{#type.name()}, :conversationId, :lastActivityAt
+            where not exists (select 1 from conversation_activity where type = :#{#type.name()} and conversation_id = :conversationId)
+            """, nativeQuery = true)
+    int insertIfAbsent(ConversationType type, Integer conversationId, Instant lastActivityAt);
+
+    @Modifying
+    @Query(value = """
+            insert into conversation_activity(type, conversation_id, last_message_id, last_message_author_id,
+                                              last_message_preview, last_activity_at)
+            select :#{#type.name()}, :conversationId, :lastMessageId, :lastMessageAuthorId, :lastMessagePreview, :lastActivityAt
+            where not exists (select 1 from conversation_activity where type = :#{#type.name()} and conversation_id = :conversationId)
+            """, nativeQuery = true)
+    int insertIfAbsent(ConversationType type, Integer conversationId, Long lastMessageId, String lastMessageAuthorId,
+                       String lastMessagePreview, Instant lastActivityAt);
+
+    @Modifying
+    @Query("""
+            update ConversationActivity a
+            set a.lastMessageId = :lastMessageId, a.lastMessageAuthorId = :lastMessageAuthorId,
+                a.lastMessagePreview = :lastMessagePreview, a.lastActivityAt = :lastActivityAt
+            where a.type = :type and a.conversationId = :conversationId
+              and (a.lastMessageId is null or a.lastMessageId < :lastMessageId)
+            """)
+    int updateIfNewer(ConversationType type, Integer conversationId, Long lastMessageId, String lastMessageAuthorId,
+                      String lastMessagePreview, Instant lastActivityAt);
+
+    @Modifying
+    @Query(value = "update chat set last_activity_at = ?2 where id = ?1 and last_activity_at < ?2", nativeQuery = true)
+    int advanceChat(Integer chatId, Instant lastActivityAt);
+
+    @Modifying
+    @Query("delete from ConversationActivity a where a.type = ?1 and a.conversationId = ?2")
+    int deleteByConversation(ConversationType type, Integer conversationId);
+}
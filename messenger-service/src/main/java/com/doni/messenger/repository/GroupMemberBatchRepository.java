@@ -0,0 +1,7 @@
+package com.doni.messenger.repository;
+
+import java.util.List;
+
+public interface GroupMemberBatchRepository {
+    int[] insertGroupMembersIfAbsent(Integer groupId, List<String> userIds);
+}
@@ -0,0 +1,21 @@
+package com.doni.messenger.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+
+@RequiredArgsConstructor
+public class GroupMemberBatchRepositoryImpl implements GroupMemberBatchRepository {
+    private static final String INSERT_IF_ABSENT = "insert into t_group_member(group_id, user_id) values (?, ?) " +
+            "on conflict do nothing";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public int[] insertGroupMembersIfAbsent(Integer groupId, List<String> userIds) {
+        return jdbcTemplate.batchUpdate(INSERT_IF_ABSENT, userIds.stream()
+                .map(userId -> new Object[]{groupId, userId})
+                .toList());
+    }
+}
@@ -0,0 +1,19 @@
+package com.doni.messenger.repository;
+
+import com.doni.messenger.entity.GroupPurgeTask;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Optional;
+
+public interface GroupPurgeTaskRepository extends JpaRepository<GroupPurgeTask, Integer> {
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select t from GroupPurgeTask t where t.groupId = ?1")
+    Optional<GroupPurgeTask> lockIfAvailable(Integer groupId);
+}
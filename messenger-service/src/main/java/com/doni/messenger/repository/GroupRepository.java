@@ -1,16 +1,93 @@
 package com.doni.messenger.repository;
 
+import com.doni.messenger.dto.GroupMemberReadDto;
+import com.doni.messenger.dto.GroupMembershipDto;
+import com.doni.messenger.dto.GroupReadDto;
 import com.doni.messenger.entity.Group;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
-public interface GroupRepository extends JpaRepository<Group, Integer> {
+public interface GroupRepository extends JpaRepository<Group, Integer>, GroupMemberBatchRepository {
     @Query("select g from Group g " +
             "join g.groupMembers gm " +
             "where gm.userId = ?1")
     List<Group> findAllByUserId(String userId);
+
+    @Query("select new com.doni.messenger.dto.GroupReadDto(g.id, g.title, g.description, g.ownerId, " +
+            "(select count(m) from GroupMember m where m.group = g)) " +
+            "from Group g " +
+            "join g.groupMembers gm " +
+            "where gm.userId = ?1")
+    List<GroupReadDto> findGroupReadDtosByUserId(String userId);
+
+    @Query("select new com.doni.messenger.dto.GroupReadDto(g.id, g.title, g.description, g.ownerId, " +
+            "(select count(m) from GroupMember m where m.group = g)) " +
+            "from Group g " +
+            "where g.id = ?1")
+    Optional<GroupReadDto> findGroupReadDtoById(Integer groupId);
+
+    @Query("select new com.doni.messenger.dto.GroupMemberReadDto(gm.id, gm.userId) from GroupMember gm " +
+            "where gm.group.id = ?1 and gm.id > ?2 " +
+            "order by gm.id")
+    List<GroupMemberReadDto> findGroupMembers(Integer groupId, Integer after, Limit limit);
+
+    @Query("select g.id from Group g where g.id in ?1")
+    List<Integer> findExistingIds(Collection<Integer> groupIds);
+
+    @Query("select new com.doni.messenger.dto.GroupMembershipDto(gm.group.id, gm.userId) from GroupMember gm " +
+            "where gm.group.id in ?1 and gm.userId in ?2")
+    List<GroupMembershipDto> findMemberships(Collection<Integer> groupIds, Collection<String> userIds);
+
+    @Query("select count(gm) from GroupMember gm where gm.group.id = ?1")
+    long countGroupMembers(Integer groupId);
+
+    @Query("select count(gm) > 0 from GroupMember gm where gm.group.id = ?1 and gm.userId = ?2")
+    boolean isGroupMember(Integer groupId, String userId);
+
+    @Modifying
+    @Query(value = "insert into t_group_member(group_id, user_id) values (?1, ?2) " +
+            "on conflict do nothing", nativeQuery = true)
+    int insertGroupMemberIfAbsent(Integer groupId, String userId);
+
+    @Modifying
+    @Query("delete from GroupMember gm where gm.group.id = ?1 and gm.userId = ?2")
+    int deleteGroupMember(Integer groupId, String userId);
+
+    @Query("select gm.userId from GroupMember gm where gm.group.id = ?1 and gm.userId in ?2")
+    List<String> findGroupMemberUserIds(Integer groupId, Collection<String> userIds);
+
+    @Modifying
+    @Query("delete from GroupMember gm where gm.group.id = ?1 and gm.userId in ?2")
+    int deleteGroupMembers(Integer groupId, Collection<String> userIds);
+
+    @Query("select gm.userId from GroupMember gm where gm.group.id = ?1")
+    List<String> findAllGroupMemberUserIds(Integer groupId);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"))
+    @Query("select new com.doni.messenger.dto.GroupMembershipDto(g.id, gm.userId) from GroupMember gm join gm.group g")
+    Stream<GroupMembershipDto> streamAllMemberships();
+
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("delete from Group g where g.id = ?1")
+    int deleteGroupRow(Integer groupId);
+
+    @Query("select new com.doni.messenger.dto.GroupMemberReadDto(gm.id, gm.userId) from GroupMember gm " +
+            "where gm.group.id = ?1 and gm.id > ?2 order by gm.id")
+    List<GroupMemberReadDto> findGroupMembersAfter(Integer groupId, Integer after, Limit limit);
+
+    @Modifying
+    @Query("delete from GroupMember gm where gm.id in ?1")
+    int deleteGroupMembersByIds(Collection<Integer> groupMemberIds);
 }
@@ -0,0 +1,20 @@
+package com.doni.messenger.repository;
+
+import java.time.OffsetDateTime;
+
+public interface InboxEntryView {
+
+    String getType();
+
+    Integer getId();
+
+    String getTitle();
+
+    Long getLastMessageId();
+
+    String getLastMessageAuthorId();
+
+    String getLastMessagePreview();
+
+    OffsetDateTime getLastActivityAt();
+}
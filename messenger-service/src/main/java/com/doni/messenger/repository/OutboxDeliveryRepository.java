@@ -0,0 +1,21 @@
+package com.doni.messenger.repository;
+
+import com.doni.messenger.entity.OutboxDelivery;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.util.Collection;
+import java.util.List;
+
+public interface OutboxDeliveryRepository extends JpaRepository<OutboxDelivery, Long> {
+
+    @Query("select d from OutboxDelivery d join fetch d.event e where d.subscriber = ?1 order by e.id")
+    List<OutboxDelivery> findPending(String subscriber, Limit limit);
+
+    @Modifying
+    @Query(value = "insert into outbox_delivery(subscriber, event_id) " +
+            "select ?1, e.id from outbox_event e where e.id in ?2", nativeQuery = true)
+    int insertDeliveries(String subscriber, Collection<Long> eventIds);
+}
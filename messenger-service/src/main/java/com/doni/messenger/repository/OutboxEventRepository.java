@@ -0,0 +1,24 @@
+package com.doni.messenger.repository;
+
+import com.doni.messenger.entity.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    List<OutboxEvent> findByIdGreaterThanOrderById(Long id, Limit limit);
+
+    @Query("select max(e.id) from OutboxEvent e where e.createdAt < ?1")
+    Optional<Long> findLastIdCreatedBefore(Instant createdAt);
+
+    @Modifying
+    @Query("delete from OutboxEvent e where e.createdAt < ?1 " +
+            "and not exists (select d from OutboxDelivery d where d.event = e)")
+    int deleteDelivered(Instant createdBefore);
+}
@@ -0,0 +1,24 @@
+package com.doni.messenger.repository;
+
+import com.doni.messenger.entity.OutboxSubscriber;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+
+import java.util.Optional;
+
+public interface OutboxSubscriberRepository extends JpaRepository<OutboxSubscriber, String> {
+
+    @Modifying
+    @Query(value = "insert into outbox_subscriber(name) values (?1) on conflict do nothing", nativeQuery = true)
+    int insertIfAbsent(String name);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("select s from OutboxSubscriber s where s.name = ?1")
+    Optional<OutboxSubscriber> lockIfAvailable(String name);
+}
@@ -2,43 +2,59 @@ package com.doni.messenger.service;
 
 import com.doni.messenger.dto.ChatReadDto;
 import com.doni.messenger.entity.Chat;
+import com.doni.messenger.entity.ConversationType;
 import com.doni.messenger.exception.ChatExistsException;
 import com.doni.messenger.exception.UserIsNotChatParticipantException;
 import com.doni.messenger.mapper.ChatMapper;
+import com.doni.messenger.entity.MembershipChangeType;
+import com.doni.messenger.membership.MembershipIndex;
+import com.doni.messenger.outbox.MembershipOutbox;
 import com.doni.messenger.repository.ChatRepository;
+import com.doni.messenger.repository.ConversationActivityRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
-import java.util.UUID;
 
 @Service
 @RequiredArgsConstructor
 public class DefaultChatService implements ChatService {
     private final ChatMapper chatMapper;
     private final ChatRepository chatRepository;
+    private final ConversationActivityRepository conversationActivityRepository;
+    private final MembershipIndex membershipIndex;
+    private final MembershipOutbox membershipOutbox;
 
     @Override
     public List<ChatReadDto> findAllChatsByUserId(String userId) {
-        List<Chat> chats = chatRepository.findAllByUserId1OrUserId2(userId, userId);
+        List<Chat> chats = chatRepository.findAllByUserId(userId);
         return chatMapper.entitiesToChatReadDtos(chats);
     }
 
     @Override
+    @Transactional
     public ChatReadDto createChat(String userId1, String userId2) {
-        chatRepository.findByUserId1AndUserId2OrUserId2AndAndUserId1(userId1, userId2)
-                .ifPresent(chat -> {
-                    throw new ChatExistsException("messenger-api.chats.create.errors.chat_already_exists");
-                });
-
-        Chat chat = Chat.builder()
-                .userId1(userId1)
-                .userId2(userId2)
-                .build();
+        String userLow = compareCodePoints(userId1, userId2) <= 0 ? userId1 : userId2;
+        String userHigh = userLow.equals(userId1) ? userId2 : userId1;
+        Instant now = Instant.now();
+        if (chatRepository.insertChatIfAbsent(userId1, userId2, userLow, userHigh, now) == 0) {
+            throw new ChatExistsException("messenger-api.chats.create.errors.chat_already_exists");
+        }
+        ChatReadDto chat = chatRepository.findByUserLowAndUserHigh(userLow, userHigh)
+                .map(chatMapper::entityToChatReadDto)
+                .orElseThrow();
+        conversationActivityRepository.insertIfAbsent(ConversationType.CHAT, chat.id(), now);
+        membershipOutbox.record(MembershipChangeType.CHAT_CREATED, chat.id(), List.of(chat.userId1(), chat.userId2()));
+        membershipIndex.chatCreated(chat.id(), chat.userId1(), chat.userId2());
+        return chat;
+    }
 
-        Chat saved = chatRepository.save(chat);
-        return chatMapper.entityToChatReadDto(saved);
+    private static int compareCodePoints(String first, String second) {
+        return Arrays.compare(first.codePoints().toArray(), second.codePoints().toArray());
     }
 
     @Override
@@ -54,6 +70,7 @@ public class DefaultChatService implements ChatService {
     }
 
     @Override
+    @Transactional
     public void deleteChat(Integer chatId, String userId) {
         chatRepository.findById(chatId)
                 .ifPresent(chat -> {
@@ -61,6 +78,9 @@ public class DefaultChatService implements ChatService {
                         throw new UserIsNotChatParticipantException("messenger-api.chats.errors.user_is_not_chat_participant");
                     }
                     chatRepository.deleteById(chatId);
+                    conversationActivityRepository.deleteByConversation(ConversationType.CHAT, chatId);
+                    membershipOutbox.record(MembershipChangeType.CHAT_DELETED, chatId, List.of(chat.getUserId1(), chat.getUserId2()));
+                    membershipIndex.chatDeleted(chatId, chat.getUserId1(), chat.getUserId2());
                 });
     }
 }
@@ -1,5 +1,9 @@
 package com.doni.messenger.service;
 
+import com.doni.messenger.dto.GroupMemberChangeReadDto;
+import com.doni.messenger.dto.GroupMemberChangeStatus;
+import com.doni.messenger.dto.GroupMemberPageDto;
+import com.doni.messenger.dto.GroupMemberReadDto;
 import com.doni.messenger.dto.GroupReadDto;
 import com.doni.messenger.entity.Group;
 import com.doni.messenger.entity.GroupMember;
@@ -7,28 +11,43 @@ import com.doni.messenger.exception.UserIsAlreadyGroupMemberException;
 import com.doni.messenger.exception.UserIsNotGroupOwnerException;
 import com.doni.messenger.exception.UserIsNotGroupParticipantException;
 import com.doni.messenger.mapper.GroupMapper;
+import com.doni.messenger.entity.ConversationType;
+import com.doni.messenger.entity.GroupPurgeTask;
+import com.doni.messenger.entity.MembershipChangeType;
+import com.doni.messenger.membership.MembershipIndex;
+import com.doni.messenger.outbox.MembershipOutbox;
+import com.doni.messenger.repository.ConversationActivityRepository;
+import com.doni.messenger.repository.GroupPurgeTaskRepository;
 import com.doni.messenger.repository.GroupRepository;
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Limit;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
 import java.util.*;
 
 @Service
 @RequiredArgsConstructor
 public class DefaultGroupService implements GroupService {
+    private static final int MAX_PAGE_SIZE = 1000;
+
     private final GroupMapper groupMapper;
     private final GroupRepository groupRepository;
+    private final ConversationActivityRepository conversationActivityRepository;
+    private final GroupPurgeTaskRepository groupPurgeTaskRepository;
+    private final MembershipIndex membershipIndex;
+    private final MembershipOutbox membershipOutbox;
 
     @Override
     public List<GroupReadDto> findAllByUserId(String userId) {
-        List<Group> groups = groupRepository.findAllByUserId(userId);
-        return groupMapper.entitiesToGroupReadDtos(groups);
+        return groupRepository.findGroupReadDtosByUserId(userId);
     }
 
     @Override
     @Transactional
     public GroupReadDto createGroup(String title, String description, String userId) {
+        Instant now = Instant.now();
         GroupMember groupMember = GroupMember.builder()
                 .userId(userId)
                 .build();
@@ -39,25 +58,33 @@ public class DefaultGroupService implements GroupService {
                 .build();
         group.addGroupMember(groupMember);
         Group saved = groupRepository.save(group);
-        return groupMapper.entityToGroupReadDto(saved);
+        conversationActivityRepository.insertIfAbsent(ConversationType.GROUP, saved.getId(), now);
+        membershipOutbox.record(MembershipChangeType.GROUP_MEMBER_ADDED, saved.getId(), List.of(userId));
+        membershipIndex.groupMembersAdded(saved.getId(), List.of(userId));
+        return groupMapper.entityToGroupReadDto(saved, groupRepository.countGroupMembers(saved.getId()));
     }
 
     @Override
     public Optional<GroupReadDto> findGroup(Integer groupId, String userId) {
-        Optional<Group> optionalGroup = groupRepository.findById(groupId);
+        Optional<GroupReadDto> optionalGroup = groupRepository.findGroupReadDtoById(groupId);
         optionalGroup.ifPresent(group -> {
-            System.out.println("UserId: " + userId);
-            System.out.println(group.getGroupMembers());
-            int size = group.getGroupMembers().stream()
-                    .filter(groupMember -> groupMember.getUserId().equals(userId))
-                    .toList()
-                    .size();
-            if (size == 0) {
+            if (!isGroupMember(groupId, userId)) {
                 throw new UserIsNotGroupParticipantException("messenger-api.groups.errors.user_is_not_participant");
             }
         });
-        return optionalGroup
-                .map(groupMapper::entityToGroupReadDto);
+        return optionalGroup;
+    }
+
+    @Override
+    public GroupMemberPageDto findGroupMembers(Integer groupId, Integer after, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<GroupMemberReadDto> members = groupRepository.findGroupMembers(groupId, after == null ? 0 : after,
+                Limit.of(pageSize + 1));
+        if (members.size() > pageSize) {
+            List<GroupMemberReadDto> page = members.subList(0, pageSize);
+            return new GroupMemberPageDto(page, page.get(pageSize - 1).id());
+        }
+        return new GroupMemberPageDto(members, null);
     }
 
     @Override
@@ -82,7 +109,11 @@ public class DefaultGroupService implements GroupService {
                     if (!group.getOwnerId().equals(userId)) {
                         throw new UserIsNotGroupOwnerException("messenger-api.groups.delete.errors.user_is_not_owner");
                     }
-                    groupRepository.deleteById(groupId);
+                    groupRepository.deleteGroupRow(groupId);
+                    groupPurgeTaskRepository.save(new GroupPurgeTask(groupId, 0));
+                    conversationActivityRepository.deleteByConversation(ConversationType.GROUP, groupId);
+                    membershipOutbox.record(MembershipChangeType.GROUP_DELETED, groupId, List.of(userId));
+                    membershipIndex.groupDeleted(groupId);
                 });
     }
 
@@ -95,17 +126,11 @@ public class DefaultGroupService implements GroupService {
                         throw new UserIsNotGroupOwnerException("messenger-api.groups.add-user.errors.user_is_not_owner");
                     }
 
-                    int size = group.getGroupMembers().stream()
-                            .filter(groupMember -> groupMember.getUserId().equals(userId))
-                            .toList()
-                            .size();
-
-                    if (size != 0) {
+                    if (groupRepository.insertGroupMemberIfAbsent(groupId, userId) == 0) {
                         throw new UserIsAlreadyGroupMemberException("messenger-api.groups.add-user.errors.user_is_already_in_group");
                     }
-                    group.addGroupMember(GroupMember.builder()
-                            .userId(userId)
-                            .build());
+                    membershipOutbox.record(MembershipChangeType.GROUP_MEMBER_ADDED, groupId, List.of(userId));
+                    membershipIndex.groupMembersAdded(groupId, List.of(userId));
                 });
     }
 
@@ -118,32 +143,91 @@ public class DefaultGroupService implements GroupService {
                         throw new UserIsNotGroupOwnerException("messenger-api.groups.kick-user.errors.user_is_not_owner");
                     }
 
-                    int size = group.getGroupMembers().stream()
-                            .filter(groupMember -> groupMember.getUserId().equals(userId))
-                            .toList()
-                            .size();
-
-                    if (size == 0) {
+                    if (groupRepository.deleteGroupMember(groupId, userId) == 0) {
                         throw new UserIsNotGroupParticipantException("messenger-api.groups.kick-user.errors.user_is_not_participant");
                     }
-                    group.getGroupMembers().removeIf(groupMember -> groupMember.getUserId().equals(userId));
+                    membershipOutbox.record(MembershipChangeType.GROUP_MEMBER_REMOVED, groupId, List.of(userId));
+                    membershipIndex.groupMembersRemoved(groupId, List.of(userId));
                 });
     }
 
+    @Override
+    @Transactional
+    public List<GroupMemberChangeReadDto> addUsers(Integer groupId, List<String> userIds, String ownerId) {
+        Group group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new NoSuchElementException("messenger-api.groups.errors.not_found"));
+        if (!group.getOwnerId().equals(ownerId)) {
+            throw new UserIsNotGroupOwnerException("messenger-api.groups.add-user.errors.user_is_not_owner");
+        }
+        List<String> distinctUserIds = userIds.stream()
+                .distinct()
+                .toList();
+        Set<String> members = new HashSet<>(groupRepository.findGroupMemberUserIds(groupId, distinctUserIds));
+        List<String> candidates = distinctUserIds.stream()
+                .filter(userId -> !members.contains(userId))
+                .toList();
+        int[] inserted = groupRepository.insertGroupMembersIfAbsent(groupId, candidates);
+        Set<String> added = new HashSet<>();
+        for (int i = 0; i < candidates.size(); i++) {
+            if (inserted[i] != 0) {
+                added.add(candidates.get(i));
+            }
+        }
+        membershipOutbox.record(MembershipChangeType.GROUP_MEMBER_ADDED, groupId, added);
+        membershipIndex.groupMembersAdded(groupId, added);
+        return distinctUserIds.stream()
+                .map(userId -> new GroupMemberChangeReadDto(userId, added.contains(userId)
+                        ? GroupMemberChangeStatus.ADDED
+                        : GroupMemberChangeStatus.ALREADY_MEMBER))
+                .toList();
+    }
+
+    @Override
+    @Transactional
+    public List<GroupMemberChangeReadDto> kickUsers(Integer groupId, List<String> userIds, String ownerId) {
+        Group group = groupRepository.findById(groupId)
+                .orElseThrow(() -> new NoSuchElementException("messenger-api.groups.errors.not_found"));
+        if (!group.getOwnerId().equals(ownerId)) {
+            throw new UserIsNotGroupOwnerException("messenger-api.groups.kick-user.errors.user_is_not_owner");
+        }
+        List<String> distinctUserIds = userIds.stream()
+                .distinct()
+                .toList();
+        Set<String> members = new HashSet<>(groupRepository.findGroupMemberUserIds(groupId, distinctUserIds));
+        if (!members.isEmpty()) {
+            groupRepository.deleteGroupMembers(groupId, members);
+            membershipOutbox.record(MembershipChangeType.GROUP_MEMBER_REMOVED, groupId, members);
+            membershipIndex.groupMembersRemoved(groupId, members);
+        }
+        return distinctUserIds.stream()
+                .map(userId -> new GroupMemberChangeReadDto(userId, members.contains(userId)
+                        ? GroupMemberChangeStatus.KICKED
+                        : GroupMemberChangeStatus.NOT_MEMBER))
+                .toList();
+    }
+
     @Override
     @Transactional
     public void leaveGroup(Integer groupId, String userId) {
         groupRepository.findById(groupId)
                 .ifPresent(group -> {
-                    int size = group.getGroupMembers().stream()
-                            .filter(groupMember -> groupMember.getUserId().equals(userId))
-                            .toList()
-                            .size();
-
-                    if (size == 0) {
+                    if (groupRepository.deleteGroupMember(groupId, userId) == 0) {
                         throw new UserIsNotGroupParticipantException("messenger-api.groups.leave-group.errors.user_is_not_participant");
                     }
-                    group.getGroupMembers().removeIf(groupMember -> groupMember.getUserId().equals(userId));
+                    membershipOutbox.record(MembershipChangeType.GROUP_MEMBER_REMOVED, groupId, List.of(userId));
+                    membershipIndex.groupMembersRemoved(groupId, List.of(userId));
                 });
     }
+
+    private boolean isGroupMember(Integer groupId, String userId) {
+        if (membershipIndex.isGroupMember(groupId, userId)) {
+            return true;
+        }
+        long readVersion = membershipIndex.version();
+        if (groupRepository.isGroupMember(groupId, userId)) {
+            membershipIndex.groupMemberRepaired(groupId, userId, readVersion);
+            return true;
+        }
+        return false;
+    }
 }
@@ -0,0 +1,109 @@
+package com.doni.messenger.service;
+
+import com.doni.messenger.dto.ConversationActivitiesDto;
+import com.doni.messenger.dto.ConversationActivityDto;
+import com.doni.messenger.dto.InboxCursor;
+import com.doni.messenger.dto.InboxEntryReadDto;
+import com.doni.messenger.dto.InboxPageDto;
+import com.doni.messenger.dto.MembershipQueryDto;
+import com.doni.messenger.dto.MembershipReadDto;
+import com.doni.messenger.dto.MembershipStatus;
+import com.doni.messenger.entity.ConversationType;
+import com.doni.messenger.repository.ConversationActivityRepository;
+import com.doni.messenger.repository.InboxEntryView;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.BinaryOperator;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class DefaultInboxService implements InboxService {
+    private static final int MAX_PAGE_SIZE = 100;
+
+    private final ConversationActivityRepository conversationActivityRepository;
+    private final MembershipService membershipService;
+
+    @Override
+    @Transactional(readOnly = true)
+    public InboxPageDto findInbox(String userId, String cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<InboxEntryView> entries;
+        if (cursor == null) {
+            entries = conversationActivityRepository.findInboxEntries(userId, pageSize + 1);
+        } else {
+            InboxCursor inboxCursor = InboxCursor.decode(cursor);
+            entries = conversationActivityRepository.findInboxEntriesAfter(userId, inboxCursor.lastActivityAt(),
+                    inboxCursor.type().name(), inboxCursor.id(), pageSize + 1);
+        }
+
+        String nextCursor = null;
+        if (entries.size() > pageSize) {
+            entries = entries.subList(0, pageSize);
+            InboxEntryView last = entries.get(pageSize - 1);
+            nextCursor = new InboxCursor(last.getLastActivityAt().toInstant(), ConversationType.valueOf(last.getType()), last.getId())
+                    .encode();
+        }
+        return new InboxPageDto(entries.stream()
+                .map(entry -> new InboxEntryReadDto(ConversationType.valueOf(entry.getType()), entry.getId(),
+                        entry.getTitle(), entry.getLastMessageId(), entry.getLastMessageAuthorId(),
+                        entry.getLastMessagePreview(), entry.getLastActivityAt().toInstant()))
+                .toList(), nextCursor);
+    }
+
+    @Override
+    @Transactional
+    public void recordActivity(ConversationActivitiesDto activities) {
+        Instant now = Instant.now();
+        Collection<ConversationActivityDto> chats = latestByConversation(activities.chats());
+        Set<Integer> chatIds = memberConversationIds(membershipService.checkChatMemberships(queries(chats)));
+        chats.stream()
+                .filter(activity -> chatIds.contains(activity.id()))
+                .filter(activity -> record(ConversationType.CHAT, activity, now))
+                .forEach(activity -> conversationActivityRepository.advanceChat(activity.id(), now));
+
+        Collection<ConversationActivityDto> groups = latestByConversation(activities.groups());
+        Set<Integer> groupIds = memberConversationIds(membershipService.checkGroupMemberships(queries(groups)));
+        groups.stream()
+                .filter(activity -> groupIds.contains(activity.id()))
+                .forEach(activity -> record(ConversationType.GROUP, activity, now));
+    }
+
+    private boolean record(ConversationType type, ConversationActivityDto activity, Instant now) {
+        return conversationActivityRepository.updateIfNewer(type, activity.id(), activity.messageId(),
+                activity.authorId(), activity.preview(), now) > 0
+                || conversationActivityRepository.insertIfAbsent(type, activity.id(), activity.messageId(),
+                activity.authorId(), activity.preview(), now) > 0;
+    }
+
+    private static Collection<ConversationActivityDto> latestByConversation(List<ConversationActivityDto> activities) {
+        if (activities == null) {
+            return List.of();
+        }
+        Map<Integer, ConversationActivityDto> latest = activities.stream()
+                .collect(Collectors.toMap(ConversationActivityDto::id, Function.identity(),
+                        BinaryOperator.maxBy((left, right) -> Long.compare(left.messageId(), right.messageId()))));
+        return latest.values();
+    }
+
+    private static List<MembershipQueryDto> queries(Collection<ConversationActivityDto> activities) {
+        return activities.stream()
+                .map(activity -> new MembershipQueryDto(activity.id(), activity.authorId()))
+                .toList();
+    }
+
+    private static Set<Integer> memberConversationIds(List<MembershipReadDto> memberships) {
+        return memberships.stream()
+                .filter(membership -> membership.status() == MembershipStatus.MEMBER)
+                .map(MembershipReadDto::id)
+                .collect(Collectors.toSet());
+    }
+}
@@ -0,0 +1,112 @@
+package com.doni.messenger.service;
+
+import com.doni.messenger.dto.GroupMembershipDto;
+import com.doni.messenger.dto.MembershipQueryDto;
+import com.doni.messenger.dto.MembershipReadDto;
+import com.doni.messenger.dto.MembershipStatus;
+import com.doni.messenger.entity.Chat;
+import com.doni.messenger.membership.MembershipIndex;
+import com.doni.messenger.repository.ChatRepository;
+import com.doni.messenger.repository.GroupRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+@RequiredArgsConstructor
+public class DefaultMembershipService implements MembershipService {
+    private final ChatRepository chatRepository;
+    private final GroupRepository groupRepository;
+    private final MembershipIndex membershipIndex;
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MembershipReadDto> checkChatMemberships(List<MembershipQueryDto> queries) {
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+        List<MembershipQueryDto> misses = queries.stream()
+                .filter(query -> !membershipIndex.isChatMember(query.id(), query.userId()))
+                .toList();
+        if (misses.isEmpty()) {
+            return queries.stream()
+                    .map(query -> new MembershipReadDto(query.id(), query.userId(), MembershipStatus.MEMBER))
+                    .toList();
+        }
+        long readVersion = membershipIndex.version();
+        Set<Integer> chatIds = misses.stream()
+                .map(MembershipQueryDto::id)
+                .collect(Collectors.toSet());
+        Map<Integer, Chat> chats = chatRepository.findAllById(chatIds).stream()
+                .collect(Collectors.toMap(Chat::getId, Function.identity()));
+        chats.values().forEach(chat ->
+                membershipIndex.chatRepaired(chat.getId(), chat.getUserId1(), chat.getUserId2(), readVersion));
+        Set<MembershipQueryDto> missSet = new HashSet<>(misses);
+        return queries.stream()
+                .map(query -> {
+                    Chat chat = chats.get(query.id());
+                    MembershipStatus status;
+                    if (!missSet.contains(query)) {
+                        status = MembershipStatus.MEMBER;
+                    } else if (chat == null) {
+                        status = MembershipStatus.NOT_FOUND;
+                    } else if (chat.getUserId1().equals(query.userId()) || chat.getUserId2().equals(query.userId())) {
+                        status = MembershipStatus.MEMBER;
+                    } else {
+                        status = MembershipStatus.NOT_MEMBER;
+                    }
+                    return new MembershipReadDto(query.id(), query.userId(), status);
+                })
+                .toList();
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<MembershipReadDto> checkGroupMemberships(List<MembershipQueryDto> queries) {
+        if (queries.isEmpty()) {
+            return List.of();
+        }
+        List<MembershipQueryDto> misses = queries.stream()
+                .filter(query -> !membershipIndex.isGroupMember(query.id(), query.userId()))
+                .toList();
+        if (misses.isEmpty()) {
+            return queries.stream()
+                    .map(query -> new MembershipReadDto(query.id(), query.userId(), MembershipStatus.MEMBER))
+                    .toList();
+        }
+        long readVersion = membershipIndex.version();
+        Set<Integer> groupIds = misses.stream()
+                .map(MembershipQueryDto::id)
+                .collect(Collectors.toSet());
+        Set<String> userIds = misses.stream()
+                .map(MembershipQueryDto::userId)
+                .collect(Collectors.toSet());
+        Set<Integer> existingGroupIds = new HashSet<>(groupRepository.findExistingIds(groupIds));
+        Set<GroupMembershipDto> memberships = new HashSet<>(groupRepository.findMemberships(groupIds, userIds));
+        memberships.forEach(membership ->
+                membershipIndex.groupMemberRepaired(membership.groupId(), membership.userId(), readVersion));
+        Set<MembershipQueryDto> missSet = new HashSet<>(misses);
+        return queries.stream()
+                .map(query -> {
+                    MembershipStatus status;
+                    if (!missSet.contains(query)) {
+                        status = MembershipStatus.MEMBER;
+                    } else if (!existingGroupIds.contains(query.id())) {
+                        status = MembershipStatus.NOT_FOUND;
+                    } else if (memberships.contains(new GroupMembershipDto(query.id(), query.userId()))) {
+                        status = MembershipStatus.MEMBER;
+                    } else {
+                        status = MembershipStatus.NOT_MEMBER;
+                    }
+                    return new MembershipReadDto(query.id(), query.userId(), status);
+                })
+                .toList();
+    }
+}
@@ -1,5 +1,7 @@
 package com.doni.messenger.service;
 
+import com.doni.messenger.dto.GroupMemberChangeReadDto;
+import com.doni.messenger.dto.GroupMemberPageDto;
 import com.doni.messenger.dto.GroupReadDto;
 import com.doni.messenger.entity.Group;
 
@@ -13,6 +15,8 @@ public interface GroupService {
 
     Optional<GroupReadDto> findGroup(Integer groupId, String userId);
 
+    GroupMemberPageDto findGroupMembers(Integer groupId, Integer after, int limit);
+
     void updateGroup(Integer groupId, String title, String description, String userId);
 
     void deleteGroup(Integer groupId, String userId);
@@ -21,5 +25,9 @@ public interface GroupService {
 
     void kickUser(Integer groupId, String userId, String ownerId);
 
+    List<GroupMemberChangeReadDto> addUsers(Integer groupId, List<String> userIds, String ownerId);
+
+    List<GroupMemberChangeReadDto> kickUsers(Integer groupId, List<String> userIds, String ownerId);
+
     void leaveGroup(Integer groupId, String userId);
 }
@@ -0,0 +1,10 @@
+package com.doni.messenger.service;
+
+import com.doni.messenger.dto.ConversationActivitiesDto;
+import com.doni.messenger.dto.InboxPageDto;
+
+public interface InboxService {
+    InboxPageDto findInbox(String userId, String cursor, int limit);
+
+    void recordActivity(ConversationActivitiesDto activities);
+}
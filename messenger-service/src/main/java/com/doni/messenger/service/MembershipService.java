@@ -0,0 +1,12 @@
+package com.doni.messenger.service;
+
+import com.doni.messenger.dto.MembershipQueryDto;
+import com.doni.messenger.dto.MembershipReadDto;
+
+import java.util.List;
+
+public interface MembershipService {
+    List<MembershipReadDto> checkChatMemberships(List<MembershipQueryDto> queries);
+
+    List<MembershipReadDto> checkGroupMemberships(List<MembershipQueryDto> queries);
+}
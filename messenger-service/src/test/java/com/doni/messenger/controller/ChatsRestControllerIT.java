@@ -8,6 +8,7 @@ import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
 import org.springframework.transaction.annotation.Transactional;
@@ -19,6 +20,8 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 @Transactional
 @SpringBootTest
 @AutoConfigureMockMvc
+@Sql(statements = "alter table chat alter column id restart with 1000",
+        config = @SqlConfig(transactionMode = SqlConfig.TransactionMode.ISOLATED))
 @Sql("/sql/chats.sql")
 @ActiveProfiles("test")
 class ChatsRestControllerIT {
@@ -89,11 +92,11 @@ class ChatsRestControllerIT {
                 .andDo(print())
                 .andExpectAll(
                         status().isCreated(),
-                        header().string(HttpHeaders.LOCATION, "http://localhost/messenger-api/chats/1"),
+                        header().string(HttpHeaders.LOCATION, "http://localhost/messenger-api/chats/1000"),
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         content().json(
                                 """
-                                {"id": 1, "userId1": "j.black", "userId2": "j.dewar"}
+                                {"id": 1000, "userId1": "j.black", "userId2": "j.dewar"}
                                 """
                         )
                 );
@@ -188,4 +191,36 @@ class ChatsRestControllerIT {
                         )
                 );
     }
-}
\ No newline at end of file
+
+    @Test
+    void createChat_UserIsAuthorized_ReversedPairAlreadyCreated_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/messenger-api/chats")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {"userId": "J.Black"}
+                        """)
+                        .with(jwt().jwt(builder -> builder.subject("j.black"))))
+                .andExpect(status().isCreated());
+
+        var requestBuilder = MockMvcRequestBuilders.post("/messenger-api/chats")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                {"userId": "j.black"}
+                """)
+                .with(jwt().jwt(builder -> builder.subject("J.Black")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json(
+                                """
+                                {
+                                    "detail": "Чат с данным пользователем уже существует"
+                                }
+                                """
+                        )
+                );
+    }
+}
@@ -1,7 +1,11 @@
 package com.doni.messenger.controller;
 
 import com.doni.messenger.entity.Group;
+import com.doni.messenger.membership.MembershipIndex;
+import com.doni.messenger.purge.GroupPurgeJob;
+import com.doni.messenger.repository.GroupPurgeTaskRepository;
 import com.doni.messenger.repository.GroupRepository;
+import com.jayway.jsonpath.JsonPath;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
@@ -19,6 +23,7 @@ import static org.junit.jupiter.api.Assertions.*;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @Transactional
@@ -34,6 +39,15 @@ class GroupRestControllerIT {
     @Autowired
     GroupRepository groupRepository;
 
+    @Autowired
+    GroupPurgeTaskRepository groupPurgeTaskRepository;
+
+    @Autowired
+    GroupPurgeJob groupPurgeJob;
+
+    @Autowired
+    MembershipIndex membershipIndex;
+
     @Test
     void getGroup_UserIsAuthorized_GroupExists_UserIsParticipant_ReturnsOk() throws Exception {
         var requestBuilder = MockMvcRequestBuilders.get("/messenger-api/groups/1")
@@ -46,12 +60,54 @@ class GroupRestControllerIT {
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         content().json(
                                 """
-                                {"id": 1, "title": "Title 1", "description": "Description 1", "ownerId": "j.dewar"}
+                                {"id": 1, "title": "Title 1", "description": "Description 1", "ownerId": "j.dewar", "memberCount": 2}
                                 """
                         )
                 );
     }
 
+    @Test
+    void getGroupMembers_UserIsAuthorized_UserIsParticipant_ReturnsPagesInMembershipOrder() throws Exception {
+        var firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/groups/1/members")
+                        .param("limit", "1")
+                        .with(jwt().jwt(builder -> builder.subject("j.daniels"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.members.length()").value(1),
+                        jsonPath("$.members[0].userId").value("j.dewar"),
+                        jsonPath("$.nextAfter").isNumber()
+                )
+                .andReturn();
+        Integer nextAfter = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextAfter");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/groups/1/members")
+                        .param("limit", "1")
+                        .param("after", nextAfter.toString())
+                        .with(jwt().jwt(builder -> builder.subject("j.daniels"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.members.length()").value(1),
+                        jsonPath("$.members[0].userId").value("j.daniels"),
+                        jsonPath("$.nextAfter").isEmpty()
+                );
+    }
+
+    @Test
+    void getGroupMembers_UserIsAuthorized_UserIsNotParticipant_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/messenger-api/groups/2/members")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                );
+    }
+
     @Test
     void getGroup_UserIsNotAuthorized_GroupExists_ReturnsUnauthorized() throws Exception {
         var requestBuilder = MockMvcRequestBuilders.get("/messenger-api/groups/1");
@@ -368,6 +424,36 @@ class GroupRestControllerIT {
         assertTrue(groupRepository.findById(1).isEmpty());
     }
 
+    @Test
+    void deleteGroup_UserIsOwner_MembersArePurgedInBackground() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/groups/1")
+                        .with(jwt().jwt(builder -> builder.subject("j.daniels"))))
+                .andExpect(status().isOk());
+        assertTrue(membershipIndex.isGroupMember(1, "j.daniels"));
+        mockMvc.perform(MockMvcRequestBuilders.delete("/messenger-api/groups/1")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isNoContent()
+                );
+
+        assertEquals(2, groupRepository.findAllGroupMemberUserIds(1).size());
+        assertTrue(groupPurgeTaskRepository.existsById(1));
+        membershipIndex.sync();
+        assertFalse(membershipIndex.isGroupMember(1, "j.daniels"));
+
+        assertEquals(1, groupPurgeJob.purge());
+        assertEquals(1, groupRepository.findAllGroupMemberUserIds(1).size());
+        assertEquals(1, groupPurgeJob.purge());
+        assertTrue(groupPurgeTaskRepository.existsById(1));
+        assertEquals(0, groupPurgeJob.purge());
+
+        assertFalse(membershipIndex.isGroupMember(1, "j.daniels"));
+        assertTrue(groupRepository.findAllGroupMemberUserIds(1).isEmpty());
+        assertFalse(groupPurgeTaskRepository.existsById(1));
+        assertEquals(1, groupRepository.findAllGroupMemberUserIds(2).size());
+    }
+
     @Test
     void deleteGroup_UserIsNotAuthorized_GroupExists_UserIsOwner_ReturnsUnauthorized() throws Exception {
         var requestBuilder = MockMvcRequestBuilders.delete("/messenger-api/groups/1");
@@ -441,6 +527,97 @@ class GroupRestControllerIT {
                 .isEmpty());
     }
 
+    @Test
+    void addUsers_UserIsAuthorized_UserIsOwner_ReturnsPerUserResults() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.patch("/messenger-api/groups/1/add-users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                {"userIds": ["j.black", "j.daniels", "j.white", "j.black"]}
+                """).with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                [
+                                    {"userId": "j.black", "status": "ADDED"},
+                                    {"userId": "j.daniels", "status": "ALREADY_MEMBER"},
+                                    {"userId": "j.white", "status": "ADDED"}
+                                ]
+                                """, true)
+                );
+
+        assertTrue(groupRepository.isGroupMember(1, "j.black"));
+        assertTrue(groupRepository.isGroupMember(1, "j.white"));
+    }
+
+    @Test
+    void addUsers_UserIsAuthorized_UserIsNotOwner_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.patch("/messenger-api/groups/1/add-users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                {"userIds": ["j.black"]}
+                """).with(jwt().jwt(builder -> builder.subject("j.daniels")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                                {"detail": "Вы не можете добавить пользователя так, как не являетесь владельцем группы"}
+                                """)
+                );
+
+        assertFalse(groupRepository.isGroupMember(1, "j.black"));
+    }
+
+    @Test
+    void addUsers_UserIsAuthorized_PayloadIsInvalid_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.patch("/messenger-api/groups/1/add-users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                {"userIds": []}
+                """).with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                                {"errors": ["Количество пользователей должно быть между 1 и 1000"]}
+                                """)
+                );
+    }
+
+    @Test
+    void kickUsers_UserIsAuthorized_UserIsOwner_ReturnsPerUserResults() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.delete("/messenger-api/groups/1/kick-users")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                {"userIds": ["j.daniels", "j.black"]}
+                """).with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                [
+                                    {"userId": "j.daniels", "status": "KICKED"},
+                                    {"userId": "j.black", "status": "NOT_MEMBER"}
+                                ]
+                                """, true)
+                );
+
+        assertFalse(groupRepository.isGroupMember(1, "j.daniels"));
+        assertTrue(groupRepository.isGroupMember(1, "j.dewar"));
+    }
+
     @Test
     void addUser_UserIsNotAuthorized_ReturnsUnauthorized() throws Exception {
         var requestBuilder = MockMvcRequestBuilders.patch("/messenger-api/groups/1/add-user")
@@ -557,6 +734,33 @@ class GroupRestControllerIT {
                 .size());
     }
 
+    @Test
+    void kickUser_KickedOnAnotherInstance_GetGroupAfterIndexSync_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/groups/1")
+                        .with(jwt().jwt(builder -> builder.subject("j.daniels"))))
+                .andExpect(status().isOk());
+        mockMvc.perform(MockMvcRequestBuilders.delete("/messenger-api/groups/1/kick-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {"userId": "j.daniels"}
+                        """).with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andExpect(status().isNoContent());
+
+        membershipIndex.sync();
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/groups/1")
+                        .with(jwt().jwt(builder -> builder.subject("j.daniels"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().json(
+                                """
+                                {"detail": "Пользователь не является участником группы"}
+                                """
+                        )
+                );
+    }
+
     @Test
     void kickUser_UserIsNotAuthorized_GroupExists_UserIsOwner_KickedUserIsParticipant_PayloadIsValid_ReturnsUnauthorized() throws Exception {
         var requestBuilder = MockMvcRequestBuilders.delete("/messenger-api/groups/1/kick-user")
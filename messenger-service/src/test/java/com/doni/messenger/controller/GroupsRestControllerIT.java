@@ -45,8 +45,8 @@ class GroupsRestControllerIT {
                         content().json(
                                 """
                                 [
-                                    {"id": 1, "title": "Title 1", "description": "Description 1"},
-                                    {"id": 3, "title": "Title 3", "description": "Description 3"}
+                                    {"id": 1, "title": "Title 1", "description": "Description 1", "memberCount": 2},
+                                    {"id": 3, "title": "Title 3", "description": "Description 3", "memberCount": 1}
                                 ]
                                 """
                         )
@@ -81,7 +81,7 @@ class GroupsRestControllerIT {
                         content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
                         content().json(
                                 """
-                                {"id": 1, "title": "Title", "description": "Description", "ownerId": "j.dewar"}
+                                {"id": 1, "title": "Title", "description": "Description", "ownerId": "j.dewar", "memberCount": 1}
                                 """
                         )
                 );
@@ -0,0 +1,229 @@
+package com.doni.messenger.controller;
+
+import com.jayway.jsonpath.JsonPath;
+import org.hamcrest.Matchers;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql({"/sql/groups.sql", "/sql/chats.sql", "/sql/activity.sql"})
+@ActiveProfiles("test")
+class InboxRestControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    void getInbox_UserIsAuthorized_ReturnsConversationsByLastActivity() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/messenger-api/inbox")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        jsonPath("$.entries.length()").value(4),
+                        jsonPath("$.entries[*].type").value(Matchers.contains("GROUP", "CHAT", "CHAT", "GROUP")),
+                        jsonPath("$.entries[*].id").value(Matchers.contains(1, 2, 3, 3)),
+                        jsonPath("$.entries[*].title").value(Matchers.contains("Title 1", "j.daniels", "r.susan", "Title 3")),
+                        jsonPath("$.entries[0].lastMessageId").value(11),
+                        jsonPath("$.entries[0].lastMessageAuthorId").value("j.dewar"),
+                        jsonPath("$.entries[0].lastMessagePreview").value("Meeting at noon"),
+                        jsonPath("$.entries[0].lastActivityAt").value("2024-03-01T11:00:00Z"),
+                        jsonPath("$.entries[3].lastMessageId").doesNotExist(),
+                        jsonPath("$.nextCursor").doesNotExist()
+                );
+    }
+
+    @Test
+    void getInbox_UserIsAuthorized_ReturnsPagesByCursor() throws Exception {
+        var firstPage = mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/inbox")
+                        .param("limit", "3")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.entries.length()").value(3),
+                        jsonPath("$.entries[2].id").value(3),
+                        jsonPath("$.entries[2].type").value("CHAT"),
+                        jsonPath("$.nextCursor").isString()
+                )
+                .andReturn();
+        String nextCursor = JsonPath.read(firstPage.getResponse().getContentAsString(), "$.nextCursor");
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/inbox")
+                        .param("limit", "3")
+                        .param("cursor", nextCursor)
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.entries.length()").value(1),
+                        jsonPath("$.entries[0].type").value("GROUP"),
+                        jsonPath("$.entries[0].id").value(3),
+                        jsonPath("$.nextCursor").doesNotExist()
+                );
+    }
+
+    @Test
+    void getInbox_CursorIsInvalid_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.get("/messenger-api/inbox")
+                .param("cursor", "not-a-cursor")
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                );
+    }
+
+    @Test
+    void getInbox_UserIsNotAuthorized_ReturnsUnauthorized() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/inbox"))
+                .andDo(print())
+                .andExpectAll(
+                        status().isUnauthorized()
+                );
+    }
+
+    @Test
+    void recordActivity_UserIsParticipant_MovesConversationToTop() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/messenger-api/activity")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"chats": [{"id": 3, "messageId": 20, "authorId": "j.dewar", "preview": "Back online"}]}
+                                """)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_conversation_activity"))))
+                .andDo(print())
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/inbox")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.entries[0].type").value("CHAT"),
+                        jsonPath("$.entries[0].id").value(3),
+                        jsonPath("$.entries[0].lastMessageId").value(20),
+                        jsonPath("$.entries[0].lastMessageAuthorId").value("j.dewar"),
+                        jsonPath("$.entries[0].lastMessagePreview").value("Back online")
+                );
+    }
+
+    @Test
+    void recordActivity_GroupHasNoActivity_CreatesActivity() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/messenger-api/activity")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"groups": [{"id": 3, "messageId": 5, "authorId": "j.dewar", "preview": "First"}, {"id": 3, "messageId": 6, "authorId": "j.dewar", "preview": "Second"}]}
+                                """)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_conversation_activity"))))
+                .andDo(print())
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/inbox")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.entries[0].type").value("GROUP"),
+                        jsonPath("$.entries[0].id").value(3),
+                        jsonPath("$.entries[0].lastMessageId").value(6),
+                        jsonPath("$.entries[0].lastMessagePreview").value("Second")
+                );
+    }
+
+    @Test
+    void recordActivity_MessageIsOlder_KeepsLatestMessage() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/messenger-api/activity")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"chats": [{"id": 2, "messageId": 5, "authorId": "j.dewar", "preview": "Stale"}]}
+                                """)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_conversation_activity"))))
+                .andDo(print())
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/inbox")
+                        .with(jwt().jwt(builder -> builder.subject("j.daniels"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.entries[?(@.type == 'CHAT' && @.id == 2)].lastMessagePreview").value("Hello there")
+                );
+    }
+
+    @Test
+    void recordActivity_UserIsNotParticipant_IgnoresConversation() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/messenger-api/activity")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"chats": [{"id": 4, "messageId": 30, "authorId": "j.dewar", "preview": "Intruder"}]}
+                                """)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_conversation_activity"))))
+                .andDo(print())
+                .andExpect(status().isNoContent());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/inbox")
+                        .with(jwt().jwt(builder -> builder.subject("r.susan"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.entries[?(@.type == 'CHAT' && @.id == 4)].lastMessageId").value(Matchers.contains((Object) null))
+                );
+    }
+
+    @Test
+    void recordActivity_PayloadIsInvalid_ReturnsBadRequest() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/messenger-api/activity")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"chats": [{"id": null, "messageId": 30, "authorId": "j.dewar", "preview": "Hi"}]}
+                                """)
+                        .with(jwt().authorities(new SimpleGrantedAuthority("SCOPE_conversation_activity"))))
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON)
+                );
+    }
+
+    @Test
+    void recordActivity_ClientHasNoActivityScope_ReturnsForbidden() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.post("/messenger-api/activity")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"chats": [{"id": 2, "messageId": 9223372036854775807, "authorId": "j.dewar", "preview": "Forged"}]}
+                                """)
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andDo(print())
+                .andExpect(status().isForbidden());
+
+        mockMvc.perform(MockMvcRequestBuilders.get("/messenger-api/inbox")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andExpectAll(
+                        status().isOk(),
+                        jsonPath("$.entries[?(@.type == 'CHAT' && @.id == 2)].lastMessageId").value(Matchers.contains(10))
+                );
+    }
+}
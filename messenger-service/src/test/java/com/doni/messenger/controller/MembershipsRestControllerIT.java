@@ -0,0 +1,137 @@
+package com.doni.messenger.controller;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.print;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+class MembershipsRestControllerIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    @Sql({"/sql/chats.sql", "/sql/groups.sql"})
+    void checkMemberships_UserIsAuthorized_ReturnsStatusesInRequestOrder() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/messenger-api/memberships/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {
+                            "chats": [{"id": 4}, {"id": 2}, {"id": 100}],
+                            "groups": [{"id": 1}, {"id": 2}, {"id": 100}, {"id": 3, "userId": "j.dewar"}]
+                        }
+                        """)
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_JSON),
+                        content().json("""
+                                {
+                                    "chats": [
+                                        {"id": 4, "userId": "j.dewar", "status": "NOT_MEMBER"},
+                                        {"id": 2, "userId": "j.dewar", "status": "MEMBER"},
+                                        {"id": 100, "userId": "j.dewar", "status": "NOT_FOUND"}
+                                    ],
+                                    "groups": [
+                                        {"id": 1, "userId": "j.dewar", "status": "MEMBER"},
+                                        {"id": 2, "userId": "j.dewar", "status": "NOT_MEMBER"},
+                                        {"id": 100, "userId": "j.dewar", "status": "NOT_FOUND"},
+                                        {"id": 3, "userId": "j.dewar", "status": "MEMBER"}
+                                    ]
+                                }
+                                """, true)
+                );
+    }
+
+    @Test
+    @Sql("/sql/groups.sql")
+    void checkMemberships_ClientHasMembershipCheckScope_ChecksOtherUsers() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/messenger-api/memberships/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"groups": [{"id": 1, "userId": "j.daniels"}, {"id": 3, "userId": "j.daniels"}]}
+                        """)
+                .with(jwt().jwt(builder -> builder.subject("message-service"))
+                        .authorities(new SimpleGrantedAuthority("SCOPE_membership_check")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isOk(),
+                        content().json("""
+                                {
+                                    "chats": [],
+                                    "groups": [
+                                        {"id": 1, "userId": "j.daniels", "status": "MEMBER"},
+                                        {"id": 3, "userId": "j.daniels", "status": "NOT_MEMBER"}
+                                    ]
+                                }
+                                """, true)
+                );
+    }
+
+    @Test
+    void checkMemberships_UserChecksOtherUser_ReturnsForbidden() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/messenger-api/memberships/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"groups": [{"id": 1, "userId": "j.daniels"}]}
+                        """)
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpect(status().isForbidden());
+    }
+
+    @Test
+    void checkMemberships_PayloadIsInvalid_ReturnsBadRequest() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/messenger-api/memberships/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"chats": [{"id": null}]}
+                        """)
+                .with(jwt().jwt(builder -> builder.subject("j.dewar")));
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpectAll(
+                        status().isBadRequest(),
+                        content().contentTypeCompatibleWith(MediaType.APPLICATION_PROBLEM_JSON),
+                        content().json("""
+                                {"errors": ["Идентификатор чата или группы должен быть указан"]}
+                                """)
+                );
+    }
+
+    @Test
+    void checkMemberships_UserIsNotAuthorized_ReturnsUnauthorized() throws Exception {
+        var requestBuilder = MockMvcRequestBuilders.post("/messenger-api/memberships/check")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("""
+                        {"chats": [{"id": 2}]}
+                        """);
+
+        mockMvc.perform(requestBuilder)
+                .andDo(print())
+                .andExpect(status().isUnauthorized());
+    }
+}
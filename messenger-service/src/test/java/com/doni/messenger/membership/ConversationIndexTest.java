@@ -0,0 +1,99 @@
+package com.doni.messenger.membership;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ConversationIndexTest {
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    AtomicLong version = new AtomicLong();
+
+    ConversationIndex index = new ConversationIndex("group", version, meterRegistry);
+
+    @Test
+    void contains_RecordsHitsMissesAndSizes() {
+        index.add("j.dewar", 1);
+        index.add("j.dewar", 3);
+        index.add("j.daniels", 1);
+        index.add("j.daniels", 1);
+
+        assertTrue(index.contains("j.dewar", 3));
+        assertFalse(index.contains("j.dewar", 2));
+        assertFalse(index.contains("j.black", 1));
+
+        assertEquals(1, meterRegistry.get("messenger.membership.index.lookups")
+                .tags("type", "group", "result", "hit").counter().count());
+        assertEquals(2, meterRegistry.get("messenger.membership.index.lookups")
+                .tags("type", "group", "result", "miss").counter().count());
+        assertEquals(2, meterRegistry.get("messenger.membership.index.users").tag("type", "group").gauge().value());
+        assertEquals(3, meterRegistry.get("messenger.membership.index.entries").tag("type", "group").gauge().value());
+    }
+
+    @Test
+    void remove_LastConversationOfUser_DropsUserAndEntry() {
+        index.add("j.dewar", 1);
+
+        index.remove("j.dewar", 1);
+
+        assertFalse(index.contains("j.dewar", 1));
+        assertEquals(0, meterRegistry.get("messenger.membership.index.users").tag("type", "group").gauge().value());
+        assertEquals(0, meterRegistry.get("messenger.membership.index.entries").tag("type", "group").gauge().value());
+    }
+
+    @Test
+    void addIfUnchanged_NoRemovalSinceRead_AddsEntry() {
+        long readVersion = version.get();
+
+        index.addIfUnchanged("j.dewar", 1, readVersion);
+
+        assertTrue(index.contains("j.dewar", 1));
+    }
+
+    @Test
+    void addIfUnchanged_RemovalAfterRead_DoesNotResurrectEntry() {
+        long readVersion = version.get();
+        index.remove("j.dewar", 1);
+
+        index.addIfUnchanged("j.dewar", 1, readVersion);
+
+        assertFalse(index.contains("j.dewar", 1));
+    }
+
+    @Test
+    void removeConversation_HidesExistingAndLaterEntries() {
+        index.add("j.dewar", 1);
+        index.add("j.dewar", 2);
+        long readVersion = version.get();
+
+        index.removeConversation(1);
+        index.add("j.daniels", 1);
+        index.addIfUnchanged("j.black", 1, readVersion);
+
+        assertFalse(index.contains("j.dewar", 1));
+        assertFalse(index.contains("j.daniels", 1));
+        assertFalse(index.contains("j.black", 1));
+        assertTrue(index.contains("j.dewar", 2));
+    }
+
+    @Test
+    void removeMembers_PurgedGroup_DropsEntriesAndForgetsTombstone() {
+        index.add("j.dewar", 1);
+        index.add("j.daniels", 1);
+        index.add("j.daniels", 2);
+        index.removeConversation(1);
+
+        index.removeMembers(1, List.of("j.dewar", "j.daniels"));
+        index.forgetConversation(1);
+
+        assertFalse(index.contains("j.dewar", 1));
+        assertTrue(index.removedConversationIds().isEmpty());
+        assertEquals(1, meterRegistry.get("messenger.membership.index.users").tag("type", "group").gauge().value());
+        assertEquals(1, meterRegistry.get("messenger.membership.index.entries").tag("type", "group").gauge().value());
+    }
+}
@@ -0,0 +1,54 @@
+package com.doni.messenger.membership;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IntArraySetsTest {
+
+    @Test
+    void add_ValuesInAnyOrder_KeepsSetSortedWithoutDuplicates() {
+        int[] set = null;
+        for (int value : new int[]{5, 1, 3, 5, 9, 1}) {
+            set = IntArraySets.add(set, value);
+        }
+
+        assertArrayEquals(new int[]{1, 3, 5, 9}, set);
+    }
+
+    @Test
+    void add_ValueIsPresent_ReturnsSameArray() {
+        int[] set = {1, 3};
+
+        assertSame(set, IntArraySets.add(set, 3));
+    }
+
+    @Test
+    void contains_ReturnsWhetherValueIsPresent() {
+        int[] set = {2, 4, 8};
+
+        assertTrue(IntArraySets.contains(set, 4));
+        assertFalse(IntArraySets.contains(set, 5));
+        assertFalse(IntArraySets.contains(null, 4));
+    }
+
+    @Test
+    void remove_ValueIsPresent_ReturnsSetWithoutIt() {
+        assertArrayEquals(new int[]{2, 8}, IntArraySets.remove(new int[]{2, 4, 8}, 4));
+        assertArrayEquals(new int[]{4, 8}, IntArraySets.remove(new int[]{2, 4, 8}, 2));
+        assertArrayEquals(new int[]{2, 4}, IntArraySets.remove(new int[]{2, 4, 8}, 8));
+    }
+
+    @Test
+    void remove_LastValue_ReturnsNull() {
+        assertNull(IntArraySets.remove(new int[]{4}, 4));
+    }
+
+    @Test
+    void remove_ValueIsAbsent_ReturnsSameArray() {
+        int[] set = {2, 4};
+
+        assertSame(set, IntArraySets.remove(set, 3));
+        assertNull(IntArraySets.remove(null, 3));
+    }
+}
@@ -0,0 +1,162 @@
+package com.doni.messenger.membership;
+
+import com.doni.messenger.dto.ChatReadDto;
+import com.doni.messenger.dto.GroupMembershipDto;
+import com.doni.messenger.entity.GroupPurgeTask;
+import com.doni.messenger.entity.MembershipChangeType;
+import com.doni.messenger.entity.OutboxEvent;
+import com.doni.messenger.repository.ChatRepository;
+import com.doni.messenger.repository.GroupPurgeTaskRepository;
+import com.doni.messenger.repository.GroupRepository;
+import com.doni.messenger.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Limit;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class MembershipIndexTest {
+
+    ChatRepository chatRepository = mock(ChatRepository.class);
+
+    GroupRepository groupRepository = mock(GroupRepository.class);
+
+    OutboxEventRepository outboxEventRepository = mock(OutboxEventRepository.class);
+
+    GroupPurgeTaskRepository groupPurgeTaskRepository = mock(GroupPurgeTaskRepository.class);
+
+    SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    MembershipIndex membershipIndex = new MembershipIndex(chatRepository, groupRepository, outboxEventRepository,
+            groupPurgeTaskRepository, mock(PlatformTransactionManager.class), meterRegistry, 2, Duration.ofMinutes(5));
+
+    @BeforeEach
+    void setUp() {
+        when(chatRepository.streamAllChats()).thenReturn(Stream.of(new ChatReadDto(2, "j.dewar", "j.daniels")));
+        when(groupRepository.streamAllMemberships()).thenReturn(Stream.of(
+                new GroupMembershipDto(1, "j.dewar"), new GroupMembershipDto(1, "j.daniels")));
+        when(outboxEventRepository.findLastIdCreatedBefore(any())).thenReturn(Optional.of(10L));
+        when(outboxEventRepository.findByIdGreaterThanOrderById(any(), any())).thenReturn(List.of());
+    }
+
+    @Test
+    void afterSingletonsInstantiated_LoadsChatsAndGroupMemberships() {
+        membershipIndex.afterSingletonsInstantiated();
+
+        assertTrue(membershipIndex.isChatMember(2, "j.dewar"));
+        assertTrue(membershipIndex.isChatMember(2, "j.daniels"));
+        assertFalse(membershipIndex.isChatMember(2, "r.susan"));
+        assertTrue(membershipIndex.isGroupMember(1, "j.daniels"));
+        assertFalse(membershipIndex.isGroupMember(2, "j.daniels"));
+    }
+
+    @Test
+    void sync_AppliesOutboxEventsAfterWarmUpInOrder() {
+        membershipIndex.afterSingletonsInstantiated();
+        when(outboxEventRepository.findByIdGreaterThanOrderById(eq(10L), any(Limit.class))).thenReturn(List.of(
+                event(11L, MembershipChangeType.GROUP_MEMBER_REMOVED, 1, "j.daniels"),
+                event(12L, MembershipChangeType.GROUP_MEMBER_ADDED, 3, "j.daniels")));
+        when(outboxEventRepository.findByIdGreaterThanOrderById(eq(12L), any(Limit.class))).thenReturn(List.of(
+                event(13L, MembershipChangeType.CHAT_DELETED, 2, "j.dewar")));
+
+        assertEquals(3, membershipIndex.sync());
+
+        assertFalse(membershipIndex.isGroupMember(1, "j.daniels"));
+        assertTrue(membershipIndex.isGroupMember(3, "j.daniels"));
+        assertFalse(membershipIndex.isChatMember(2, "j.dewar"));
+        assertTrue(membershipIndex.isChatMember(2, "j.daniels"));
+    }
+
+    @Test
+    void sync_EventCommitsAfterHigherId_AppliesItOnLaterSync() {
+        membershipIndex.afterSingletonsInstantiated();
+        when(outboxEventRepository.findByIdGreaterThanOrderById(eq(10L), any(Limit.class))).thenReturn(List.of(
+                event(12L, MembershipChangeType.GROUP_MEMBER_ADDED, 3, "j.daniels")));
+        when(outboxEventRepository.findAllById(anyCollection())).thenReturn(List.of());
+
+        assertEquals(1, membershipIndex.sync());
+
+        when(outboxEventRepository.findAllById(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            assertEquals(List.of(11L), List.copyOf(ids));
+            return List.of(event(11L, MembershipChangeType.GROUP_MEMBER_REMOVED, 1, "j.daniels"));
+        });
+
+        assertEquals(1, membershipIndex.sync());
+        assertFalse(membershipIndex.isGroupMember(1, "j.daniels"));
+        assertTrue(membershipIndex.isGroupMember(3, "j.daniels"));
+    }
+
+    @Test
+    void sync_GroupDeleted_RemovesGroupForAllMembers() {
+        membershipIndex.afterSingletonsInstantiated();
+        when(outboxEventRepository.findByIdGreaterThanOrderById(eq(10L), any(Limit.class))).thenReturn(List.of(
+                event(11L, MembershipChangeType.GROUP_DELETED, 1, "j.dewar")));
+
+        membershipIndex.sync();
+
+        assertFalse(membershipIndex.isGroupMember(1, "j.dewar"));
+        assertFalse(membershipIndex.isGroupMember(1, "j.daniels"));
+    }
+
+    @Test
+    void sync_GroupPurgeCompletedElsewhere_DropsGroupEntries() {
+        membershipIndex.afterSingletonsInstantiated();
+        when(outboxEventRepository.findByIdGreaterThanOrderById(eq(10L), any(Limit.class))).thenReturn(List.of(
+                event(11L, MembershipChangeType.GROUP_DELETED, 1, "j.dewar")));
+        when(groupPurgeTaskRepository.findAllById(anyCollection())).thenReturn(List.of(
+                GroupPurgeTask.builder().groupId(1).lastMemberId(0).build()));
+
+        membershipIndex.sync();
+
+        assertFalse(membershipIndex.isGroupMember(1, "j.dewar"));
+        assertEquals(2, meterRegistry.get("messenger.membership.index.entries").tag("type", "group").gauge().value());
+
+        when(outboxEventRepository.findByIdGreaterThanOrderById(eq(11L), any(Limit.class))).thenReturn(List.of());
+        when(groupPurgeTaskRepository.findAllById(anyCollection())).thenReturn(List.of());
+
+        membershipIndex.sync();
+
+        assertFalse(membershipIndex.isGroupMember(1, "j.dewar"));
+        assertEquals(0, meterRegistry.get("messenger.membership.index.entries").tag("type", "group").gauge().value());
+    }
+
+    @Test
+    void groupMemberRepaired_MemberRemovedAfterRead_StaysRemoved() {
+        membershipIndex.afterSingletonsInstantiated();
+        long readVersion = membershipIndex.version();
+        membershipIndex.groupMembersRemoved(1, List.of("j.daniels"));
+
+        membershipIndex.groupMemberRepaired(1, "j.daniels", readVersion);
+
+        assertFalse(membershipIndex.isGroupMember(1, "j.daniels"));
+    }
+
+    @Test
+    void chatRepaired_NoRemovalSinceRead_AddsBothParticipants() {
+        long readVersion = membershipIndex.version();
+
+        membershipIndex.chatRepaired(4, "j.daniels", "r.susan", readVersion);
+
+        assertTrue(membershipIndex.isChatMember(4, "j.daniels"));
+        assertTrue(membershipIndex.isChatMember(4, "r.susan"));
+    }
+
+    private static OutboxEvent event(Long id, MembershipChangeType type, Integer conversationId, String userId) {
+        return new OutboxEvent(id, type, conversationId, userId, Instant.now());
+    }
+}
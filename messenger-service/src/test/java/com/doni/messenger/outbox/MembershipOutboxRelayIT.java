@@ -0,0 +1,200 @@
+package com.doni.messenger.outbox;
+
+import com.doni.messenger.dto.MembershipChangeEventDto;
+import com.doni.messenger.entity.MembershipChangeType;
+import com.github.tomakehurst.wiremock.client.WireMock;
+import com.github.tomakehurst.wiremock.junit5.WireMockTest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.jwt;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@Transactional
+@SpringBootTest
+@AutoConfigureMockMvc
+@Sql({"/sql/groups.sql", "/sql/chats.sql"})
+@ActiveProfiles("test")
+@WireMockTest(httpPort = 54321)
+@TestPropertySource(properties = {
+        "vk.messenger.outbox.http-subscribers.message-service=http://localhost:54321/message-api/membership-events",
+        "spring.security.oauth2.client.provider.keycloak.token-uri=http://localhost:54321/realms/vk-spring24v1/protocol/openid-connect/token",
+        "spring.security.oauth2.client.registration.membership-events.provider=keycloak",
+        "spring.security.oauth2.client.registration.membership-events.client-id=messenger-service-membership-events-client",
+        "spring.security.oauth2.client.registration.membership-events.client-secret=secret",
+        "spring.security.oauth2.client.registration.membership-events.authorization-grant-type=client_credentials",
+        "spring.security.oauth2.client.registration.membership-events.scope=membership_events"
+})
+class MembershipOutboxRelayIT {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    MembershipOutboxRelay membershipOutboxRelay;
+
+    @Autowired
+    RecordingSubscriber recordingSubscriber;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void setUp() {
+        recordingSubscriber.reset();
+    }
+
+    @Test
+    void relay_GroupMemberKicked_DeliversEventOnce() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/messenger-api/groups/1/kick-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"userId": "j.daniels"}
+                                """)
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andExpect(status().isNoContent());
+
+        assertEquals(1, membershipOutboxRelay.relay());
+        assertEquals(0, membershipOutboxRelay.relay());
+
+        assertEquals(1, recordingSubscriber.received.size());
+        MembershipChangeEventDto event = recordingSubscriber.received.get(0);
+        assertEquals(MembershipChangeType.GROUP_MEMBER_REMOVED, event.type());
+        assertEquals(1, event.conversationId());
+        assertEquals("j.daniels", event.userId());
+    }
+
+    @Test
+    void relay_ChatDeleted_DeliversEventPerParticipant() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/messenger-api/chats/2")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andExpect(status().isNoContent());
+
+        assertEquals(2, membershipOutboxRelay.relay());
+
+        assertTrue(recordingSubscriber.received.stream()
+                .allMatch(event -> event.type() == MembershipChangeType.CHAT_DELETED && event.conversationId() == 2));
+        assertEquals(List.of("j.dewar", "j.daniels"), recordingSubscriber.received.stream()
+                .map(MembershipChangeEventDto::userId)
+                .toList());
+    }
+
+    @Test
+    void relay_GroupDeleted_DeliversSingleGroupDeletedEvent() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/messenger-api/groups/1")
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andExpect(status().isNoContent());
+
+        assertEquals(1, membershipOutboxRelay.relay());
+
+        MembershipChangeEventDto event = recordingSubscriber.received.get(0);
+        assertEquals(MembershipChangeType.GROUP_DELETED, event.type());
+        assertEquals(1, event.conversationId());
+    }
+
+    @Test
+    void relay_SubscriberFails_RedeliversOnNextRun() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/messenger-api/groups/1/leave-group")
+                        .with(jwt().jwt(builder -> builder.subject("j.daniels"))))
+                .andExpect(status().isNoContent());
+        recordingSubscriber.failures = 1;
+
+        assertEquals(0, membershipOutboxRelay.relay());
+        assertTrue(recordingSubscriber.received.isEmpty());
+
+        assertEquals(1, membershipOutboxRelay.relay());
+        assertEquals("j.daniels", recordingSubscriber.received.get(0).userId());
+    }
+
+    @Test
+    void relay_EventWithLowerIdCommitsAfterDelivery_IsStillDelivered() throws Exception {
+        mockMvc.perform(MockMvcRequestBuilders.delete("/messenger-api/groups/1/leave-group")
+                        .with(jwt().jwt(builder -> builder.subject("j.daniels"))))
+                .andExpect(status().isNoContent());
+        assertEquals(1, membershipOutboxRelay.relay());
+        long deliveredId = recordingSubscriber.received.get(0).id();
+
+        jdbcTemplate.update("insert into outbox_event(id, type, conversation_id, user_id, created_at) " +
+                "values (?, 'GROUP_MEMBER_ADDED', 3, 'j.black', current_timestamp)", deliveredId - 1);
+        jdbcTemplate.update("insert into outbox_delivery(subscriber, event_id) values ('recording', ?)", deliveredId - 1);
+
+        assertEquals(1, membershipOutboxRelay.relay());
+        assertEquals(deliveredId - 1, recordingSubscriber.received.get(1).id());
+        assertEquals("j.black", recordingSubscriber.received.get(1).userId());
+    }
+
+    @Test
+    void relay_GroupMemberKicked_DeliversEventWithClientCredentialsToken() throws Exception {
+        WireMock.stubFor(WireMock.post(WireMock.urlPathEqualTo("/realms/vk-spring24v1/protocol/openid-connect/token"))
+                .withRequestBody(WireMock.containing("grant_type=client_credentials"))
+                .willReturn(WireMock.okJson("""
+                        {"access_token": "membership-events-token", "token_type": "Bearer", "expires_in": 300}
+                        """)));
+        WireMock.stubFor(WireMock.post(WireMock.urlPathEqualTo("/message-api/membership-events"))
+                .willReturn(WireMock.noContent()));
+        mockMvc.perform(MockMvcRequestBuilders.delete("/messenger-api/groups/1/kick-user")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"userId": "j.daniels"}
+                                """)
+                        .with(jwt().jwt(builder -> builder.subject("j.dewar"))))
+                .andExpect(status().isNoContent());
+
+        assertEquals(2, membershipOutboxRelay.relay());
+
+        WireMock.verify(1, WireMock.postRequestedFor(WireMock.urlPathEqualTo("/message-api/membership-events"))
+                .withHeader(HttpHeaders.AUTHORIZATION, WireMock.equalTo("Bearer membership-events-token"))
+                .withRequestBody(WireMock.matchingJsonPath("$.events[0].userId", WireMock.equalTo("j.daniels"))));
+    }
+
+    @TestConfiguration
+    static class RecordingSubscriberConfiguration {
+
+        @Bean
+        RecordingSubscriber recordingSubscriber() {
+            return new RecordingSubscriber();
+        }
+    }
+
+    static class RecordingSubscriber implements MembershipChangeSubscriber {
+        final List<MembershipChangeEventDto> received = new ArrayList<>();
+        int failures;
+
+        @Override
+        public String name() {
+            return "recording";
+        }
+
+        @Override
+        public void deliver(List<MembershipChangeEventDto> events) {
+            if (failures > 0) {
+                failures--;
+                throw new IllegalStateException("Subscriber is unavailable");
+            }
+            received.addAll(events);
+        }
+
+        void reset() {
+            received.clear();
+            failures = 0;
+        }
+    }
+}
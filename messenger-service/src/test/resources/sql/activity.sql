@@ -0,0 +1,11 @@
+insert into conversation_activity(type, conversation_id, last_message_id, last_message_author_id, last_message_preview, last_activity_at)
+values ('CHAT', 2, 10, 'j.daniels', 'Hello there', timestamp with time zone '2024-03-01 10:00:00+00'),
+       ('GROUP', 1, 11, 'j.dewar', 'Meeting at noon', timestamp with time zone '2024-03-01 11:00:00+00'),
+       ('CHAT', 3, 9, 'r.susan', 'See you', timestamp with time zone '2024-03-01 09:00:00+00');
+
+insert into conversation_activity(type, conversation_id, last_activity_at)
+values ('GROUP', 2, timestamp with time zone '1970-01-01 00:00:00+00'),
+       ('GROUP', 3, timestamp with time zone '1970-01-01 00:00:00+00');
+
+update chat set last_activity_at = timestamp with time zone '2024-03-01 10:00:00+00' where id = 2;
+update chat set last_activity_at = timestamp with time zone '2024-03-01 09:00:00+00' where id = 3;
@@ -1,4 +1,4 @@
-insert into chat(id, user_id_1, user_id_2)
-values (2, 'j.dewar', 'j.daniels'),
-       (3, 'r.susan', 'j.dewar'),
-       (4, 'j.daniels', 'r.susan');
\ No newline at end of file
+insert into chat(id, user_id_1, user_id_2, user_low, user_high)
+values (2, 'j.dewar', 'j.daniels', 'j.daniels', 'j.dewar'),
+       (3, 'r.susan', 'j.dewar', 'j.dewar', 'r.susan'),
+       (4, 'j.daniels', 'r.susan', 'j.daniels', 'r.susan');
@@ -0,0 +1,5 @@
+package com.doni.publication.client;
+
+public interface FeedbackClient {
+    void evictPublication(Integer publicationId);
+}
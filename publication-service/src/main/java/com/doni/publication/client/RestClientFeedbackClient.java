@@ -0,0 +1,24 @@
+package com.doni.publication.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.client.RestClient;
+import org.springframework.web.client.RestClientException;
+
+@Slf4j
+@RequiredArgsConstructor
+public class RestClientFeedbackClient implements FeedbackClient {
+    private final RestClient restClient;
+
+    @Override
+    public void evictPublication(Integer publicationId) {
+        try {
+            restClient.delete()
+                    .uri("/feedback-api/publication-cache/%d".formatted(publicationId))
+                    .retrieve()
+                    .toBodilessEntity();
+        } catch (RestClientException exception) {
+            log.warn("Failed to evict publication {} from feedback-service cache", publicationId, exception);
+        }
+    }
+}
@@ -1,7 +1,10 @@
 package com.doni.publication.config;
 
+import com.doni.publication.client.RestClientFeedbackClient;
 import de.codecentric.boot.admin.client.registration.BlockingRegistrationClient;
 import de.codecentric.boot.admin.client.registration.RegistrationClient;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -11,6 +14,7 @@ import org.springframework.security.oauth2.client.OAuth2AuthorizeRequest;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClient;
 import org.springframework.security.oauth2.client.OAuth2AuthorizedClientService;
 import org.springframework.security.oauth2.client.registration.ClientRegistrationRepository;
+import org.springframework.web.client.RestClient;
 import org.springframework.web.client.RestTemplate;
 
 @Configuration
@@ -40,4 +44,36 @@ public class ClientBeans {
                 .build();
         return new BlockingRegistrationClient(restTemplate);
     }
+
+    @Bean
+    @ConditionalOnProperty(name = "vk.services.feedback.url")
+    public RestClientFeedbackClient restClientFeedbackClient(
+            @Value("${vk.services.feedback.url}") String baseUrl,
+            @Value("${vk.services.feedback.registration-id:publication-events}") String registrationId,
+            @Value("${vk.services.feedback.principal:publication-service-publication-events-client}") String principal,
+            ClientRegistrationRepository clientRegistrationRepository,
+            OAuth2AuthorizedClientService authorizedClientService) {
+        if (clientRegistrationRepository.findByRegistrationId(registrationId) == null) {
+            throw new IllegalStateException("Client registration %s for publication events is not configured"
+                    .formatted(registrationId));
+        }
+        AuthorizedClientServiceOAuth2AuthorizedClientManager authorizedClientManager =
+                new AuthorizedClientServiceOAuth2AuthorizedClientManager(
+                        clientRegistrationRepository, authorizedClientService);
+
+        return new RestClientFeedbackClient(RestClient.builder()
+                .baseUrl(baseUrl)
+                .requestInterceptor((request, body, execution) -> {
+                    if (!request.getHeaders().containsKey(HttpHeaders.AUTHORIZATION)) {
+                        OAuth2AuthorizedClient authorizedClient = authorizedClientManager.authorize(OAuth2AuthorizeRequest
+                                .withClientRegistrationId(registrationId)
+                                .principal(principal)
+                                .build());
+
+                        request.getHeaders().setBearerAuth(authorizedClient.getAccessToken().getTokenValue());
+                    }
+                    return execution.execute(request, body);
+                })
+                .build());
+    }
 }
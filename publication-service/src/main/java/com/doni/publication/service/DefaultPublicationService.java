@@ -1,13 +1,17 @@
 package com.doni.publication.service;
 
+import com.doni.publication.client.FeedbackClient;
 import com.doni.publication.dto.PublicationReadDto;
 import com.doni.publication.entity.Publication;
 import com.doni.publication.mapper.PublicationMapper;
 import com.doni.publication.repository.PublicationRepository;
 import com.doni.publication.exception.UserIsNotOwnerException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.util.List;
 import java.util.NoSuchElementException;
@@ -18,6 +22,7 @@ import java.util.Optional;
 public class DefaultPublicationService implements PublicationService {
     private final PublicationMapper publicationMapper;
     private final PublicationRepository publicationRepository;
+    private final ObjectProvider<FeedbackClient> feedbackClient;
 
     @Override
     public List<PublicationReadDto> findAllPublications() {
@@ -69,6 +74,13 @@ public class DefaultPublicationService implements PublicationService {
             throw new UserIsNotOwnerException("publication-api.publications.delete.errors.user_is_not_owner");
         }
         publicationRepository.deleteById(publicationId);
+        feedbackClient.ifAvailable(client -> TransactionSynchronizationManager.registerSynchronization(
+                new TransactionSynchronization() {
+                    @Override
+                    public void afterCommit() {
+                        client.evictPublication(publicationId);
+                    }
+                }));
     }
 
     @Override